@@ -1,8 +1,25 @@
 package net.jhorstmann.packedtime;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.DateTimeException;
-
-abstract class AbstractPackedDateTime {
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.chrono.IsoChronology;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalQueries;
+import java.time.temporal.TemporalQuery;
+import java.time.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * Base class of the packed types, which are also {@link TemporalAccessor temporal accessors} so that a
+ * {@link java.time.format.DateTimeFormatter} can read their fields directly from the packed bits.
+ */
+abstract class AbstractPackedDateTime implements TemporalAccessor {
     static final int OFFSET_BITS = 12;
     private static final int MILLI_BITS = 10;
     private static final int SECOND_BITS = 6;
@@ -17,13 +34,15 @@ abstract class AbstractPackedDateTime {
     private static final int MIN_YEAR = -9999;
     private static final int MAX_YEAR = 9999;
 
+    static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
     private static final int MIN_OFFSET_MINUTES_INTERNAL = -(1 << (OFFSET_BITS - 1));
     private static final int MAX_OFFSET_MINUTES_INTERNAL = (1 << (OFFSET_BITS - 1)) - 1;
 
     private static final int MAX_OFFSET_HOURS = 18;
     private static final int MIN_OFFSET_HOURS = -18;
     private static final int MIN_OFFSET_MINUTES = MIN_OFFSET_HOURS * 60;
-    private static final int MAX_OFFSET_MINUTES = MAX_OFFSET_HOURS * 60;
+    static final int MAX_OFFSET_MINUTES = MAX_OFFSET_HOURS * 60;
 
     static {
         if (!(MIN_YEAR_INTERNAL < MIN_YEAR || MAX_YEAR_INTERNAL > MAX_YEAR)) {
@@ -40,6 +59,11 @@ abstract class AbstractPackedDateTime {
         this.value = value;
     }
 
+    static final int TIME_SHIFT = OFFSET_BITS;
+    static final int DATE_SHIFT = HOUR_BITS + MINUTE_BITS + SECOND_BITS + MILLI_BITS + OFFSET_BITS;
+    // date and hour are the bits above this shift
+    static final int MINUTE_SHIFT = SECOND_BITS + MILLI_BITS + OFFSET_BITS;
+
     static long encode(int year, int month, int day, int hour, int minute, int second, int nano, int offsetId) {
         if (year < MIN_YEAR || year > MAX_YEAR) {
             throw new DateTimeException("Year is outside of allowed range " + MIN_YEAR + " to " + MAX_YEAR + ": " + year);
@@ -47,68 +71,425 @@ abstract class AbstractPackedDateTime {
 
         int milli = nano / 1_000_000;
 
-        return ((((((((long) year) << MONTH_BITS
-                | (long) month) << DAY_BITS
-                | (long) day) << HOUR_BITS
-                | (long) hour) << MINUTE_BITS
-                | (long) minute) << SECOND_BITS
-                | (long) second) << MILLI_BITS
-                | (long) milli) << OFFSET_BITS
-                | offsetId;
+        return combine(packDate(year, month, day), packTime(hour, minute, second, milli), offsetId);
+    }
+
+    static boolean isSupportedYear(int year) {
+        return year >= MIN_YEAR && year <= MAX_YEAR;
     }
 
     static long encodeWithOffsetSeconds(int year, int month, int day, int hour, int minute, int second, int nano, int offsetSeconds) {
+        return encode(year, month, day, hour, minute, second, nano, offsetIdOfSeconds(offsetSeconds));
+    }
+
+    static int offsetIdOfSeconds(int offsetSeconds) {
         if (offsetSeconds % 60 != 0) {
             throw new DateTimeException("Time zone offset with second precision is not supported: " + offsetSeconds);
         }
 
-        int offsetMinutes = offsetSeconds / 60;
+        return offsetIdOfMinutes(offsetSeconds / 60);
+    }
 
+    static int offsetIdOfMinutes(int offsetMinutes) {
         if (offsetMinutes < MIN_OFFSET_MINUTES || offsetMinutes > MAX_OFFSET_MINUTES) {
             throw new DateTimeException("Zone offset outside of allowed range " + MIN_OFFSET_HOURS + " to " + MAX_OFFSET_HOURS);
         }
 
-        return encode(year, month, day, hour, minute, second, nano, offsetMinutes + -MIN_OFFSET_MINUTES);
+        return offsetMinutes + -MIN_OFFSET_MINUTES;
     }
 
-    int extractYear() {
+    /**
+     * Packs year, month and day into the same bit layout as the upper part of an encoded value,
+     * shifted right by {@link #DATE_SHIFT}. The fields are not validated.
+     */
+    static int packDate(int year, int month, int day) {
+        return (year << MONTH_BITS
+                | month) << DAY_BITS
+                | day;
+    }
+
+    /**
+     * Packs the time fields into the same bit layout as the middle part of an encoded value,
+     * shifted right by {@link #TIME_SHIFT}. The fields are not validated.
+     */
+    static int packTime(int hour, int minute, int second, int milli) {
+        return ((hour << MINUTE_BITS
+                | minute) << SECOND_BITS
+                | second) << MILLI_BITS
+                | milli;
+    }
+
+    /**
+     * Days since 1970-01-01 of a valid date in the proleptic gregorian calendar, calculated in closed form by
+     * counting from a year starting in march, so that the leap day is the last day of the year.
+     */
+    static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /**
+     * Inverse of {@link #epochDay(int, int, int)}, returns the date packed like {@link #packDate(int, int, int)}.
+     */
+    static int packDateOfEpochDay(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new DateTimeException("Year is outside of allowed range " + MIN_YEAR + " to " + MAX_YEAR + ": " + year);
+        }
+        return packDate((int) year, month, day);
+    }
+
+    /**
+     * Packs the local date and time of an instant at the given offset, the offset bits are set to {@code offsetId},
+     * which is 0 for local date times.
+     */
+    static long encodeEpochMillis(long epochMillis, int offsetSeconds, int offsetId) {
+        long localMillis = epochMillis + offsetSeconds * 1000L;
+        long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(localMillis, MILLIS_PER_DAY);
+        return combine(packDateOfEpochDay(epochDay), packTimeOfMillis(millisOfDay), offsetId);
+    }
+
+    /**
+     * Same as {@link #encodeEpochMillis(long, int, int)} for seconds and nanoseconds, which can not overflow for the
+     * range of {@link java.time.Instant}.
+     */
+    static long encodeEpochSecond(long epochSecond, int nano, int offsetSeconds, int offsetId) {
+        if (nano < 0 || nano > 999_999_999) {
+            throw new DateTimeException("Nanosecond is outside of allowed range 0 to 999999999: " + nano);
+        }
+        long localSecond = epochSecond + offsetSeconds;
+        long epochDay = Math.floorDiv(localSecond, 86_400L);
+        int secondOfDay = (int) Math.floorMod(localSecond, 86_400L);
+        int packedTime = packTime(secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, nano / 1_000_000);
+        return combine(packDateOfEpochDay(epochDay), packedTime, offsetId);
+    }
+
+    static int packTimeOfMillis(int millisOfDay) {
+        return packTime(millisOfDay / 3_600_000, millisOfDay / 60_000 % 60, millisOfDay / 1000 % 60, millisOfDay % 1000);
+    }
+
+    /**
+     * Milliseconds since the epoch of a packed value, the offset bits are interpreted as minutes.
+     */
+    static long epochMillis(long value) {
+        long epochDay = epochDay(extractYear(value), extractMonth(value), extractDay(value));
+        int millisOfDay = ((extractHour(value) * 60 + extractMinute(value)) * 60 + extractSecond(value)) * 1000 + extractMilli(value);
+        return epochDay * MILLIS_PER_DAY + millisOfDay - extractOffsetMinute(value) * 60_000L;
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return Year.isLeap(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static final int SECOND_SHIFT = MILLI_BITS + OFFSET_BITS;
+    private static final int MONTH_SHIFT = DATE_SHIFT + DAY_BITS;
+    private static final long HOUR_MINUTE_SECOND_MASK = ((1L << (DATE_SHIFT - SECOND_SHIFT)) - 1) << SECOND_SHIFT;
+    private static final long DATE_MASK = -1L << DATE_SHIFT;
+
+    private static long withSecondOfDay(long value, int secondOfDay) {
+        int packedTime = packTime(secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, 0);
+        return value & ~HOUR_MINUTE_SECOND_MASK | (long) packedTime << TIME_SHIFT;
+    }
+
+    private static long withPackedDate(long value, int packedDate) {
+        return value & ~DATE_MASK | (long) packedDate << DATE_SHIFT;
+    }
+
+    /**
+     * Adds seconds to a packed date time, carrying into the date. Milliseconds and offset bits are kept.
+     */
+    static long plusSeconds(long value, long seconds) {
+        int second = extractSecond(value);
+        if (seconds >= -second && seconds < 60 - second) {
+            // no carry into the minute, only the second bits change
+            return value + (seconds << SECOND_SHIFT);
+        }
+        long total = Math.addExact(secondOfDay(value), seconds);
+        if (total >= 0 && total < 86_400) {
+            return withSecondOfDay(value, (int) total);
+        }
+        long days = Math.floorDiv(total, 86_400L);
+        return withSecondOfDay(plusDays(value, days), (int) Math.floorMod(total, 86_400L));
+    }
+
+    /**
+     * Adds seconds to a packed time, wrapping around midnight like {@link java.time.LocalTime#plusSeconds(long)}.
+     */
+    static long plusSecondsOfDay(long value, long seconds) {
+        int second = extractSecond(value);
+        if (seconds >= -second && seconds < 60 - second) {
+            return value + (seconds << SECOND_SHIFT);
+        }
+        int total = (int) Math.floorMod(secondOfDay(value) + Math.floorMod(seconds, 86_400L), 86_400L);
+        return withSecondOfDay(value, total);
+    }
+
+    /**
+     * Adds days to a packed date or date time, the time and offset bits are kept.
+     */
+    static long plusDays(long value, long days) {
+        int day = extractDay(value);
+        if (days >= 1 - day && days <= 28 - day) {
+            // stays within the month, only the day bits change
+            return value + (days << DATE_SHIFT);
+        }
+        long epochDay = Math.addExact(epochDay(extractYear(value), extractMonth(value), day), days);
+        return withPackedDate(value, packDateOfEpochDay(epochDay));
+    }
+
+    /**
+     * Adds months to a packed date or date time, the day is clamped to the last valid day of the resulting month like
+     * {@link java.time.LocalDate#plusMonths(long)}.
+     */
+    static long plusMonths(long value, long months) {
+        int month = extractMonth(value);
+        int day = extractDay(value);
+        if (day <= 28 && months >= 1 - month && months <= 12 - month) {
+            // stays within the year and the day exists in every month
+            return value + (months << MONTH_SHIFT);
+        }
+        long totalMonths = Math.addExact(extractYear(value) * 12L + month - 1, months);
+        long year = Math.floorDiv(totalMonths, 12L);
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new DateTimeException("Year is outside of allowed range " + MIN_YEAR + " to " + MAX_YEAR + ": " + year);
+        }
+        int newMonth = (int) Math.floorMod(totalMonths, 12L) + 1;
+        int newDay = Math.min(day, lengthOfMonth((int) year, newMonth));
+        return withPackedDate(value, packDate((int) year, newMonth, newDay));
+    }
+
+    private static final int HOUR_SHIFT = MINUTE_SHIFT + MINUTE_BITS;
+    private static final int YEAR_SHIFT = MONTH_SHIFT + MONTH_BITS;
+
+    private static long withBits(long value, int shift, int bits, long field) {
+        long mask = ((1L << bits) - 1) << shift;
+        return value & ~mask | field << shift & mask;
+    }
+
+    /**
+     * Replaces the year, the day is clamped to the last valid day of the month like
+     * {@link java.time.LocalDate#withYear(int)}.
+     */
+    static long withYear(long value, int year) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new DateTimeException("Year is outside of allowed range " + MIN_YEAR + " to " + MAX_YEAR + ": " + year);
+        }
+        long result = withBits(value, YEAR_SHIFT, YEAR_BITS, year);
+        return clampDay(result, year, extractMonth(value));
+    }
+
+    static long withMonth(long value, int month) {
+        ChronoField.MONTH_OF_YEAR.checkValidIntValue(month);
+        long result = withBits(value, MONTH_SHIFT, MONTH_BITS, month);
+        return clampDay(result, extractYear(value), month);
+    }
+
+    private static long clampDay(long value, int year, int month) {
+        int length = lengthOfMonth(year, month);
+        return extractDay(value) > length ? withBits(value, DATE_SHIFT, DAY_BITS, length) : value;
+    }
+
+    static long withDay(long value, int day) {
+        ChronoField.DAY_OF_MONTH.checkValidIntValue(day);
+        if (day > 28 && day > lengthOfMonth(extractYear(value), extractMonth(value))) {
+            throw new DateTimeException("Invalid date '" + Month.of(extractMonth(value)) + " " + day + "' in year " + extractYear(value));
+        }
+        return withBits(value, DATE_SHIFT, DAY_BITS, day);
+    }
+
+    static long withHour(long value, int hour) {
+        return withBits(value, HOUR_SHIFT, HOUR_BITS, ChronoField.HOUR_OF_DAY.checkValidIntValue(hour));
+    }
+
+    static long withMinute(long value, int minute) {
+        return withBits(value, MINUTE_SHIFT, MINUTE_BITS, ChronoField.MINUTE_OF_HOUR.checkValidIntValue(minute));
+    }
+
+    static long withSecond(long value, int second) {
+        return withBits(value, SECOND_SHIFT, SECOND_BITS, ChronoField.SECOND_OF_MINUTE.checkValidIntValue(second));
+    }
+
+    static long withMilli(long value, int milli) {
+        return withBits(value, TIME_SHIFT, MILLI_BITS, ChronoField.MILLI_OF_SECOND.checkValidIntValue(milli));
+    }
+
+    /**
+     * Replaces the offset and keeps the local date and time, like
+     * {@link java.time.OffsetDateTime#withOffsetSameLocal(java.time.ZoneOffset)}.
+     */
+    static long withOffsetSeconds(long value, int offsetSeconds) {
+        return withBits(value, 0, OFFSET_BITS, offsetIdOfSeconds(offsetSeconds));
+    }
+
+    /**
+     * Clears the fields smaller than the unit, units smaller than milliseconds leave the value unchanged.
+     */
+    static long truncatedTo(long value, ChronoUnit unit) {
+        switch (unit) {
+            case NANOS:
+            case MICROS:
+            case MILLIS:
+                return value;
+            case SECONDS:
+                return withBits(value, TIME_SHIFT, SECOND_SHIFT - TIME_SHIFT, 0);
+            case MINUTES:
+                return withBits(value, TIME_SHIFT, MINUTE_SHIFT - TIME_SHIFT, 0);
+            case HOURS:
+                return withBits(value, TIME_SHIFT, HOUR_SHIFT - TIME_SHIFT, 0);
+            case HALF_DAYS:
+                return withBits(value, TIME_SHIFT, DATE_SHIFT - TIME_SHIFT, packTime(extractHour(value) / 12 * 12, 0, 0, 0));
+            case DAYS:
+                return withBits(value, TIME_SHIFT, DATE_SHIFT - TIME_SHIFT, 0);
+            default:
+                throw new UnsupportedTemporalTypeException("Unit is too large to be used for truncation: " + unit);
+        }
+    }
+
+    /**
+     * Milliseconds from {@code start} to {@code end} on the local time line, the offset bits are ignored. Values on
+     * the same date only subtract the time of day.
+     */
+    static long localMillisBetween(long start, long end) {
+        long millis = millisOfDay(end) - millisOfDay(start);
+        if (((start ^ end) & DATE_MASK) == 0) {
+            return millis;
+        }
+        return (epochDay(extractYear(end), extractMonth(end), extractDay(end))
+                - epochDay(extractYear(start), extractMonth(start), extractDay(start))) * MILLIS_PER_DAY + millis;
+    }
+
+    static long daysBetween(long start, long end) {
+        if (((start ^ end) & (DATE_MASK << DAY_BITS)) == 0) {
+            // same year and month
+            return extractDay(end) - extractDay(start);
+        }
+        return epochDay(extractYear(end), extractMonth(end), extractDay(end))
+                - epochDay(extractYear(start), extractMonth(start), extractDay(start));
+    }
+
+    private static int millisOfDay(long value) {
+        return secondOfDay(value) * 1000 + extractMilli(value);
+    }
+
+    private static int secondOfDay(long value) {
+        return (extractHour(value) * 60 + extractMinute(value)) * 60 + extractSecond(value);
+    }
+
+    static long combine(int packedDate, int packedTime, int offsetId) {
+        return ((long) packedDate) << DATE_SHIFT
+                | ((long) packedTime) << TIME_SHIFT
+                | offsetId;
+    }
+
+    static int extractYear(long value) {
         return (int) ((value >> (MONTH_BITS + DAY_BITS + HOUR_BITS + MINUTE_BITS + SECOND_BITS + MILLI_BITS + OFFSET_BITS)));
     }
 
-    int extractMonth() {
+    static int extractMonth(long value) {
         return (int) ((value >> (DAY_BITS + HOUR_BITS + MINUTE_BITS + SECOND_BITS + MILLI_BITS + OFFSET_BITS)) & ((1 << MONTH_BITS) - 1));
     }
 
-    int extractDay() {
+    static int extractDay(long value) {
         return (int) ((value >> (HOUR_BITS + MINUTE_BITS + SECOND_BITS + MILLI_BITS + OFFSET_BITS)) & ((1 << DAY_BITS) - 1));
     }
 
-    int extractHour() {
+    static int extractHour(long value) {
         return (int) ((value >> (MINUTE_BITS + SECOND_BITS + MILLI_BITS + OFFSET_BITS)) & ((1 << HOUR_BITS) - 1));
     }
 
-    int extractMinute() {
+    static int extractMinute(long value) {
         return (int) ((value >> (SECOND_BITS + MILLI_BITS + OFFSET_BITS)) & ((1 << MINUTE_BITS) - 1));
     }
 
-    int extractSecond() {
+    static int extractSecond(long value) {
         return (int) ((value >> (MILLI_BITS + OFFSET_BITS)) & ((1 << SECOND_BITS) - 1));
     }
 
-    int extractMilli() {
+    static int extractMilli(long value) {
         return (int) ((value >> (OFFSET_BITS)) & ((1 << MILLI_BITS) - 1));
     }
 
+    static int extractOffsetId(long value) {
+        return (int) (value & ((1 << OFFSET_BITS) - 1));
+    }
+
+    static int extractOffsetMinute(long value) {
+        return (extractOffsetId(value) + MIN_OFFSET_MINUTES);
+    }
+
+    int extractYear() {
+        return extractYear(value);
+    }
+
+    int extractMonth() {
+        return extractMonth(value);
+    }
+
+    int extractDay() {
+        return extractDay(value);
+    }
+
+    int extractHour() {
+        return extractHour(value);
+    }
+
+    int extractMinute() {
+        return extractMinute(value);
+    }
+
+    int extractSecond() {
+        return extractSecond(value);
+    }
+
+    int extractMilli() {
+        return extractMilli(value);
+    }
+
     int extractNano() {
         return extractMilli() * 1_000_000;
     }
 
+    long extractEpochDay() {
+        return epochDay(extractYear(), extractMonth(), extractDay());
+    }
+
+    int extractSecondOfDay() {
+        return (extractHour() * 60 + extractMinute()) * 60 + extractSecond();
+    }
+
+    int extractMillisOfDay() {
+        return extractSecondOfDay() * 1000 + extractMilli();
+    }
+
     int extractOffsetId() {
-        return (int) (value & ((1 << OFFSET_BITS) - 1));
+        return extractOffsetId(value);
     }
 
     int extractOffsetMinute() {
-        return (extractOffsetId() + MIN_OFFSET_MINUTES);
+        return extractOffsetMinute(value);
     }
 
     int extractOffsetSecond() {
@@ -119,116 +500,411 @@ abstract class AbstractPackedDateTime {
         return value;
     }
 
+    /**
+     * Whether the packed type has date fields, time fields or an offset, determines the supported fields.
+     */
+    boolean hasDate() {
+        return true;
+    }
+
+    boolean hasTime() {
+        return true;
+    }
+
+    boolean hasOffset() {
+        return false;
+    }
+
+    int temporalOffsetSeconds() {
+        return extractOffsetSecond();
+    }
+
+    ZoneId temporalZone() {
+        return null;
+    }
+
+    @Override
+    public boolean isSupported(TemporalField field) {
+        if (field instanceof ChronoField) {
+            if (field == ChronoField.OFFSET_SECONDS) {
+                return hasOffset();
+            } else if (field == ChronoField.INSTANT_SECONDS) {
+                return hasOffset() && hasDate();
+            }
+            return field.isDateBased() ? hasDate() : hasTime();
+        }
+        return field != null && field.isSupportedBy(this);
+    }
+
+    @Override
+    public long getLong(TemporalField field) {
+        if (!(field instanceof ChronoField)) {
+            return field.getFrom(this);
+        }
+        if (!isSupported(field)) {
+            throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        switch ((ChronoField) field) {
+            case NANO_OF_SECOND:
+                return extractNano();
+            case NANO_OF_DAY:
+                return extractMillisOfDay() * 1_000_000L;
+            case MICRO_OF_SECOND:
+                return extractMilli() * 1_000;
+            case MICRO_OF_DAY:
+                return extractMillisOfDay() * 1_000L;
+            case MILLI_OF_SECOND:
+                return extractMilli();
+            case MILLI_OF_DAY:
+                return extractMillisOfDay();
+            case SECOND_OF_MINUTE:
+                return extractSecond();
+            case SECOND_OF_DAY:
+                return extractSecondOfDay();
+            case MINUTE_OF_HOUR:
+                return extractMinute();
+            case MINUTE_OF_DAY:
+                return extractHour() * 60 + extractMinute();
+            case HOUR_OF_AMPM:
+                return extractHour() % 12;
+            case CLOCK_HOUR_OF_AMPM: {
+                int hour = extractHour() % 12;
+                return hour == 0 ? 12 : hour;
+            }
+            case HOUR_OF_DAY:
+                return extractHour();
+            case CLOCK_HOUR_OF_DAY: {
+                int hour = extractHour();
+                return hour == 0 ? 24 : hour;
+            }
+            case AMPM_OF_DAY:
+                return extractHour() / 12;
+            case DAY_OF_WEEK:
+                // 1970-01-01 was a thursday
+                return Math.floorMod(extractEpochDay() + 3, 7) + 1;
+            case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+                return (extractDay() - 1) % 7 + 1;
+            case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+                return (dayOfYear() - 1) % 7 + 1;
+            case DAY_OF_MONTH:
+                return extractDay();
+            case DAY_OF_YEAR:
+                return dayOfYear();
+            case EPOCH_DAY:
+                return extractEpochDay();
+            case ALIGNED_WEEK_OF_MONTH:
+                return (extractDay() - 1) / 7 + 1;
+            case ALIGNED_WEEK_OF_YEAR:
+                return (dayOfYear() - 1) / 7 + 1;
+            case MONTH_OF_YEAR:
+                return extractMonth();
+            case PROLEPTIC_MONTH:
+                return extractYear() * 12L + extractMonth() - 1;
+            case YEAR_OF_ERA: {
+                int year = extractYear();
+                return year >= 1 ? year : 1 - year;
+            }
+            case YEAR:
+                return extractYear();
+            case ERA:
+                return extractYear() >= 1 ? 1 : 0;
+            case INSTANT_SECONDS:
+                return extractEpochDay() * 86_400L + extractSecondOfDay() - temporalOffsetSeconds();
+            case OFFSET_SECONDS:
+                return temporalOffsetSeconds();
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R> R query(TemporalQuery<R> query) {
+        if (query == TemporalQueries.zoneId()) {
+            return (R) temporalZone();
+        } else if (query == TemporalQueries.chronology()) {
+            return hasDate() ? (R) IsoChronology.INSTANCE : null;
+        } else if (query == TemporalQueries.precision()) {
+            return (R) (hasTime() ? ChronoUnit.MILLIS : ChronoUnit.DAYS);
+        }
+        return query.queryFrom(this);
+    }
+
+
+    private int dayOfYear() {
+        int year = extractYear();
+        return (int) (epochDay(year, extractMonth(), extractDay()) - epochDay(year, 1, 1)) + 1;
+    }
+
     @Override
     public String toString() {
         return Long.toHexString(value);
     }
 
+    private static final int SCRATCH_LENGTH = 64;
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[SCRATCH_LENGTH]);
+
+    /**
+     * Writes the same text as {@link #toString()} at {@code off} and returns the offset after it.
+     */
+    public abstract int formatTo(char[] buf, int off);
+
+    /**
+     * Upper bound of the number of chars written by {@link #formatTo(char[], int)}.
+     */
+    int maxFormattedLength() {
+        return 32;
+    }
+
+    /**
+     * Appends the same text as {@link #toString()} without creating an intermediate string.
+     */
+    public void formatTo(StringBuilder builder) {
+        char[] buf = scratch();
+        builder.append(buf, 0, formatTo(buf, 0));
+    }
+
+    /**
+     * Appends the same text as {@link #toString()}, an {@link IOException} is rethrown as {@link DateTimeException}.
+     */
+    public void formatTo(Appendable appendable) {
+        if (appendable instanceof StringBuilder) {
+            formatTo((StringBuilder) appendable);
+            return;
+        }
+        char[] buf = scratch();
+        int len = formatTo(buf, 0);
+        try {
+            for (int i = 0; i < len; i++) {
+                appendable.append(buf[i]);
+            }
+        } catch (IOException e) {
+            throw new DateTimeException(e.getMessage(), e);
+        }
+    }
+
+    private char[] scratch() {
+        int length = maxFormattedLength();
+        return length <= SCRATCH_LENGTH ? SCRATCH.get() : new char[length];
+    }
+
+    private static final ThreadLocal<byte[]> BYTE_SCRATCH = ThreadLocal.withInitial(() -> new byte[SCRATCH_LENGTH]);
+
+    /**
+     * Writes the same text as {@link #toString()} as latin-1 or utf-8 encoded bytes at {@code off} and returns the
+     * offset after it.
+     */
+    public abstract int formatTo(byte[] buf, int off);
+
+    /**
+     * Writes the same text as {@link #toString()} as latin-1 or utf-8 encoded bytes at the current position of the
+     * buffer and advances the position.
+     *
+     * @throws java.nio.BufferOverflowException if there is not enough space remaining in the buffer
+     */
+    public void formatTo(ByteBuffer buffer) {
+        int length = maxFormattedLength();
+        if (buffer.hasArray() && buffer.remaining() >= length) {
+            int position = buffer.position();
+            int start = buffer.arrayOffset() + position;
+            int end = formatTo(buffer.array(), start);
+            buffer.position(position + end - start);
+        } else {
+            // direct or read-only buffer, or the text might not fit
+            byte[] buf = length <= SCRATCH_LENGTH ? BYTE_SCRATCH.get() : new byte[length];
+            buffer.put(buf, 0, formatTo(buf, 0));
+        }
+    }
+
+    private static final byte[] TWO_DIGITS = new byte[200];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            TWO_DIGITS[2 * i] = (byte) ('0' + i / 10);
+            TWO_DIGITS[2 * i + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    static int appendTwoDigits(byte[] buf, int i, int value) {
+        buf[i] = TWO_DIGITS[2 * value];
+        buf[i + 1] = TWO_DIGITS[2 * value + 1];
+        return i + 2;
+    }
+
+    static int appendTwoDigits(char[] buf, int i, int value) {
+        buf[i] = (char) TWO_DIGITS[2 * value];
+        buf[i + 1] = (char) TWO_DIGITS[2 * value + 1];
+        return i + 2;
+    }
+
     int appendDate(char[] buf, int i) {
-        int year = extractYear();
-        int month = extractMonth();
-        int day = extractDay();
+        return appendDate(value, buf, i);
+    }
 
+    int appendDate(byte[] buf, int i) {
+        return appendDate(value, buf, i);
+    }
+
+    int appendTime(char[] buf, int i) {
+        return appendTime(value, PackedTimeFormatter.FRACTION_AUTO, false, buf, i);
+    }
+
+    int appendTime(byte[] buf, int i) {
+        return appendTime(value, PackedTimeFormatter.FRACTION_AUTO, false, buf, i);
+    }
+
+    /*
+     * The static variants below are shared by the toString and formatTo methods of the packed types and by the
+     * formatters, which pass their options instead of the defaults of the ISO format.
+     */
+
+    static int appendDate(long value, char[] buf, int i) {
+        int year = extractYear(value);
         if (year < 0) {
             buf[i++] = '-';
             year = -year;
         }
 
-        buf[i++] = (char) ('0' + year / 1000);
-        buf[i++] = (char) ('0' + year / 100 % 10);
-        buf[i++] = (char) ('0' + year / 10 % 10);
-        buf[i++] = (char) ('0' + year % 10);
+        i = appendTwoDigits(buf, i, year / 100);
+        i = appendTwoDigits(buf, i, year % 100);
         buf[i++] = '-';
-
-        buf[i++] = (char) ('0' + month / 10);
-        buf[i++] = (char) ('0' + month % 10);
+        i = appendTwoDigits(buf, i, extractMonth(value));
         buf[i++] = '-';
-
-        buf[i++] = (char) ('0' + day / 10);
-        buf[i++] = (char) ('0' + day % 10);
+        i = appendTwoDigits(buf, i, extractDay(value));
 
         return i;
     }
 
-    int appendTime(char[] buf, int i) {
-        int hour = extractHour();
-        int minute = extractMinute();
-        int second = extractSecond();
-        int milli = extractMilli();
+    static int appendDate(long value, byte[] buf, int i) {
+        int year = extractYear(value);
+        if (year < 0) {
+            buf[i++] = '-';
+            year = -year;
+        }
 
-        buf[i++] = (char) ('0' + hour / 10);
-        buf[i++] = (char) ('0' + hour % 10);
+        i = appendTwoDigits(buf, i, year / 100);
+        i = appendTwoDigits(buf, i, year % 100);
+        buf[i++] = '-';
+        i = appendTwoDigits(buf, i, extractMonth(value));
+        buf[i++] = '-';
+        i = appendTwoDigits(buf, i, extractDay(value));
+
+        return i;
+    }
+
+    static int appendTime(long value, int fractionDigits, boolean alwaysSeconds, char[] buf, int i) {
+        i = appendTwoDigits(buf, i, extractHour(value));
         buf[i++] = ':';
+        return appendMinuteAndSecond(value, fractionDigits, alwaysSeconds, buf, i);
+    }
 
-        buf[i++] = (char) ('0' + minute / 10);
-        buf[i++] = (char) ('0' + minute % 10);
+    static int appendTime(long value, int fractionDigits, boolean alwaysSeconds, byte[] buf, int i) {
+        i = appendTwoDigits(buf, i, extractHour(value));
+        buf[i++] = ':';
+        return appendMinuteAndSecond(value, fractionDigits, alwaysSeconds, buf, i);
+    }
 
-        if (second > 0 || milli > 0) {
+    /**
+     * Writes the minutes and, if they or the fraction are not zero or {@code alwaysSeconds} is set, the seconds and
+     * the given number of fraction digits, see {@link PackedTimeFormatter#withFractionDigits(int)}.
+     */
+    static int appendMinuteAndSecond(long value, int fractionDigits, boolean alwaysSeconds, char[] buf, int i) {
+        i = appendTwoDigits(buf, i, extractMinute(value));
+
+        int second = extractSecond(value);
+        int milli = extractMilli(value);
+        int fraction = fractionDigits == PackedTimeFormatter.FRACTION_AUTO ? (milli != 0 ? 3 : 0) : fractionDigits;
+        if (alwaysSeconds || second != 0 || fraction != 0) {
             buf[i++] = ':';
+            i = appendTwoDigits(buf, i, second);
+            if (fraction != 0) {
+                buf[i++] = '.';
+                buf[i++] = (char) ('0' + milli / 100);
+                if (fraction == 3) {
+                    i = appendTwoDigits(buf, i, milli % 100);
+                } else if (fraction == 2) {
+                    buf[i++] = (char) ('0' + milli / 10 % 10);
+                }
+            }
+        }
+
+        return i;
+    }
 
-            buf[i++] = (char) ('0' + second / 10);
-            buf[i++] = (char) ('0' + second % 10);
+    static int appendMinuteAndSecond(long value, int fractionDigits, boolean alwaysSeconds, byte[] buf, int i) {
+        i = appendTwoDigits(buf, i, extractMinute(value));
 
-            if (milli > 0) {
+        int second = extractSecond(value);
+        int milli = extractMilli(value);
+        int fraction = fractionDigits == PackedTimeFormatter.FRACTION_AUTO ? (milli != 0 ? 3 : 0) : fractionDigits;
+        if (alwaysSeconds || second != 0 || fraction != 0) {
+            buf[i++] = ':';
+            i = appendTwoDigits(buf, i, second);
+            if (fraction != 0) {
                 buf[i++] = '.';
-                buf[i++] = (char) ('0' + milli / 100 % 10);
-                buf[i++] = (char) ('0' + milli / 10 % 10);
-                buf[i++] = (char) ('0' + milli % 10);
+                buf[i++] = (byte) ('0' + milli / 100);
+                if (fraction == 3) {
+                    i = appendTwoDigits(buf, i, milli % 100);
+                } else if (fraction == 2) {
+                    buf[i++] = (byte) ('0' + milli / 10 % 10);
+                }
             }
         }
 
         return i;
     }
 
-    int appendOffsetMinute(int totalMinutes, char[] buf, int i) {
-        if (totalMinutes < 0 || totalMinutes == 0 ) {
+    /**
+     * Writes the offset of the packed value, an offset of zero as {@code Z} if {@code zulu} is set.
+     */
+    static int appendOffset(long value, boolean zulu, char[] buf, int i) {
+        int offsetMinute = extractOffsetMinute(value);
+        if (offsetMinute == 0 && zulu) {
+            buf[i++] = 'Z';
+            return i;
+        }
+        return appendOffsetMinute(offsetMinute, buf, i);
+    }
+
+    static int appendOffset(long value, boolean zulu, byte[] buf, int i) {
+        int offsetMinute = extractOffsetMinute(value);
+        if (offsetMinute == 0 && zulu) {
+            buf[i++] = 'Z';
+            return i;
+        }
+        return appendOffsetMinute(offsetMinute, buf, i);
+    }
+
+    static int appendOffsetMinute(int totalMinutes, char[] buf, int i) {
+        if (totalMinutes < 0) {
             buf[i++] = '-';
             totalMinutes = -totalMinutes;
         } else {
             buf[i++] = '+';
         }
-        int offsetHour = totalMinutes / 60;
-        int offsetMinute = totalMinutes % 60;
 
-        buf[i++] = (char) ('0' + offsetHour / 10);
-        buf[i++] = (char) ('0' + offsetHour % 10);
+        i = appendTwoDigits(buf, i, totalMinutes / 60);
         buf[i++] = ':';
-        buf[i++] = (char) ('0' + offsetMinute / 10);
-        buf[i++] = (char) ('0' + offsetMinute % 10);
+        i = appendTwoDigits(buf, i, totalMinutes % 60);
 
         return i;
     }
 
-    int appendOffsetSeconds(int totalSeconds, char[] buf, int i) {
-        if (totalSeconds < 0) {
+    static int appendOffsetMinute(int totalMinutes, byte[] buf, int i) {
+        if (totalMinutes < 0) {
             buf[i++] = '-';
-            totalSeconds = -totalSeconds;
+            totalMinutes = -totalMinutes;
         } else {
             buf[i++] = '+';
         }
 
-        int totalMinutes = totalSeconds / 60;
-
-        int offsetHour = totalMinutes / 60;
-        int offsetMinute = totalMinutes % 60;
-        int offsetSecond = totalSeconds % 60;
-
-        buf[i++] = (char) ('0' + offsetHour / 10);
-        buf[i++] = (char) ('0' + offsetHour % 10);
+        i = appendTwoDigits(buf, i, totalMinutes / 60);
         buf[i++] = ':';
-        buf[i++] = (char) ('0' + offsetMinute / 10);
-        buf[i++] = (char) ('0' + offsetMinute % 10);
-
-        if (offsetSecond != 0) {
-            buf[i++] = ':';
-            buf[i++] = (char) ('0' + offsetSecond / 10);
-            buf[i++] = (char) ('0' + offsetSecond % 10);
-        }
+        i = appendTwoDigits(buf, i, totalMinutes % 60);
 
         return i;
     }
 
-
     @Override
     public final boolean equals(Object other) {
         if (other == null) {
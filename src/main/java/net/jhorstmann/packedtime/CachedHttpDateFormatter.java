@@ -0,0 +1,80 @@
+package net.jhorstmann.packedtime;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Formats the current time as RFC 1123 date or Common Log Format timestamp, caching the rendered text of the last
+ * second. Formatting again within the same second only compares the second and returns or copies the cached text.
+ * <p>
+ * Instances are thread-safe, the cache is replaced as a whole and concurrent threads at a second boundary at worst
+ * render the same second more than once.
+ */
+public class CachedHttpDateFormatter {
+
+    private static final class Entry {
+        final long epochSecond;
+        final byte[] bytes;
+        final String text;
+
+        Entry(long epochSecond, byte[] bytes) {
+            this.epochSecond = epochSecond;
+            this.bytes = bytes;
+            this.text = new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    // null for rfc 1123 dates
+    private final ZoneOffset commonLogOffset;
+    private volatile Entry entry;
+
+    private CachedHttpDateFormatter(ZoneOffset commonLogOffset) {
+        this.commonLogOffset = commonLogOffset;
+    }
+
+    public static CachedHttpDateFormatter rfc1123() {
+        return new CachedHttpDateFormatter(null);
+    }
+
+    public static CachedHttpDateFormatter commonLog(ZoneOffset offset) {
+        return new CachedHttpDateFormatter(offset);
+    }
+
+    public String format(long epochMillis) {
+        return entry(epochMillis).text;
+    }
+
+    /**
+     * Copies the formatted text to {@code off} and returns the offset after it.
+     */
+    public int format(long epochMillis, byte[] buf, int off) {
+        byte[] bytes = entry(epochMillis).bytes;
+        System.arraycopy(bytes, 0, buf, off, bytes.length);
+        return off + bytes.length;
+    }
+
+    private Entry entry(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        Entry entry = this.entry;
+        if (entry == null || entry.epochSecond != epochSecond) {
+            entry = new Entry(epochSecond, render(epochSecond));
+            this.entry = entry;
+        }
+        return entry;
+    }
+
+    private byte[] render(long epochSecond) {
+        if (commonLogOffset != null) {
+            OffsetDateTime offsetDateTime = OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), commonLogOffset);
+            byte[] buf = new byte[HttpDateTime.COMMON_LOG_LENGTH];
+            HttpDateTime.formatCommonLog(PackedOffsetDateTime.fromOffsetDateTime(offsetDateTime).getValue(), buf, 0);
+            return buf;
+        } else {
+            byte[] buf = new byte[HttpDateTime.RFC_1123_LENGTH];
+            HttpDateTime.formatRfc1123EpochSecond(epochSecond, buf, 0);
+            return buf;
+        }
+    }
+}
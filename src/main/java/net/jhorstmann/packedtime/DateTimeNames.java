@@ -0,0 +1,77 @@
+package net.jhorstmann.packedtime;
+
+/**
+ * English month and day of week abbreviations as used by HTTP dates and log files. Names are found by the
+ * remainder of their three ascii characters packed into an int, which is unique for each table.
+ */
+final class DateTimeNames {
+
+    static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    // ISO order, monday is 1
+    static final String[] DAYS_OF_WEEK = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+    private static final int MONTH_MODULUS = 31;
+    private static final int DAY_OF_WEEK_MODULUS = 15;
+    private static final int[] MONTH_KEYS = new int[MONTH_MODULUS];
+    private static final int[] DAY_OF_WEEK_KEYS = new int[DAY_OF_WEEK_MODULUS];
+    private static final int[] DAY_OF_WEEK_OFFSETS = {0, 3, 2, 5, 0, 3, 5, 1, 4, 6, 2, 4};
+
+    static {
+        // the key of each name is stored together with its value in the lowest 4 bits
+        for (int i = 0; i < MONTHS.length; i++) {
+            int key = key(MONTHS[i]);
+            MONTH_KEYS[key % MONTH_MODULUS] = key << 4 | (i + 1);
+        }
+        for (int i = 0; i < DAYS_OF_WEEK.length; i++) {
+            int key = key(DAYS_OF_WEEK[i]);
+            DAY_OF_WEEK_KEYS[key % DAY_OF_WEEK_MODULUS] = key << 4 | (i + 1);
+        }
+    }
+
+    private DateTimeNames() {
+    }
+
+    private static int key(String name) {
+        return key(name.charAt(0), name.charAt(1), name.charAt(2));
+    }
+
+    private static int key(int c0, int c1, int c2) {
+        return c0 << 16 | c1 << 8 | c2;
+    }
+
+    /**
+     * Returns the month of the given name or 0 if it is not a known abbreviation.
+     */
+    static int monthOfName(int c0, int c1, int c2) {
+        if ((c0 | c1 | c2) > 0x7F) {
+            return 0;
+        }
+        int key = key(c0, c1, c2);
+        int entry = MONTH_KEYS[key % MONTH_MODULUS];
+        return entry >>> 4 == key ? entry & 0xF : 0;
+    }
+
+    /**
+     * Returns the ISO day of week of the given name or 0 if it is not a known abbreviation.
+     */
+    static int dayOfWeekOfName(int c0, int c1, int c2) {
+        if ((c0 | c1 | c2) > 0x7F) {
+            return 0;
+        }
+        int key = key(c0, c1, c2);
+        int entry = DAY_OF_WEEK_KEYS[key % DAY_OF_WEEK_MODULUS];
+        return entry >>> 4 == key ? entry & 0xF : 0;
+    }
+
+    /**
+     * ISO day of week of a valid date in the proleptic gregorian calendar, monday is 1.
+     */
+    static int dayOfWeek(int year, int month, int day) {
+        if (month < 3) {
+            year--;
+        }
+        int sundayBased = Math.floorMod(year + Math.floorDiv(year, 4) - Math.floorDiv(year, 100) + Math.floorDiv(year, 400)
+                + DAY_OF_WEEK_OFFSETS[month - 1] + day, 7);
+        return sundayBased == 0 ? 7 : sundayBased;
+    }
+}
@@ -1,400 +1,1333 @@
 package net.jhorstmann.packedtime;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.Year;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
 
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.combine;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.offsetIdOfMinutes;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.offsetIdOfSeconds;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packDate;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packTime;
+import static net.jhorstmann.packedtime.ParseError.INVALID;
+
 class DateTimeParser {
 
-    static class Index {
-        private int i;
+    /*
+     * The parse steps for date, time and offset return the index after the parsed element in the upper 32 bits
+     * and the parsed fields in the lower 32 bits, so that no index or holder objects need to be allocated.
+     * Date and time fields use the layout of AbstractPackedDateTime.packDate and packTime.
+     *
+     * Steps never throw, errors are returned as negative values containing the error code, up to two expected
+     * characters and the index of the error. The tryParse methods turn those into ParseError.INVALID and optionally
+     * record them in a ParseError. The throwing methods only create an exception after a failed attempt, by parsing
+     * the input a second time with a ParseError.
+     */
+
+    private static long step(int index, int fields) {
+        return ((long) index) << 32 | (fields & 0xFFFF_FFFFL);
+    }
 
-        Index() {
-            this.i = 0;
-        }
+    private static int index(long step) {
+        return (int) (step >>> 32);
+    }
 
-        int get() {
-            return i;
-        }
+    private static int fields(long step) {
+        return (int) step;
+    }
 
-        void inc() {
-            ++i;
-        }
+    private static long error(int code, int index) {
+        return error(code, index, 0);
+    }
 
-        void inc(int c) {
-            i += c;
-        }
+    private static long error(int code, int index, int expected) {
+        return Long.MIN_VALUE | ((long) expected) << 40 | ((long) code) << 32 | (index & 0xFFFF_FFFFL);
+    }
 
-        int postInc() {
-            return i++;
+    private static long fail(long error, ParseError parseError, int base) {
+        if (parseError != null) {
+            parseError.set((int) (error >>> 32) & 0xFF, (int) error - base, (int) (error >>> 40) & 0xFFFF);
         }
+        return INVALID;
+    }
 
-        int postInc(int c) {
-            int r = i;
-            this.i = r + c;
-            return r;
+    private static long fail(long error, ParsePosition position, ParseError parseError) {
+        if (position != null) {
+            position.setErrorIndex((int) error);
         }
+        return fail(error, parseError, 0);
     }
 
-    static class Date {
-        int year, month, day;
+    /*
+     * Parsing of a CharSequence in the range from start (inclusive) to end (exclusive). Error indices are
+     * reported relative to the beginning of the CharSequence. If a ParsePosition is given, parsing stops after
+     * the last character belonging to the value and the index after it is stored in the position. Otherwise
+     * the value has to extend up to the end of the range.
+     */
+
+    interface CharsParser {
+        long parse(CharSequence str, int start, int end, ParsePosition position, ParseError error);
+    }
 
-        public Date(int year, int month, int day) {
-            this.year = year;
-            this.month = month;
-            this.day = day;
+    static long parse(CharSequence str, int start, int end, CharsParser parser) {
+        if (start < 0 || start > end || end > str.length()) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + str.length());
         }
+
+        return parse(str, start, end, null, parser);
     }
 
-    static class Time {
-        int hour, minute, second, nano;
+    static long parse(CharSequence str, ParsePosition position, CharsParser parser) {
+        int start = position.getIndex();
+        if (start < 0 || start > str.length()) {
+            throw new IndexOutOfBoundsException("Parse position " + start + " out of bounds for length " + str.length());
+        }
+
+        return parse(str, start, str.length(), position, parser);
+    }
 
-        public Time(int hour, int minute, int second, int nano) {
-            this.hour = hour;
-            this.minute = minute;
-            this.second = second;
-            this.nano = nano;
+    private static long parse(CharSequence str, int start, int end, ParsePosition position, CharsParser parser) {
+        long value = parser.parse(str, start, end, position, null);
+        if (value == INVALID) {
+            ParseError error = new ParseError();
+            parser.parse(str, start, end, position, error);
+            throw error.toException(str);
         }
+        return value;
+    }
+
+    static long tryParse(CharSequence str, ParseError error, CharsParser parser) {
+        return parser.parse(str, 0, str.length(), null, error);
     }
 
-    private static Date parseDate(String str, Index idx) {
-        int year, yearStart;
+    private static long parseDate(CharSequence str, int end, int start) {
+        int i = start;
+        boolean negative = i < end && str.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
 
-        if (str.charAt(idx.get()) == '-') {
-            idx.inc();
-            yearStart = 1;
-            year = -parseYear(str, idx);
-        } else {
-            yearStart = 0;
-            year = parseYear(str, idx);
+        int year = parse4(str, end, i);
+        if (year < 0) {
+            return digitsError(str, end, i, 4);
         }
+        if (negative) {
+            year = -year;
+        }
+        i += 4;
 
-        expect(str, idx.postInc(), '-');
+        if (!is(str, end, i, '-')) {
+            return unexpected(end, i, '-');
+        }
 
-        int month = parse2(str, idx.postInc(2));
-        expect(str, idx.postInc(), '-');
+        int month = parse2(str, end, i + 1);
+        if (month < 0) {
+            return digitsError(str, end, i + 1, 2);
+        }
+        if (!is(str, end, i + 3, '-')) {
+            return unexpected(end, i + 3, '-');
+        }
 
-        int day = parse2(str, idx.postInc(2));
+        int day = parse2(str, end, i + 4);
+        if (day < 0) {
+            return digitsError(str, end, i + 4, 2);
+        }
 
-        validateDate(str, yearStart, year, month, day);
+        if (!isValidDate(year, month, day)) {
+            return invalidDate(i - 4, month);
+        }
 
-        return new Date(year, month, day);
+        return step(i + 6, packDate(year, month, day));
     }
 
-    private static Time parseTime(String str, Index idx) {
-        int timeStart = idx.get();
+    private static long parseTime(CharSequence str, int end, int start) {
+        int hour = parse2(str, end, start);
+        if (hour < 0) {
+            return digitsError(str, end, start, 2);
+        }
+        if (!is(str, end, start + 2, ':')) {
+            return unexpected(end, start + 2, ':');
+        }
 
-        int hour = parse2(str, idx.postInc(2));
-        expect(str, idx.postInc(), ':');
+        return parseTimeAfterHour(str, end, start, hour);
+    }
 
-        int minute = parse2(str, idx.postInc(2));
+    private static long parseTimeAfterHour(CharSequence str, int end, int start, int hour) {
+        int minute = parse2(str, end, start + 3);
+        if (minute < 0) {
+            return digitsError(str, end, start + 3, 2);
+        }
 
-        int second = 0, nano = 0;
-        if (idx.get() < str.length()) {
-            char ch = str.charAt(idx.get());
+        int i = start + 5;
+        int second = 0, milli = 0;
+        if (i < end) {
+            char ch = str.charAt(i);
             if (ch == '.') {
-                idx.inc();
-                nano = parseNano(str, idx);
+                long fraction = parseMilli(str, end, i + 1);
+                if (fraction < 0) {
+                    return fraction;
+                }
+                i = index(fraction);
+                milli = fields(fraction);
             } else if (ch == ':') {
-                idx.inc();
-                second = parse2(str, idx.postInc(2));
-                if (idx.get() < str.length() && str.charAt(idx.get()) == '.') {
-                    idx.inc();
-                    nano = parseNano(str, idx);
+                second = parse2(str, end, i + 1);
+                if (second < 0) {
+                    return digitsError(str, end, i + 1, 2);
+                }
+                i += 3;
+                if (i < end && str.charAt(i) == '.') {
+                    long fraction = parseMilli(str, end, i + 1);
+                    if (fraction < 0) {
+                        return fraction;
+                    }
+                    i = index(fraction);
+                    milli = fields(fraction);
                 }
             }
         }
 
-        validateTime(str, timeStart, hour, minute, second);
+        if (!isValidTime(hour, minute, second)) {
+            return invalidTime(start, hour, minute);
+        }
 
-        return new Time(hour, minute, second, nano);
+        return step(i, packTime(hour, minute, second, milli));
     }
 
     static PackedOffsetDateTime parseOffsetDateTime(String str) {
+        return PackedOffsetDateTime.valueOf(parseOffsetDateTimeToLong(str));
+    }
 
-        Index idx = new Index();
+    static long parseOffsetDateTimeToLong(String str) {
+        return parse(str, 0, str.length(), null, DateTimeParser::tryParseOffsetDateTimeToLong);
+    }
 
-        Date date = parseDate(str, idx);
+    static long tryParseOffsetDateTimeToLong(CharSequence str, int start, int end, ParsePosition position, ParseError error) {
+        long date = parseDate(str, end, start);
+        if (date < 0) {
+            return fail(date, position, error);
+        }
 
-        expect(str, idx.postInc(), 'T', ' ');
+        int i = index(date);
+        if (!is(str, end, i, 'T', ' ')) {
+            return fail(unexpected(end, i, 'T', ' '), position, error);
+        }
 
-        Time time = parseTime(str, idx);
+        long time = parseTime(str, end, i + 1);
+        if (time < 0) {
+            return fail(time, position, error);
+        }
 
-        int offsetMinute = parseOffsetMinute(str, idx);
-        int offsetSecond = offsetMinute * 60;
+        long offset = parseOffsetMinute(str, end, index(time));
+        if (offset < 0) {
+            return fail(offset, position, error);
+        }
 
-        if (str.length() > idx.get()) {
-            throw new DateTimeParseException("trailing characters", str, idx.get());
+        long finish = finish(end, index(offset), position);
+        if (finish < 0) {
+            return fail(finish, position, error);
         }
 
-        long encoded = AbstractPackedDateTime.encodeWithOffsetSeconds(date.year, date.month, date.day, time.hour, time.minute, time.second, time.nano, offsetSecond);
-        return PackedOffsetDateTime.valueOf(encoded);
+        return combine(fields(date), fields(time), offsetIdOfMinutes(fields(offset)));
     }
 
     static PackedOffsetDateTime parseOffsetDateTimeWithDefaultOffset(String str, int defaultOffsetSeconds) {
-        Index idx = new Index();
+        return PackedOffsetDateTime.valueOf(parseOffsetDateTimeWithDefaultOffsetToLong(str, defaultOffsetSeconds));
+    }
 
-        Date date = parseDate(str, idx);
+    static long parseOffsetDateTimeWithDefaultOffsetToLong(String str, int defaultOffsetSeconds) {
+        long value = tryParseOffsetDateTimeWithDefaultOffsetToLong(str, 0, str.length(), null, null, defaultOffsetSeconds);
+        if (value == INVALID) {
+            ParseError error = new ParseError();
+            tryParseOffsetDateTimeWithDefaultOffsetToLong(str, 0, str.length(), null, error, defaultOffsetSeconds);
+            throw error.toException(str);
+        }
+        return value;
+    }
+
+    static long tryParseOffsetDateTimeWithDefaultOffsetToLong(CharSequence str, int start, int end, ParsePosition position, ParseError error, int defaultOffsetSeconds) {
+        long date = parseDate(str, end, start);
+        if (date < 0) {
+            return fail(date, position, error);
+        }
 
-        expect(str, idx.postInc(), 'T', ' ');
+        int i = index(date);
+        if (!is(str, end, i, 'T', ' ')) {
+            return fail(unexpected(end, i, 'T', ' '), position, error);
+        }
 
-        Time time = parseTime(str, idx);
+        long time = parseTime(str, end, i + 1);
+        if (time < 0) {
+            return fail(time, position, error);
+        }
 
-        int offsetSecond;
-        if (str.length() > idx.get()) {
-            int offsetMinute = parseOffsetMinute(str, idx);
-            offsetSecond = offsetMinute * 60;
+        i = index(time);
+        int offsetId;
+        if (isOffsetStart(str, end, i)) {
+            long offset = parseOffsetMinute(str, end, i);
+            if (offset < 0) {
+                return fail(offset, position, error);
+            }
+            i = index(offset);
+            offsetId = offsetIdOfMinutes(fields(offset));
         } else {
-            offsetSecond = defaultOffsetSeconds;
+            offsetId = offsetIdOfSeconds(defaultOffsetSeconds);
         }
 
-        if (str.length() > idx.get()) {
-            throw new DateTimeParseException("trailing characters", str, idx.get());
+        long finish = finish(end, i, position);
+        if (finish < 0) {
+            return fail(finish, position, error);
         }
 
-        long encoded = AbstractPackedDateTime.encodeWithOffsetSeconds(date.year, date.month, date.day, time.hour, time.minute, time.second, time.nano, offsetSecond);
-        return PackedOffsetDateTime.valueOf(encoded);
+        return combine(fields(date), fields(time), offsetId);
     }
 
     static PackedOffsetDateTime parseOffsetDateTimeWithDefaultZone(String str, ZoneId zoneId) {
-        Index idx = new Index();
+        return PackedOffsetDateTime.valueOf(parseOffsetDateTimeWithDefaultZoneToLong(str, zoneId));
+    }
+
+    static long parseOffsetDateTimeWithDefaultZoneToLong(String str, ZoneId zoneId) {
+        long value = tryParseOffsetDateTimeWithDefaultZoneToLong(str, 0, str.length(), null, null, zoneId);
+        if (value == INVALID) {
+            ParseError error = new ParseError();
+            tryParseOffsetDateTimeWithDefaultZoneToLong(str, 0, str.length(), null, error, zoneId);
+            throw error.toException(str);
+        }
+        return value;
+    }
 
-        Date date = parseDate(str, idx);
+    static long tryParseOffsetDateTimeWithDefaultZoneToLong(CharSequence str, int start, int end, ParsePosition position, ParseError error, ZoneId zoneId) {
+        long date = parseDate(str, end, start);
+        if (date < 0) {
+            return fail(date, position, error);
+        }
 
-        expect(str, idx.postInc(), 'T', ' ');
+        int i = index(date);
+        if (!is(str, end, i, 'T', ' ')) {
+            return fail(unexpected(end, i, 'T', ' '), position, error);
+        }
 
-        Time time = parseTime(str, idx);
+        long time = parseTime(str, end, i + 1);
+        if (time < 0) {
+            return fail(time, position, error);
+        }
 
-        int offsetSecond;
-        if (str.length() > idx.get()) {
-            int offsetMinute = parseOffsetMinute(str, idx);
-            offsetSecond = offsetMinute * 60;
+        i = index(time);
+        int offsetId;
+        if (isOffsetStart(str, end, i)) {
+            long offset = parseOffsetMinute(str, end, i);
+            if (offset < 0) {
+                return fail(offset, position, error);
+            }
+            i = index(offset);
+            offsetId = offsetIdOfMinutes(fields(offset));
         } else {
-            ZoneOffset offset = zoneId.getRules().getOffset(LocalDateTime.of(date.year, date.month, date.day, time.hour, time.minute, time.second, time.nano));
-            offsetSecond = offset.getTotalSeconds();
+            offsetId = offsetIdOfSeconds(defaultOffsetSeconds(zoneId, combine(fields(date), fields(time), 0)));
         }
 
-        if (str.length() > idx.get()) {
-            throw new DateTimeParseException("trailing characters", str, idx.get());
+        long finish = finish(end, i, position);
+        if (finish < 0) {
+            return fail(finish, position, error);
+        }
+
+        return combine(fields(date), fields(time), offsetId);
+    }
+
+    private static int defaultOffsetSeconds(ZoneId zoneId, long local) {
+        if (zoneId instanceof ZoneOffset) {
+            // avoid allocating the fixed rules and the local date time
+            return ((ZoneOffset) zoneId).getTotalSeconds();
         }
 
-        long encoded = AbstractPackedDateTime.encodeWithOffsetSeconds(date.year, date.month, date.day, time.hour, time.minute, time.second, time.nano, offsetSecond);
-        return PackedOffsetDateTime.valueOf(encoded);
+        LocalDateTime localDateTime = LocalDateTime.of(AbstractPackedDateTime.extractYear(local),
+                AbstractPackedDateTime.extractMonth(local),
+                AbstractPackedDateTime.extractDay(local),
+                AbstractPackedDateTime.extractHour(local),
+                AbstractPackedDateTime.extractMinute(local),
+                AbstractPackedDateTime.extractSecond(local),
+                AbstractPackedDateTime.extractMilli(local) * 1_000_000);
+
+        return zoneId.getRules().getOffset(localDateTime).getTotalSeconds();
     }
 
     static PackedLocalDateTime parseLocalDateTime(String str) {
-        Index idx = new Index();
+        return PackedLocalDateTime.valueOf(parseLocalDateTimeToLong(str));
+    }
 
-        Date date = parseDate(str, idx);
+    static long parseLocalDateTimeToLong(String str) {
+        return parse(str, 0, str.length(), null, DateTimeParser::tryParseLocalDateTimeToLong);
+    }
+
+    static long tryParseLocalDateTimeToLong(CharSequence str, int start, int end, ParsePosition position, ParseError error) {
+        long date = parseDate(str, end, start);
+        if (date < 0) {
+            return fail(date, position, error);
+        }
 
-        expect(str, idx.postInc(), 'T');
+        int i = index(date);
+        if (!is(str, end, i, 'T')) {
+            return fail(unexpected(end, i, 'T'), position, error);
+        }
 
-        Time time = parseTime(str, idx);
+        long time = parseTime(str, end, i + 1);
+        if (time < 0) {
+            return fail(time, position, error);
+        }
 
-        if (str.length() > idx.get()) {
-            throw new DateTimeParseException("trailing characters", str, idx.get());
+        long finish = finish(end, index(time), position);
+        if (finish < 0) {
+            return fail(finish, position, error);
         }
 
-        long encoded = AbstractPackedDateTime.encode(date.year, date.month, date.day, time.hour, time.minute, time.second, time.nano, 0);
-        return PackedLocalDateTime.valueOf(encoded);
+        return combine(fields(date), fields(time), 0);
+    }
+
+    /*
+     * Parsing of the remainder of a date time whose first PREFIX_LENGTH characters "yyyy-MM-ddTHH:" are already
+     * known to contain the given valid packed date and hour, used by SequentialPackedParser.
+     */
+
+    static final int PREFIX_LENGTH = 14;
+
+    static long tryParseOffsetDateTimeAfterPrefix(CharSequence str, int start, int end, int date, int hour, ParseError error) {
+        long time = parseTimeAfterHour(str, end, start + 11, hour);
+        if (time < 0) {
+            return fail(time, null, error);
+        }
+
+        long offset = parseOffsetMinute(str, end, index(time));
+        if (offset < 0) {
+            return fail(offset, null, error);
+        }
+
+        if (end > index(offset)) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, index(offset)), null, error);
+        }
+
+        return combine(date, fields(time), offsetIdOfMinutes(fields(offset)));
+    }
+
+    static long tryParseLocalDateTimeAfterPrefix(CharSequence str, int start, int end, int date, int hour, ParseError error) {
+        long time = parseTimeAfterHour(str, end, start + 11, hour);
+        if (time < 0) {
+            return fail(time, null, error);
+        }
+
+        if (end > index(time)) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, index(time)), null, error);
+        }
+
+        return combine(date, fields(time), 0);
     }
 
     static PackedLocalDate parseLocalDate(String str) {
-        Index idx = new Index();
+        return PackedLocalDate.valueOf(parseLocalDateToLong(str));
+    }
+
+    static long parseLocalDateToLong(String str) {
+        return parse(str, 0, str.length(), null, DateTimeParser::tryParseLocalDateToLong);
+    }
 
-        Date date = parseDate(str, idx);
+    static long tryParseLocalDateToLong(CharSequence str, int start, int end, ParsePosition position, ParseError error) {
+        long date = parseDate(str, end, start);
+        if (date < 0) {
+            return fail(date, position, error);
+        }
 
-        if (str.length() > idx.get()) {
-            throw new DateTimeParseException("trailing characters", str, idx.get());
+        long finish = finish(end, index(date), position);
+        if (finish < 0) {
+            return fail(finish, position, error);
         }
 
-        long encoded = AbstractPackedDateTime.encode(date.year, date.month, date.day, 0, 0, 0, 0, 0);
-        return PackedLocalDate.valueOf(encoded);
+        return combine(fields(date), 0, 0);
     }
 
     static PackedLocalTime parseLocalTime(String str) {
-        Index idx = new Index();
+        return PackedLocalTime.valueOf(parseLocalTimeToLong(str));
+    }
 
-        Time time = parseTime(str, idx);
+    static long parseLocalTimeToLong(String str) {
+        return parse(str, 0, str.length(), null, DateTimeParser::tryParseLocalTimeToLong);
+    }
 
-        if (str.length() > idx.get()) {
-            throw new DateTimeParseException("trailing characters", str, idx.get());
+    static long tryParseLocalTimeToLong(CharSequence str, int start, int end, ParsePosition position, ParseError error) {
+        long time = parseTime(str, end, start);
+        if (time < 0) {
+            return fail(time, position, error);
         }
 
-        long encoded = AbstractPackedDateTime.encode(0, 0, 0, time.hour, time.minute, time.second, time.nano, 0);
-        return PackedLocalTime.valueOf(encoded);
+        long finish = finish(end, index(time), position);
+        if (finish < 0) {
+            return fail(finish, position, error);
+        }
+
+        return combine(0, fields(time), 0);
     }
 
     static PackedOffsetTime parseOffsetTime(String str) {
-        Index idx = new Index();
+        return PackedOffsetTime.valueOf(parseOffsetTimeToLong(str));
+    }
+
+    static long parseOffsetTimeToLong(String str) {
+        return parse(str, 0, str.length(), null, DateTimeParser::tryParseOffsetTimeToLong);
+    }
 
-        Time time = parseTime(str, idx);
+    static long tryParseOffsetTimeToLong(CharSequence str, int start, int end, ParsePosition position, ParseError error) {
+        long time = parseTime(str, end, start);
+        if (time < 0) {
+            return fail(time, position, error);
+        }
+
+        long offset = parseOffsetMinute(str, end, index(time));
+        if (offset < 0) {
+            return fail(offset, position, error);
+        }
 
-        int offsetMinute = parseOffsetMinute(str, idx);
-        int offsetSecond = offsetMinute * 60;
+        long finish = finish(end, index(offset), position);
+        if (finish < 0) {
+            return fail(finish, position, error);
+        }
 
-        long encoded = AbstractPackedDateTime.encodeWithOffsetSeconds(0, 0, 0, time.hour, time.minute, time.second, time.nano, offsetSecond);
-        return PackedOffsetTime.valueOf(encoded);
+        return combine(0, fields(time), offsetIdOfMinutes(fields(offset)));
     }
 
-    private static void validateDate(String str, int yearStart, int year, int month, int day) {
-        if (month < 1 || month > 12) {
-            throw new DateTimeParseException("Month out of range", str, yearStart + 4 + 1);
+    /*
+     * Zoned date times are parsed as offset date time followed by an optional region in square brackets, known
+     * regions are resolved without allocation, other zone ids fall back to ZoneId.of.
+     */
+
+    static long tryParseZonedDateTimeToLong(CharSequence str, int start, int end, ParsePosition position, ParseError error) {
+        long date = parseDate(str, end, start);
+        if (date < 0) {
+            return fail(date, position, error);
         }
 
-        if (day < 1 || day > 31) {
-            throw new DateTimeParseException("Day out of range", str, yearStart + 9);
-        } else {
-            switch (month) {
-                case 2:
-                    if (!Year.isLeap(year) && day > 28 || day > 29) {
-                        throw new DateTimeParseException("Day out of range", str, yearStart + 9);
-                    }
-                    break;
-                case 4:
-                case 6:
-                case 9:
-                case 11:
-                    if (day > 30) {
-                        throw new DateTimeParseException("Day out of range", str, yearStart + 9);
-                    }
-                    break;
+        int i = index(date);
+        if (!is(str, end, i, 'T', ' ')) {
+            return fail(unexpected(end, i, 'T', ' '), position, error);
+        }
+
+        long time = parseTime(str, end, i + 1);
+        if (time < 0) {
+            return fail(time, position, error);
+        }
+
+        long offset = parseOffsetMinute(str, end, index(time));
+        if (offset < 0) {
+            return fail(offset, position, error);
+        }
+
+        long value = combine(fields(date), fields(time), offsetIdOfMinutes(fields(offset)));
+        int offsetSeconds = fields(offset) * 60;
+
+        i = index(offset);
+        if (is(str, end, i, ':')) {
+            // historical offsets with seconds
+            char sign = str.charAt(index(time));
+            if (sign == 'Z') {
+                return fail(error(ParseError.UNEXPECTED_CHARACTER, i, '['), position, error);
             }
+            int second = parse2(str, end, i + 1);
+            if (second < 0) {
+                return fail(digitsError(str, end, i + 1, 2), position, error);
+            }
+            if (second > 59) {
+                return fail(error(ParseError.OFFSET_OUT_OF_RANGE, i + 1), position, error);
+            }
+            offsetSeconds += sign == '-' ? -second : second;
+            if (Math.abs(offsetSeconds) > MAX_OFFSET_SECONDS) {
+                return fail(error(ParseError.OFFSET_OUT_OF_RANGE, index(time) + 1), position, error);
+            }
+            i += 3;
         }
-    }
 
-    private static void validateTime(String str, int timeStart, int hour, int minute, int second) {
-        if (hour > 23) {
-            throw new DateTimeParseException("Hour out of range", str, timeStart);
+        if (i >= end || str.charAt(i) != '[') {
+            long finish = finish(end, i, position);
+            if (finish < 0) {
+                return fail(finish, position, error);
+            }
+            return offsetSeconds % 60 == 0 ? PackedZonedDateTime.resolveOffset(value)
+                    : resolved(PackedZonedDateTime.resolve(value, offsetSeconds, ZoneOffset.ofTotalSeconds(offsetSeconds)), start, position, error);
         }
-        if (minute > 59) {
-            throw new DateTimeParseException("Minute out of range", str, timeStart + 3);
+
+        int regionStart = i + 1;
+        int regionEnd = regionStart;
+        while (regionEnd < end && str.charAt(regionEnd) != ']') {
+            regionEnd++;
+        }
+        if (regionEnd >= end) {
+            return fail(error(ParseError.END_OF_INPUT, end), position, error);
+        }
+
+        ZoneRegions.Region region = ZoneRegions.lookup(str, regionStart, regionEnd);
+        ZoneId zone = null;
+        if (region == null) {
+            zone = zoneOf(str.subSequence(regionStart, regionEnd).toString());
+            if (zone == null) {
+                return fail(error(ParseError.UNKNOWN_NAME, regionStart), position, error);
+            }
+        }
+
+        long finish = finish(end, regionEnd + 1, position);
+        if (finish < 0) {
+            return fail(finish, position, error);
+        }
+
+        long resolved = region != null ? PackedZonedDateTime.resolve(value, offsetSeconds, region)
+                : PackedZonedDateTime.resolve(value, offsetSeconds, zone);
+        return resolved(resolved, start, position, error);
+    }
+
+    private static final int MAX_OFFSET_SECONDS = AbstractPackedDateTime.MAX_OFFSET_MINUTES * 60;
+
+    /**
+     * Reports a resolved value outside of the supported year range, which can happen for the first or last day of
+     * that range when the offset in the region differs from the parsed one.
+     */
+    private static long resolved(long value, int start, ParsePosition position, ParseError error) {
+        if (value == INVALID) {
+            if (position != null) {
+                position.setIndex(start);
+            }
+            return fail(error(ParseError.YEAR_OUT_OF_RANGE, start), position, error);
         }
-        if (second > 59) {
-            throw new DateTimeParseException("Second out of range", str, timeStart + 6);
+        return value;
+    }
+
+    private static long resolved(long value, int start, ParseError error) {
+        if (value == INVALID) {
+            return fail(error(ParseError.YEAR_OUT_OF_RANGE, start), error, start);
         }
+        return value;
     }
 
-    private static int parseYear(String str, Index idx) {
-        return parse4(str, idx.postInc(4));
+    private static ZoneId zoneOf(String id) {
+        try {
+            return ZoneId.of(id);
+        } catch (DateTimeException e) {
+            return null;
+        }
     }
 
+    private static long finish(int end, int i, ParsePosition position) {
+        if (position != null) {
+            position.setIndex(i);
+        } else if (end > i) {
+            return error(ParseError.TRAILING_CHARACTERS, i);
+        }
+        return 0;
+    }
 
-    private static final int[] NANO_MULTIPLIER = {100_000_000, 10_000_000, 1_000_000};
+    private static final int[] MILLI_MULTIPLIER = {100, 10, 1};
 
-    private static int parseNano(String str, Index idx) {
-        int r = digit(str, idx.postInc());
-        int i;
+    private static long parseMilli(CharSequence str, int end, int start) {
+        if (start >= end || !isDigit(str.charAt(start))) {
+            return digitsError(str, end, start, 1);
+        }
+        int r = str.charAt(start) - '0';
+        int i = start + 1;
+        int digits = 1;
 
-        for (i = 1; i < 3 && idx.get() < str.length(); i++) {
-            int ch = str.charAt(idx.get());
+        for (; digits < 3 && i < end; digits++) {
+            int ch = str.charAt(i);
             if (ch >= '0' && ch <= '9') {
                 r = r * 10 + (ch - '0');
-                idx.inc();
+                i++;
             } else {
-                return r * NANO_MULTIPLIER[i-1];
+                break;
             }
         }
-        for (; i < 9 && idx.get() < str.length(); i++) {
-            int ch = str.charAt(idx.get());
+
+        if (digits == 3) {
+            // digits after millisecond precision are ignored
+            for (; digits < 9 && i < end; digits++) {
+                int ch = str.charAt(i);
+                if (ch >= '0' && ch <= '9') {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            return step(i, r);
+        }
+
+        return step(i, r * MILLI_MULTIPLIER[digits - 1]);
+    }
+
+    private static boolean isOffsetStart(CharSequence str, int end, int i) {
+        if (i < end) {
+            char ch = str.charAt(i);
+            return ch == 'Z' || ch == '+' || ch == '-';
+        }
+        return false;
+    }
+
+    private static long parseOffsetMinute(CharSequence str, int end, int start) {
+        if (start >= end) {
+            return error(ParseError.END_OF_INPUT, end);
+        }
+        char firstChar = str.charAt(start);
+        int i = start;
+        int offsetMinute;
+        if (firstChar == 'Z') {
+            i++;
+            offsetMinute = 0;
+        } else {
+            if (firstChar != '+' && firstChar != '-') {
+                return unexpected(end, start, '+', '-');
+            }
+            i++;
+            int offsetHour = parse2(str, end, i);
+            if (offsetHour < 0) {
+                return digitsError(str, end, i, 2);
+            }
+
+            if (offsetHour > 18) {
+                return error(ParseError.OFFSET_OUT_OF_RANGE, i);
+            }
+            i += 2;
+
+            if (i < end && str.charAt(i) == ':') {
+                i++;
+                int minute = parse2(str, end, i);
+                if (minute < 0) {
+                    return digitsError(str, end, i, 2);
+                }
+
+                if (minute > 59) {
+                    return error(ParseError.OFFSET_OUT_OF_RANGE, i);
+                }
+                i += 2;
+
+                offsetMinute = offsetHour * 60 + minute;
+            } else {
+                offsetMinute = offsetHour * 60;
+            }
+            if (offsetMinute > AbstractPackedDateTime.MAX_OFFSET_MINUTES) {
+                return error(ParseError.OFFSET_OUT_OF_RANGE, start + 1);
+            }
+            if (firstChar == '-') {
+                offsetMinute = -offsetMinute;
+            }
+        }
+        return step(i, offsetMinute);
+    }
+
+    /*
+     * Parsing of ASCII encoded bytes in the range from start (inclusive) to end (exclusive). Error indices
+     * are reported relative to start, which is also the beginning of the parsed text in the exception.
+     */
+
+    interface BytesParser {
+        long parse(byte[] buf, int start, int end, ParseError error);
+    }
+
+    private static final int SCRATCH_LENGTH = 64;
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[SCRATCH_LENGTH]);
+
+    static long parse(byte[] buf, int off, int len, BytesParser parser) {
+        checkBounds(off, len, buf.length);
+
+        return parseChecked(buf, off, off + len, parser);
+    }
+
+    static long parse(ByteBuffer buffer, int off, int len, BytesParser parser) {
+        checkBounds(off, len, buffer.limit());
+
+        if (buffer.hasArray()) {
+            int start = buffer.arrayOffset() + off;
+            return parseChecked(buffer.array(), start, start + len, parser);
+        } else {
+            // direct or read-only buffer, copy into a scratch array using absolute gets
+            byte[] buf = len <= SCRATCH_LENGTH ? SCRATCH.get() : new byte[len];
+            for (int i = 0; i < len; i++) {
+                buf[i] = buffer.get(off + i);
+            }
+            return parseChecked(buf, 0, len, parser);
+        }
+    }
+
+    static long tryParse(byte[] buf, int off, int len, ParseError error, BytesParser parser) {
+        checkBounds(off, len, buf.length);
+
+        return parser.parse(buf, off, off + len, error);
+    }
+
+    private static long parseChecked(byte[] buf, int start, int end, BytesParser parser) {
+        long value = parser.parse(buf, start, end, null);
+        if (value == INVALID) {
+            ParseError error = new ParseError();
+            parser.parse(buf, start, end, error);
+            throw error.toException(text(buf, start, end));
+        }
+        return value;
+    }
+
+    static void checkBounds(int off, int len, int length) {
+        if (off < 0 || len < 0 || off > length - len) {
+            throw new IndexOutOfBoundsException("Range [" + off + ", " + off + " + " + len + ") out of bounds for length " + length);
+        }
+    }
+
+    private static long parseDate(byte[] buf, int end, int start) {
+        int i = start;
+        boolean negative = i < end && buf[i] == '-';
+        if (negative) {
+            i++;
+        }
+
+        int year = parse4(buf, end, i);
+        if (year < 0) {
+            return digitsError(buf, end, i, 4);
+        }
+        if (negative) {
+            year = -year;
+        }
+        i += 4;
+
+        if (!is(buf, end, i, '-')) {
+            return unexpected(end, i, '-');
+        }
+
+        int month = parse2(buf, end, i + 1);
+        if (month < 0) {
+            return digitsError(buf, end, i + 1, 2);
+        }
+        if (!is(buf, end, i + 3, '-')) {
+            return unexpected(end, i + 3, '-');
+        }
+
+        int day = parse2(buf, end, i + 4);
+        if (day < 0) {
+            return digitsError(buf, end, i + 4, 2);
+        }
+
+        if (!isValidDate(year, month, day)) {
+            return invalidDate(i - 4, month);
+        }
+
+        return step(i + 6, packDate(year, month, day));
+    }
+
+    private static long parseTime(byte[] buf, int end, int start) {
+        int hour = parse2(buf, end, start);
+        if (hour < 0) {
+            return digitsError(buf, end, start, 2);
+        }
+        if (!is(buf, end, start + 2, ':')) {
+            return unexpected(end, start + 2, ':');
+        }
+
+        return parseTimeAfterHour(buf, end, start, hour);
+    }
+
+    private static long parseTimeAfterHour(byte[] buf, int end, int start, int hour) {
+        int minute = parse2(buf, end, start + 3);
+        if (minute < 0) {
+            return digitsError(buf, end, start + 3, 2);
+        }
+
+        int i = start + 5;
+        int second = 0, milli = 0;
+        if (i < end) {
+            byte ch = buf[i];
+            if (ch == '.') {
+                long fraction = parseMilli(buf, end, i + 1);
+                if (fraction < 0) {
+                    return fraction;
+                }
+                i = index(fraction);
+                milli = fields(fraction);
+            } else if (ch == ':') {
+                second = parse2(buf, end, i + 1);
+                if (second < 0) {
+                    return digitsError(buf, end, i + 1, 2);
+                }
+                i += 3;
+                if (i < end && buf[i] == '.') {
+                    long fraction = parseMilli(buf, end, i + 1);
+                    if (fraction < 0) {
+                        return fraction;
+                    }
+                    i = index(fraction);
+                    milli = fields(fraction);
+                }
+            }
+        }
+
+        if (!isValidTime(hour, minute, second)) {
+            return invalidTime(start, hour, minute);
+        }
+
+        return step(i, packTime(hour, minute, second, milli));
+    }
+
+    static long parseOffsetDateTimeToLong(byte[] buf, int start, int end) {
+        return parseChecked(buf, start, end, DateTimeParser::tryParseOffsetDateTimeToLong);
+    }
+
+    static long tryParseOffsetDateTimeToLong(byte[] buf, int start, int end, ParseError error) {
+        long value = SwarDateTimeParser.parseOffsetDateTime(buf, start, end);
+        if (value != SwarDateTimeParser.NO_MATCH) {
+            return value;
+        }
+        return tryParseOffsetDateTimeToLongScalar(buf, start, end, error);
+    }
+
+    static long parseOffsetDateTimeToLongScalar(byte[] buf, int start, int end) {
+        return parseChecked(buf, start, end, DateTimeParser::tryParseOffsetDateTimeToLongScalar);
+    }
+
+    static long tryParseOffsetDateTimeToLongScalar(byte[] buf, int start, int end, ParseError error) {
+        long date = parseDate(buf, end, start);
+        if (date < 0) {
+            return fail(date, error, start);
+        }
+
+        int i = index(date);
+        if (!is(buf, end, i, 'T', ' ')) {
+            return fail(unexpected(end, i, 'T', ' '), error, start);
+        }
+
+        long time = parseTime(buf, end, i + 1);
+        if (time < 0) {
+            return fail(time, error, start);
+        }
+
+        long offset = parseOffsetMinute(buf, end, index(time));
+        if (offset < 0) {
+            return fail(offset, error, start);
+        }
+
+        if (end > index(offset)) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, index(offset)), error, start);
+        }
+
+        return combine(fields(date), fields(time), offsetIdOfMinutes(fields(offset)));
+    }
+
+    static long tryParseLocalDateTimeToLong(byte[] buf, int start, int end, ParseError error) {
+        long value = SwarDateTimeParser.parseLocalDateTime(buf, start, end);
+        if (value != SwarDateTimeParser.NO_MATCH) {
+            return value;
+        }
+        return tryParseLocalDateTimeToLongScalar(buf, start, end, error);
+    }
+
+    static long parseLocalDateTimeToLongScalar(byte[] buf, int start, int end) {
+        return parseChecked(buf, start, end, DateTimeParser::tryParseLocalDateTimeToLongScalar);
+    }
+
+    static long tryParseLocalDateTimeToLongScalar(byte[] buf, int start, int end, ParseError error) {
+        long date = parseDate(buf, end, start);
+        if (date < 0) {
+            return fail(date, error, start);
+        }
+
+        int i = index(date);
+        if (!is(buf, end, i, 'T')) {
+            return fail(unexpected(end, i, 'T'), error, start);
+        }
+
+        long time = parseTime(buf, end, i + 1);
+        if (time < 0) {
+            return fail(time, error, start);
+        }
+
+        if (end > index(time)) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, index(time)), error, start);
+        }
+
+        return combine(fields(date), fields(time), 0);
+    }
+
+    static long tryParseOffsetDateTimeAfterPrefix(byte[] buf, int start, int end, int date, int hour, ParseError error) {
+        long time = parseTimeAfterHour(buf, end, start + 11, hour);
+        if (time < 0) {
+            return fail(time, error, start);
+        }
+
+        long offset = parseOffsetMinute(buf, end, index(time));
+        if (offset < 0) {
+            return fail(offset, error, start);
+        }
+
+        if (end > index(offset)) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, index(offset)), error, start);
+        }
+
+        return combine(date, fields(time), offsetIdOfMinutes(fields(offset)));
+    }
+
+    static long tryParseLocalDateTimeAfterPrefix(byte[] buf, int start, int end, int date, int hour, ParseError error) {
+        long time = parseTimeAfterHour(buf, end, start + 11, hour);
+        if (time < 0) {
+            return fail(time, error, start);
+        }
+
+        if (end > index(time)) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, index(time)), error, start);
+        }
+
+        return combine(date, fields(time), 0);
+    }
+
+    static long tryParseLocalDateToLong(byte[] buf, int start, int end, ParseError error) {
+        long date = parseDate(buf, end, start);
+        if (date < 0) {
+            return fail(date, error, start);
+        }
+
+        if (end > index(date)) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, index(date)), error, start);
+        }
+
+        return combine(fields(date), 0, 0);
+    }
+
+    static long tryParseLocalTimeToLong(byte[] buf, int start, int end, ParseError error) {
+        long time = parseTime(buf, end, start);
+        if (time < 0) {
+            return fail(time, error, start);
+        }
+
+        if (end > index(time)) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, index(time)), error, start);
+        }
+
+        return combine(0, fields(time), 0);
+    }
+
+    static long tryParseOffsetTimeToLong(byte[] buf, int start, int end, ParseError error) {
+        long time = parseTime(buf, end, start);
+        if (time < 0) {
+            return fail(time, error, start);
+        }
+
+        long offset = parseOffsetMinute(buf, end, index(time));
+        if (offset < 0) {
+            return fail(offset, error, start);
+        }
+
+        if (end > index(offset)) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, index(offset)), error, start);
+        }
+
+        return combine(0, fields(time), offsetIdOfMinutes(fields(offset)));
+    }
+
+    static long tryParseZonedDateTimeToLong(byte[] buf, int start, int end, ParseError error) {
+        long date = parseDate(buf, end, start);
+        if (date < 0) {
+            return fail(date, error, start);
+        }
+
+        int i = index(date);
+        if (!is(buf, end, i, 'T', ' ')) {
+            return fail(unexpected(end, i, 'T', ' '), error, start);
+        }
+
+        long time = parseTime(buf, end, i + 1);
+        if (time < 0) {
+            return fail(time, error, start);
+        }
+
+        long offset = parseOffsetMinute(buf, end, index(time));
+        if (offset < 0) {
+            return fail(offset, error, start);
+        }
+
+        long value = combine(fields(date), fields(time), offsetIdOfMinutes(fields(offset)));
+        int offsetSeconds = fields(offset) * 60;
+
+        i = index(offset);
+        if (is(buf, end, i, ':')) {
+            byte sign = buf[index(time)];
+            if (sign == 'Z') {
+                return fail(error(ParseError.UNEXPECTED_CHARACTER, i, '['), error, start);
+            }
+            int second = parse2(buf, end, i + 1);
+            if (second < 0) {
+                return fail(digitsError(buf, end, i + 1, 2), error, start);
+            }
+            if (second > 59) {
+                return fail(error(ParseError.OFFSET_OUT_OF_RANGE, i + 1), error, start);
+            }
+            offsetSeconds += sign == '-' ? -second : second;
+            if (Math.abs(offsetSeconds) > MAX_OFFSET_SECONDS) {
+                return fail(error(ParseError.OFFSET_OUT_OF_RANGE, index(time) + 1), error, start);
+            }
+            i += 3;
+        }
+
+        if (i >= end || buf[i] != '[') {
+            if (end > i) {
+                return fail(error(ParseError.TRAILING_CHARACTERS, i), error, start);
+            }
+            return offsetSeconds % 60 == 0 ? PackedZonedDateTime.resolveOffset(value)
+                    : resolved(PackedZonedDateTime.resolve(value, offsetSeconds, ZoneOffset.ofTotalSeconds(offsetSeconds)), start, error);
+        }
+
+        int regionStart = i + 1;
+        int regionEnd = regionStart;
+        while (regionEnd < end && buf[regionEnd] != ']') {
+            regionEnd++;
+        }
+        if (regionEnd >= end) {
+            return fail(error(ParseError.END_OF_INPUT, end), error, start);
+        }
+        if (end > regionEnd + 1) {
+            return fail(error(ParseError.TRAILING_CHARACTERS, regionEnd + 1), error, start);
+        }
+
+        ZoneRegions.Region region = ZoneRegions.lookup(buf, regionStart, regionEnd);
+        if (region != null) {
+            return resolved(PackedZonedDateTime.resolve(value, offsetSeconds, region), start, error);
+        }
+        ZoneId zone = zoneOf(new String(buf, regionStart, regionEnd - regionStart, StandardCharsets.ISO_8859_1));
+        if (zone == null) {
+            return fail(error(ParseError.UNKNOWN_NAME, regionStart), error, start);
+        }
+        return resolved(PackedZonedDateTime.resolve(value, offsetSeconds, zone), start, error);
+    }
+
+    private static long parseMilli(byte[] buf, int end, int start) {
+        if (start >= end || !isDigit(buf[start])) {
+            return digitsError(buf, end, start, 1);
+        }
+        int r = buf[start] - '0';
+        int i = start + 1;
+        int digits = 1;
+
+        for (; digits < 3 && i < end; digits++) {
+            int ch = buf[i];
             if (ch >= '0' && ch <= '9') {
-                idx.inc();
+                r = r * 10 + (ch - '0');
+                i++;
             } else {
                 break;
             }
         }
-        return r * NANO_MULTIPLIER[2];
+
+        if (digits == 3) {
+            // digits after millisecond precision are ignored
+            for (; digits < 9 && i < end; digits++) {
+                int ch = buf[i];
+                if (ch >= '0' && ch <= '9') {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            return step(i, r);
+        }
+
+        return step(i, r * MILLI_MULTIPLIER[digits - 1]);
     }
 
-    private static int parseOffsetMinute(String str, Index idx) {
-        int start = idx.get();
-        char firstChar = str.charAt(start);
-        int offsetSecond;
+    private static long parseOffsetMinute(byte[] buf, int end, int start) {
+        if (start >= end) {
+            return error(ParseError.END_OF_INPUT, end);
+        }
+        byte firstChar = buf[start];
+        int i = start;
+        int offsetMinute;
         if (firstChar == 'Z') {
-            idx.inc();
-            offsetSecond = 0;
-            if (str.length() > idx.get()) {
-                throw new DateTimeParseException("trailing characters after timezone", str, start);
-            }
+            i++;
+            offsetMinute = 0;
         } else {
-            expect(str, start, '+', '-');
-            idx.inc();
-            int offsetHour = parse2(str, idx.get());
+            if (firstChar != '+' && firstChar != '-') {
+                return unexpected(end, start, '+', '-');
+            }
+            i++;
+            int offsetHour = parse2(buf, end, i);
+            if (offsetHour < 0) {
+                return digitsError(buf, end, i, 2);
+            }
 
             if (offsetHour > 18) {
-                throw new DateTimeParseException("Timezone offset out of range", str, idx.get());
+                return error(ParseError.OFFSET_OUT_OF_RANGE, i);
             }
-            idx.inc(2);
+            i += 2;
 
-            int remaining = str.length() - idx.get();
-            if (remaining == 3) {
-                expect(str, idx.postInc(), ':');
-                int offsetMinute = parse2(str, idx.get());
+            if (i < end && buf[i] == ':') {
+                i++;
+                int minute = parse2(buf, end, i);
+                if (minute < 0) {
+                    return digitsError(buf, end, i, 2);
+                }
 
-                if (offsetMinute > 59) {
-                    throw new DateTimeParseException("Timezone offset out of range", str, idx.get());
+                if (minute > 59) {
+                    return error(ParseError.OFFSET_OUT_OF_RANGE, i);
                 }
-                idx.inc(2);
+                i += 2;
 
-                offsetSecond = offsetHour * 60 + offsetMinute;
-            } else if (remaining == 0) {
-                offsetSecond = offsetHour * 60;
+                offsetMinute = offsetHour * 60 + minute;
             } else {
-                throw new DateTimeParseException("invalid timezone offset", str, idx.get());
+                offsetMinute = offsetHour * 60;
+            }
+            if (offsetMinute > AbstractPackedDateTime.MAX_OFFSET_MINUTES) {
+                return error(ParseError.OFFSET_OUT_OF_RANGE, start + 1);
             }
             if (firstChar == '-') {
-                offsetSecond = -offsetSecond;
+                offsetMinute = -offsetMinute;
             }
         }
-        return offsetSecond;
+        return step(i, offsetMinute);
     }
 
-    private static int parse2(String str, int start) {
-        return digit(str, start) * 10 + digit(str, start + 1);
+    static boolean isValidDate(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        switch (month) {
+            case 2:
+                return day <= 28 || day == 29 && Year.isLeap(year);
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return day <= 30;
+            default:
+                return day <= 31;
+        }
     }
 
-    private static int parse3(String str, int milliStart) {
-        return digit(str, milliStart) * 100 + digit(str, milliStart + 1) * 10 + digit(str, milliStart + 2);
+    static boolean isValidTime(int hour, int minute, int second) {
+        return hour <= 23 && minute <= 59 && second <= 59;
     }
 
-    private static int parse4(String str, int start) {
-        return digit(str, start) * 1000 + digit(str, start + 1) * 100 + digit(str, start + 2) * 10 + digit(str, start + 3);
+    private static long invalidDate(int yearStart, int month) {
+        if (month < 1 || month > 12) {
+            return error(ParseError.MONTH_OUT_OF_RANGE, yearStart + 4 + 1);
+        } else {
+            return error(ParseError.DAY_OUT_OF_RANGE, yearStart + 9);
+        }
     }
 
-    private static void expect(String s, int i, char expected) {
-        char ch = s.charAt(i);
-        if (ch != expected) {
-            throw unexpected(s, i, ch, expected);
+    private static long invalidTime(int timeStart, int hour, int minute) {
+        if (hour > 23) {
+            return error(ParseError.HOUR_OUT_OF_RANGE, timeStart);
+        } else if (minute > 59) {
+            return error(ParseError.MINUTE_OUT_OF_RANGE, timeStart + 3);
+        } else {
+            return error(ParseError.SECOND_OUT_OF_RANGE, timeStart + 6);
         }
     }
 
-    private static void expect(String s, int i, char expected1, char expected2) {
-        char ch = s.charAt(i);
-        if (ch != expected1 && ch != expected2) {
-            throw unexpected(s, i, ch, expected1, expected2);
+    private static boolean isDigit(int ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    /*
+     * parse2 and parse4 return -1 if the input is too short or contains a non-digit, digitsError then
+     * determines the exact error on the slow path.
+     */
+
+    private static int parse2(CharSequence str, int end, int i) {
+        if (i > end - 2) {
+            return -1;
         }
+        int d0 = str.charAt(i) - '0';
+        int d1 = str.charAt(i + 1) - '0';
+        if (d0 < 0 || d0 > 9 || d1 < 0 || d1 > 9) {
+            return -1;
+        }
+        return d0 * 10 + d1;
     }
 
-    private static int digit(String s, int i) {
-        int ch = s.charAt(i);
-        if (ch >= '0' && ch <= '9') {
-            return ch - '0';
-        } else {
-            throw nonDigit(s, i);
+    private static int parse4(CharSequence str, int end, int i) {
+        int hi = parse2(str, end, i);
+        int lo = parse2(str, end, i + 2);
+        if ((hi | lo) < 0) {
+            return -1;
         }
+        return hi * 100 + lo;
     }
 
-    private static DateTimeParseException unexpected(String s, int i, char ch, char expected) {
-        return new DateTimeParseException("expected '" + expected + "' at index " + i + " but got '" + ch + "'", s, i);
+    private static long digitsError(CharSequence str, int end, int i, int count) {
+        for (int j = i; j < i + count; j++) {
+            if (j >= end) {
+                return error(ParseError.END_OF_INPUT, end);
+            }
+            if (!isDigit(str.charAt(j))) {
+                return error(ParseError.NOT_A_DIGIT, j);
+            }
+        }
+        throw new IllegalStateException("digits at index " + i + " are valid");
     }
 
-    private static DateTimeParseException unexpected(String s, int i, char ch, char expected1, char expected2) {
-        return new DateTimeParseException("expected either '" + expected1 + "' or '" + expected2 + "' at index " + i + " but got '" + ch + "'", s, i);
+    private static boolean is(CharSequence str, int end, int i, char expected) {
+        return i < end && str.charAt(i) == expected;
+    }
+
+    private static boolean is(CharSequence str, int end, int i, char expected1, char expected2) {
+        if (i < end) {
+            char ch = str.charAt(i);
+            return ch == expected1 || ch == expected2;
+        }
+        return false;
+    }
+
+    private static long unexpected(int end, int i, char expected) {
+        return i >= end ? error(ParseError.END_OF_INPUT, end) : error(ParseError.UNEXPECTED_CHARACTER, i, expected);
+    }
+
+    private static long unexpected(int end, int i, char expected1, char expected2) {
+        return i >= end ? error(ParseError.END_OF_INPUT, end) : error(ParseError.UNEXPECTED_CHARACTER, i, expected2 << 8 | expected1);
+    }
+
+    private static int parse2(byte[] buf, int end, int i) {
+        if (i > end - 2) {
+            return -1;
+        }
+        int d0 = buf[i] - '0';
+        int d1 = buf[i + 1] - '0';
+        if (d0 < 0 || d0 > 9 || d1 < 0 || d1 > 9) {
+            return -1;
+        }
+        return d0 * 10 + d1;
+    }
+
+    private static int parse4(byte[] buf, int end, int i) {
+        int hi = parse2(buf, end, i);
+        int lo = parse2(buf, end, i + 2);
+        if ((hi | lo) < 0) {
+            return -1;
+        }
+        return hi * 100 + lo;
+    }
+
+    private static long digitsError(byte[] buf, int end, int i, int count) {
+        for (int j = i; j < i + count; j++) {
+            if (j >= end) {
+                return error(ParseError.END_OF_INPUT, end);
+            }
+            if (!isDigit(buf[j])) {
+                return error(ParseError.NOT_A_DIGIT, j);
+            }
+        }
+        throw new IllegalStateException("digits at index " + i + " are valid");
+    }
+
+    private static boolean is(byte[] buf, int end, int i, char expected) {
+        return i < end && buf[i] == expected;
+    }
+
+    private static boolean is(byte[] buf, int end, int i, char expected1, char expected2) {
+        if (i < end) {
+            byte ch = buf[i];
+            return ch == expected1 || ch == expected2;
+        }
+        return false;
     }
 
-    private static DateTimeParseException nonDigit(String s, int i) {
-        return new DateTimeParseException("not a digit at index " + i, s, i);
+    private static String text(byte[] buf, int start, int end) {
+        return new String(buf, start, end - start, StandardCharsets.ISO_8859_1);
     }
 }
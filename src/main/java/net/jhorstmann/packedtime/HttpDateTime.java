@@ -0,0 +1,182 @@
+package net.jhorstmann.packedtime;
+
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.appendTwoDigits;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Parsing and formatting of {@link PackedOffsetDateTime} values in the fixed length layouts of RFC 1123 dates as
+ * used by HTTP headers, {@code Sun, 06 Nov 1994 08:49:37 GMT}, and the Common Log Format of access logs,
+ * {@code 10/Oct/2000:13:55:36 -0700}. Month and day of week names are english abbreviations, the day of week is
+ * required to be a valid name but not checked against the date.
+ * <p>
+ * Values with an offset other than UTC are converted to GMT when formatted as RFC 1123 date, the Common Log Format
+ * keeps the offset of the value. Only years from 0 to 9999 can be formatted.
+ *
+ * @see CachedHttpDateFormatter
+ */
+public class HttpDateTime {
+
+    static final int RFC_1123_LENGTH = 29;
+    static final int COMMON_LOG_LENGTH = 26;
+
+    private static final PackedTimeParser RFC_1123 = PackedTimeParser.ofPattern("EEE, dd MMM uuuu HH:mm:ss 'GMT'");
+    private static final PackedTimeParser COMMON_LOG = PackedTimeParser.ofPattern("dd/MMM/uuuu:HH:mm:ss xx");
+    // the rfc 1123 pattern has no offset element, so the offset bits of its values are 0
+    private static final int UTC_ID = AbstractPackedDateTime.offsetIdOfMinutes(0);
+
+    private HttpDateTime() {
+    }
+
+    public static PackedOffsetDateTime parseRfc1123(CharSequence text) {
+        return PackedOffsetDateTime.valueOf(parseRfc1123ToLong(text));
+    }
+
+    public static long parseRfc1123ToLong(CharSequence text) {
+        return RFC_1123.parseToLong(text) | UTC_ID;
+    }
+
+    public static long parseRfc1123ToLong(byte[] buf, int off, int len) {
+        return RFC_1123.parseToLong(buf, off, len) | UTC_ID;
+    }
+
+    public static long tryParseRfc1123ToLong(CharSequence text, ParseError error) {
+        long value = RFC_1123.tryParseToLong(text, error);
+        return value == ParseError.INVALID ? value : value | UTC_ID;
+    }
+
+    public static long tryParseRfc1123ToLong(byte[] buf, int off, int len, ParseError error) {
+        long value = RFC_1123.tryParseToLong(buf, off, len, error);
+        return value == ParseError.INVALID ? value : value | UTC_ID;
+    }
+
+    public static PackedOffsetDateTime parseCommonLog(CharSequence text) {
+        return PackedOffsetDateTime.valueOf(parseCommonLogToLong(text));
+    }
+
+    public static long parseCommonLogToLong(CharSequence text) {
+        return COMMON_LOG.parseToLong(text);
+    }
+
+    public static long parseCommonLogToLong(byte[] buf, int off, int len) {
+        return COMMON_LOG.parseToLong(buf, off, len);
+    }
+
+    public static long tryParseCommonLogToLong(CharSequence text, ParseError error) {
+        return COMMON_LOG.tryParseToLong(text, error);
+    }
+
+    public static long tryParseCommonLogToLong(byte[] buf, int off, int len, ParseError error) {
+        return COMMON_LOG.tryParseToLong(buf, off, len, error);
+    }
+
+    public static String formatRfc1123(long value) {
+        byte[] buf = new byte[RFC_1123_LENGTH];
+        formatRfc1123(value, buf, 0);
+        return new String(buf, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes the 29 bytes of the RFC 1123 date at {@code off} and returns the offset after it.
+     */
+    public static int formatRfc1123(long value, byte[] buf, int off) {
+        if (AbstractPackedDateTime.extractOffsetMinute(value) != 0) {
+            return formatRfc1123EpochSecond(PackedOffsetDateTime.valueOf(value).toEpochSeconds(), buf, off);
+        }
+        return writeRfc1123(buf, off,
+                AbstractPackedDateTime.extractYear(value),
+                AbstractPackedDateTime.extractMonth(value),
+                AbstractPackedDateTime.extractDay(value),
+                AbstractPackedDateTime.extractHour(value),
+                AbstractPackedDateTime.extractMinute(value),
+                AbstractPackedDateTime.extractSecond(value));
+    }
+
+    static int formatRfc1123EpochSecond(long epochSecond, byte[] buf, int off) {
+        LocalDateTime utc = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        return writeRfc1123(buf, off, utc.getYear(), utc.getMonthValue(), utc.getDayOfMonth(),
+                utc.getHour(), utc.getMinute(), utc.getSecond());
+    }
+
+    public static String formatCommonLog(long value) {
+        byte[] buf = new byte[COMMON_LOG_LENGTH];
+        formatCommonLog(value, buf, 0);
+        return new String(buf, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes the 26 bytes of the Common Log Format timestamp at {@code off} and returns the offset after it.
+     */
+    public static int formatCommonLog(long value, byte[] buf, int off) {
+        int year = AbstractPackedDateTime.extractYear(value);
+        checkYear(year);
+
+        int i = off;
+        i = appendTwoDigits(buf, i, AbstractPackedDateTime.extractDay(value));
+        buf[i++] = '/';
+        i = writeName(buf, i, DateTimeNames.MONTHS[AbstractPackedDateTime.extractMonth(value) - 1]);
+        buf[i++] = '/';
+        i = appendTwoDigits(buf, i, year / 100);
+        i = appendTwoDigits(buf, i, year % 100);
+        buf[i++] = ':';
+        i = appendTwoDigits(buf, i, AbstractPackedDateTime.extractHour(value));
+        buf[i++] = ':';
+        i = appendTwoDigits(buf, i, AbstractPackedDateTime.extractMinute(value));
+        buf[i++] = ':';
+        i = appendTwoDigits(buf, i, AbstractPackedDateTime.extractSecond(value));
+        buf[i++] = ' ';
+
+        int offsetMinute = AbstractPackedDateTime.extractOffsetMinute(value);
+        if (offsetMinute < 0) {
+            buf[i++] = '-';
+            offsetMinute = -offsetMinute;
+        } else {
+            buf[i++] = '+';
+        }
+        i = appendTwoDigits(buf, i, offsetMinute / 60);
+        i = appendTwoDigits(buf, i, offsetMinute % 60);
+        return i;
+    }
+
+    private static int writeRfc1123(byte[] buf, int i, int year, int month, int day, int hour, int minute, int second) {
+        checkYear(year);
+
+        i = writeName(buf, i, DateTimeNames.DAYS_OF_WEEK[DateTimeNames.dayOfWeek(year, month, day) - 1]);
+        buf[i++] = ',';
+        buf[i++] = ' ';
+        i = appendTwoDigits(buf, i, day);
+        buf[i++] = ' ';
+        i = writeName(buf, i, DateTimeNames.MONTHS[month - 1]);
+        buf[i++] = ' ';
+        i = appendTwoDigits(buf, i, year / 100);
+        i = appendTwoDigits(buf, i, year % 100);
+        buf[i++] = ' ';
+        i = appendTwoDigits(buf, i, hour);
+        buf[i++] = ':';
+        i = appendTwoDigits(buf, i, minute);
+        buf[i++] = ':';
+        i = appendTwoDigits(buf, i, second);
+        buf[i++] = ' ';
+        buf[i++] = 'G';
+        buf[i++] = 'M';
+        buf[i++] = 'T';
+        return i;
+    }
+
+    private static void checkYear(int year) {
+        if (year < 0 || year > 9999) {
+            throw new DateTimeException("Year " + year + " can not be formatted as four digits");
+        }
+    }
+
+    private static int writeName(byte[] buf, int i, String name) {
+        buf[i++] = (byte) name.charAt(0);
+        buf[i++] = (byte) name.charAt(1);
+        buf[i++] = (byte) name.charAt(2);
+        return i;
+    }
+
+}
@@ -0,0 +1,22 @@
+package net.jhorstmann.packedtime;
+
+/**
+ * Reads multiple bytes of an array as one little endian word. On Java 9 and newer this class is replaced by a
+ * version using a byte array view {@code VarHandle} from the multi-release part of the jar.
+ */
+class LittleEndian {
+
+    private LittleEndian() {
+    }
+
+    static long getLong(byte[] buf, int i) {
+        return (buf[i] & 0xFFL)
+                | (buf[i + 1] & 0xFFL) << 8
+                | (buf[i + 2] & 0xFFL) << 16
+                | (buf[i + 3] & 0xFFL) << 24
+                | (buf[i + 4] & 0xFFL) << 32
+                | (buf[i + 5] & 0xFFL) << 40
+                | (buf[i + 6] & 0xFFL) << 48
+                | (buf[i + 7] & 0xFFL) << 56;
+    }
+}
@@ -0,0 +1,192 @@
+package net.jhorstmann.packedtime;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.MAX_OFFSET_MINUTES;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.MILLIS_PER_DAY;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.TIME_SHIFT;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.offsetIdOfSeconds;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packDateOfEpochDay;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packTimeOfMillis;
+
+/**
+ * Source of the current time as packed {@link PackedOffsetDateTime} values and as text in the format
+ * {@code yyyy-MM-ddTHH:mm:ss.SSS+hh:mm} of log files, with millisecond precision and a fixed length.
+ * <p>
+ * The civil date is only calculated when the local day changes, the time fields are derived from the milliseconds
+ * of the day. The formatted text up to the fraction and the offset are rendered once per second, formatting again
+ * within the same second only copies them and writes the milliseconds.
+ * <p>
+ * Instances are thread-safe, the per-second cache is replaced as a whole and concurrent threads at a second
+ * boundary at worst render the same second more than once.
+ */
+public final class PackedClock {
+
+    private static final PackedTimeFormatter FORMATTER = PackedTimeFormatter.ISO_OFFSET_DATE_TIME.withFractionDigits(3).withAlwaysSeconds(true).withZulu(false);
+
+    static final class Day {
+        final long epochDay;
+        final int packedDate;
+
+        Day(long epochDay) {
+            this.epochDay = epochDay;
+            this.packedDate = packDateOfEpochDay(epochDay);
+        }
+    }
+
+    private static final class Second {
+        final long epochSecond;
+        // packed value at the start of the second
+        final long value;
+        final char[] prefix;
+        final byte[] prefixBytes;
+        final char[] suffix;
+        final byte[] suffixBytes;
+
+        Second(long epochSecond, long value) {
+            this.epochSecond = epochSecond;
+            this.value = value;
+
+            String text = FORMATTER.format(value);
+            int fraction = text.indexOf('.') + 1;
+            String prefix = text.substring(0, fraction);
+            String suffix = text.substring(fraction + 3);
+            this.prefix = prefix.toCharArray();
+            this.prefixBytes = prefix.getBytes(StandardCharsets.ISO_8859_1);
+            this.suffix = suffix.toCharArray();
+            this.suffixBytes = suffix.getBytes(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    // current day of the static now methods per offset in minutes, indexed like the offset ids. Days are immutable
+    // and published through their final fields, a racing thread at most calculates the same day again.
+    static final Day[] DAYS = new Day[2 * MAX_OFFSET_MINUTES + 1];
+
+    private final Clock clock;
+    private volatile Day day;
+    private volatile Second second;
+
+    private PackedClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public static PackedClock systemUTC() {
+        return new PackedClock(Clock.systemUTC());
+    }
+
+    public static PackedClock system(ZoneOffset offset) {
+        return new PackedClock(Clock.system(offset));
+    }
+
+    /**
+     * Uses the milliseconds and the offsets of the zone of the given clock.
+     */
+    public static PackedClock of(Clock clock) {
+        return new PackedClock(clock);
+    }
+
+    public PackedOffsetDateTime now() {
+        return PackedOffsetDateTime.valueOf(nowToLong());
+    }
+
+    public long nowToLong() {
+        long epochMillis = clock.millis();
+        return second(epochMillis).value | Math.floorMod(epochMillis, 1000L) << TIME_SHIFT;
+    }
+
+    public String format() {
+        char[] buf = new char[FORMATTER.getMaxLength()];
+        int len = format(buf, 0);
+        return new String(buf, 0, len);
+    }
+
+    /**
+     * Writes the current time at {@code off} and returns the offset after it.
+     */
+    public int format(char[] buf, int off) {
+        long epochMillis = clock.millis();
+        Second second = second(epochMillis);
+        int milli = (int) Math.floorMod(epochMillis, 1000L);
+
+        char[] prefix = second.prefix;
+        System.arraycopy(prefix, 0, buf, off, prefix.length);
+        int i = off + prefix.length;
+        buf[i++] = (char) ('0' + milli / 100);
+        i = AbstractPackedDateTime.appendTwoDigits(buf, i, milli % 100);
+        char[] suffix = second.suffix;
+        System.arraycopy(suffix, 0, buf, i, suffix.length);
+        return i + suffix.length;
+    }
+
+    /**
+     * Writes the current time as latin-1 or utf-8 encoded bytes at {@code off} and returns the offset after it.
+     */
+    public int format(byte[] buf, int off) {
+        long epochMillis = clock.millis();
+        Second second = second(epochMillis);
+        int milli = (int) Math.floorMod(epochMillis, 1000L);
+
+        byte[] prefix = second.prefixBytes;
+        System.arraycopy(prefix, 0, buf, off, prefix.length);
+        int i = off + prefix.length;
+        buf[i++] = (byte) ('0' + milli / 100);
+        i = AbstractPackedDateTime.appendTwoDigits(buf, i, milli % 100);
+        byte[] suffix = second.suffixBytes;
+        System.arraycopy(suffix, 0, buf, i, suffix.length);
+        return i + suffix.length;
+    }
+
+    private Second second(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        Second second = this.second;
+        if (second == null || second.epochSecond != epochSecond) {
+            int offsetSeconds = offsetSeconds(clock, epochMillis);
+            long localMillis = epochSecond * 1000L + offsetSeconds * 1000L;
+            Day day = day(this.day, Math.floorDiv(localMillis, MILLIS_PER_DAY));
+            this.day = day;
+            second = new Second(epochSecond, combine(day, localMillis, offsetIdOfSeconds(offsetSeconds)));
+            this.second = second;
+        }
+        return second;
+    }
+
+    static int offsetSeconds(Clock clock, long epochMillis) {
+        ZoneRules rules = clock.getZone().getRules();
+        ZoneOffset offset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : rules.getOffset(Instant.ofEpochMilli(epochMillis));
+        return offset.getTotalSeconds();
+    }
+
+    /**
+     * Packs the local date and time of the instant at the given offset, the offset bits are set to {@code offsetId},
+     * which is 0 for local date times.
+     */
+    static long toPackedValue(long epochMillis, int offsetSeconds, int offsetId) {
+        long localMillis = epochMillis + offsetSeconds * 1000L;
+        long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+
+        Day day;
+        if (offsetSeconds % 60 == 0) {
+            int index = offsetSeconds / 60 + MAX_OFFSET_MINUTES;
+            day = day(DAYS[index], epochDay);
+            DAYS[index] = day;
+        } else {
+            // historical offsets with seconds are not worth caching
+            day = new Day(epochDay);
+        }
+
+        return combine(day, localMillis, offsetId);
+    }
+
+    private static Day day(Day day, long epochDay) {
+        return day != null && day.epochDay == epochDay ? day : new Day(epochDay);
+    }
+
+    private static long combine(Day day, long localMillis, int offsetId) {
+        int millisOfDay = (int) Math.floorMod(localMillis, MILLIS_PER_DAY);
+        return AbstractPackedDateTime.combine(day.packedDate, packTimeOfMillis(millisOfDay), offsetId);
+    }
+}
@@ -1,5 +1,7 @@
 package net.jhorstmann.packedtime;
 
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
 import java.time.LocalDate;
 
 public class PackedLocalDate extends AbstractPackedDateTime {
@@ -18,10 +20,70 @@ public class PackedLocalDate extends AbstractPackedDateTime {
                 0, 0, 0, 0, 0));
     }
 
+    /**
+     * Creates the packed value of the date, the civil fields are calculated in closed form without creating a
+     * {@link LocalDate}.
+     */
+    public static PackedLocalDate fromEpochDay(long epochDay) {
+        return new PackedLocalDate(fromEpochDayToLong(epochDay));
+    }
+
+    public static long fromEpochDayToLong(long epochDay) {
+        return combine(packDateOfEpochDay(epochDay), 0, 0);
+    }
+
     public static PackedLocalDate parse(String str) {
         return DateTimeParser.parseLocalDate(str);
     }
 
+    public static long parseToLong(String str) {
+        return DateTimeParser.parseLocalDateToLong(str);
+    }
+
+    public static PackedLocalDate parse(CharSequence text, int start, int end) {
+        return valueOf(parseToLong(text, start, end));
+    }
+
+    public static long parseToLong(CharSequence text, int start, int end) {
+        return DateTimeParser.parse(text, start, end, DateTimeParser::tryParseLocalDateToLong);
+    }
+
+    public static PackedLocalDate parse(CharSequence text, ParsePosition position) {
+        return valueOf(parseToLong(text, position));
+    }
+
+    public static long parseToLong(CharSequence text, ParsePosition position) {
+        return DateTimeParser.parse(text, position, DateTimeParser::tryParseLocalDateToLong);
+    }
+
+    public static PackedLocalDate parse(byte[] buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(byte[] buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseLocalDateToLong);
+    }
+
+    public static PackedLocalDate parse(ByteBuffer buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(ByteBuffer buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseLocalDateToLong);
+    }
+
+    public static long tryParseToLong(CharSequence text) {
+        return tryParseToLong(text, null);
+    }
+
+    public static long tryParseToLong(CharSequence text, ParseError error) {
+        return DateTimeParser.tryParse(text, error, DateTimeParser::tryParseLocalDateToLong);
+    }
+
+    public static long tryParseToLong(byte[] buf, int off, int len, ParseError error) {
+        return DateTimeParser.tryParse(buf, off, len, error, DateTimeParser::tryParseLocalDateToLong);
+    }
+
     public static LocalDate toLocalDate(long value) {
         return valueOf(value).toLocalDate();
     }
@@ -30,6 +92,88 @@ public class PackedLocalDate extends AbstractPackedDateTime {
         return LocalDate.of(extractYear(), extractMonth(), extractDay());
     }
 
+    public static long toEpochDay(long value) {
+        return epochDay(extractYear(value), extractMonth(value), extractDay(value));
+    }
+
+    /**
+     * Days since 1970-01-01, calculated from the packed fields without creating a {@link LocalDate}.
+     */
+    public long toEpochDay() {
+        return extractEpochDay();
+    }
+
+    public static long plusDays(long value, long days) {
+        return AbstractPackedDateTime.plusDays(value, days);
+    }
+
+    public static long minusDays(long value, long days) {
+        return plusDays(value, Math.negateExact(days));
+    }
+
+    public PackedLocalDate plusDays(long days) {
+        return new PackedLocalDate(plusDays(getValue(), days));
+    }
+
+    public PackedLocalDate minusDays(long days) {
+        return new PackedLocalDate(minusDays(getValue(), days));
+    }
+
+    /**
+     * Adds months to a packed value, the day is clamped to the last valid day of the resulting month.
+     */
+    public static long plusMonths(long value, long months) {
+        return AbstractPackedDateTime.plusMonths(value, months);
+    }
+
+    public static long minusMonths(long value, long months) {
+        return plusMonths(value, Math.negateExact(months));
+    }
+
+    public PackedLocalDate plusMonths(long months) {
+        return new PackedLocalDate(plusMonths(getValue(), months));
+    }
+
+    public PackedLocalDate minusMonths(long months) {
+        return new PackedLocalDate(minusMonths(getValue(), months));
+    }
+
+    public static long withYear(long value, int year) {
+        return AbstractPackedDateTime.withYear(value, year);
+    }
+
+    public PackedLocalDate withYear(int year) {
+        return new PackedLocalDate(withYear(getValue(), year));
+    }
+
+    public static long withMonth(long value, int month) {
+        return AbstractPackedDateTime.withMonth(value, month);
+    }
+
+    public PackedLocalDate withMonth(int month) {
+        return new PackedLocalDate(withMonth(getValue(), month));
+    }
+
+    public static long withDay(long value, int day) {
+        return AbstractPackedDateTime.withDay(value, day);
+    }
+
+    public PackedLocalDate withDay(int day) {
+        return new PackedLocalDate(withDay(getValue(), day));
+    }
+
+    /**
+     * Days from {@code start} to {@code end}, negative if {@code end} is earlier. Dates in the same month only
+     * subtract the days.
+     */
+    public static long daysBetween(long start, long end) {
+        return AbstractPackedDateTime.daysBetween(start, end);
+    }
+
+    public long daysUntil(PackedLocalDate end) {
+        return daysBetween(getValue(), end.getValue());
+    }
+
     public int getYear() {
         return extractYear();
     }
@@ -42,12 +186,27 @@ public class PackedLocalDate extends AbstractPackedDateTime {
         return extractDay();
     }
 
+    @Override
+    boolean hasTime() {
+        return false;
+    }
+
     public String toString() {
         char[] buf = new char[16];
 
-        int len = appendDate(buf, 0);
+        int len = formatTo(buf, 0);
 
         return new String(buf, 0, len);
     }
 
+    @Override
+    public int formatTo(char[] buf, int off) {
+        return appendDate(buf, off);
+    }
+
+    @Override
+    public int formatTo(byte[] buf, int off) {
+        return appendDate(buf, off);
+    }
+
 }
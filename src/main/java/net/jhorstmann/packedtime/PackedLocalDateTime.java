@@ -1,6 +1,12 @@
 package net.jhorstmann.packedtime;
 
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 
 public class PackedLocalDateTime extends AbstractPackedDateTime {
     private PackedLocalDateTime(long value) {
@@ -22,10 +28,111 @@ public class PackedLocalDateTime extends AbstractPackedDateTime {
                 0));
     }
 
+    /**
+     * Creates the packed value of the local date time at the given offset, like
+     * {@link LocalDateTime#ofEpochSecond(long, int, ZoneOffset)} but truncated to milliseconds.
+     */
+    public static PackedLocalDateTime fromEpochSecond(long epochSecond, int nanoOfSecond, ZoneOffset offset) {
+        return new PackedLocalDateTime(fromEpochSecondToLong(epochSecond, nanoOfSecond, offset));
+    }
+
+    public static long fromEpochSecondToLong(long epochSecond, int nanoOfSecond, ZoneOffset offset) {
+        return encodeEpochSecond(epochSecond, nanoOfSecond, offset.getTotalSeconds(), 0);
+    }
+
+    public static PackedLocalDateTime fromEpochMillis(long epochMillis, ZoneOffset offset) {
+        return new PackedLocalDateTime(fromEpochMillisToLong(epochMillis, offset));
+    }
+
+    public static long fromEpochMillisToLong(long epochMillis, ZoneOffset offset) {
+        return encodeEpochMillis(epochMillis, offset.getTotalSeconds(), 0);
+    }
+
+    public static PackedLocalDateTime fromInstant(Instant instant, ZoneOffset offset) {
+        return new PackedLocalDateTime(fromInstantToLong(instant, offset));
+    }
+
+    public static long fromInstantToLong(Instant instant, ZoneOffset offset) {
+        return encodeEpochSecond(instant.getEpochSecond(), instant.getNano(), offset.getTotalSeconds(), 0);
+    }
+
+    public static PackedLocalDateTime now() {
+        return now(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Current local time of the system clock at the given offset, the civil date is only calculated again when the
+     * day changes.
+     */
+    public static PackedLocalDateTime now(ZoneOffset offset) {
+        return valueOf(nowToLong(offset));
+    }
+
+    public static long nowToLong(ZoneOffset offset) {
+        return PackedClock.toPackedValue(System.currentTimeMillis(), offset.getTotalSeconds(), 0);
+    }
+
+    public static PackedLocalDateTime now(Clock clock) {
+        return valueOf(nowToLong(clock));
+    }
+
+    public static long nowToLong(Clock clock) {
+        long epochMillis = clock.millis();
+        return PackedClock.toPackedValue(epochMillis, PackedClock.offsetSeconds(clock, epochMillis), 0);
+    }
+
     public static PackedLocalDateTime parse(String str) {
         return DateTimeParser.parseLocalDateTime(str);
     }
 
+    public static long parseToLong(String str) {
+        return DateTimeParser.parseLocalDateTimeToLong(str);
+    }
+
+    public static PackedLocalDateTime parse(CharSequence text, int start, int end) {
+        return valueOf(parseToLong(text, start, end));
+    }
+
+    public static long parseToLong(CharSequence text, int start, int end) {
+        return DateTimeParser.parse(text, start, end, DateTimeParser::tryParseLocalDateTimeToLong);
+    }
+
+    public static PackedLocalDateTime parse(CharSequence text, ParsePosition position) {
+        return valueOf(parseToLong(text, position));
+    }
+
+    public static long parseToLong(CharSequence text, ParsePosition position) {
+        return DateTimeParser.parse(text, position, DateTimeParser::tryParseLocalDateTimeToLong);
+    }
+
+    public static PackedLocalDateTime parse(byte[] buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(byte[] buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseLocalDateTimeToLong);
+    }
+
+    public static PackedLocalDateTime parse(ByteBuffer buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(ByteBuffer buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseLocalDateTimeToLong);
+    }
+
+    public static long tryParseToLong(CharSequence text) {
+        return tryParseToLong(text, null);
+    }
+
+    public static long tryParseToLong(CharSequence text, ParseError error) {
+        return DateTimeParser.tryParse(text, error, DateTimeParser::tryParseLocalDateTimeToLong);
+    }
+
+    public static long tryParseToLong(byte[] buf, int off, int len, ParseError error) {
+        return DateTimeParser.tryParse(buf, off, len, error, DateTimeParser::tryParseLocalDateTimeToLong);
+    }
+
     public static LocalDateTime toLocalDateTime(long value) {
         return valueOf(value).toLocalDateTime();
     }
@@ -35,6 +142,178 @@ public class PackedLocalDateTime extends AbstractPackedDateTime {
                 extractHour(), extractMinute(), extractSecond(), extractNano());
     }
 
+    public long toEpochSeconds(ZoneOffset offset) {
+        return extractEpochDay() * 86_400L + extractSecondOfDay() - offset.getTotalSeconds();
+    }
+
+    public long toEpochMillis(ZoneOffset offset) {
+        return toEpochSeconds(offset) * 1000 + extractMilli();
+    }
+
+    /**
+     * Adds seconds to a packed value, carrying into minutes, hours and the date only when needed.
+     * The result is the same as {@link java.time.LocalDateTime#plusSeconds(long)}.
+     */
+    public static long plusSeconds(long value, long seconds) {
+        return AbstractPackedDateTime.plusSeconds(value, seconds);
+    }
+
+    public static long minusSeconds(long value, long seconds) {
+        return plusSeconds(value, Math.negateExact(seconds));
+    }
+
+    public PackedLocalDateTime plusSeconds(long seconds) {
+        return new PackedLocalDateTime(plusSeconds(getValue(), seconds));
+    }
+
+    public PackedLocalDateTime minusSeconds(long seconds) {
+        return new PackedLocalDateTime(minusSeconds(getValue(), seconds));
+    }
+
+    public static long plusMinutes(long value, long minutes) {
+        return AbstractPackedDateTime.plusSeconds(value, Math.multiplyExact(minutes, 60L));
+    }
+
+    public static long minusMinutes(long value, long minutes) {
+        return plusMinutes(value, Math.negateExact(minutes));
+    }
+
+    public PackedLocalDateTime plusMinutes(long minutes) {
+        return new PackedLocalDateTime(plusMinutes(getValue(), minutes));
+    }
+
+    public PackedLocalDateTime minusMinutes(long minutes) {
+        return new PackedLocalDateTime(minusMinutes(getValue(), minutes));
+    }
+
+    public static long plusDays(long value, long days) {
+        return AbstractPackedDateTime.plusDays(value, days);
+    }
+
+    public static long minusDays(long value, long days) {
+        return plusDays(value, Math.negateExact(days));
+    }
+
+    public PackedLocalDateTime plusDays(long days) {
+        return new PackedLocalDateTime(plusDays(getValue(), days));
+    }
+
+    public PackedLocalDateTime minusDays(long days) {
+        return new PackedLocalDateTime(minusDays(getValue(), days));
+    }
+
+    /**
+     * Adds months to a packed value, the day is clamped to the last valid day of the resulting month.
+     */
+    public static long plusMonths(long value, long months) {
+        return AbstractPackedDateTime.plusMonths(value, months);
+    }
+
+    public static long minusMonths(long value, long months) {
+        return plusMonths(value, Math.negateExact(months));
+    }
+
+    public PackedLocalDateTime plusMonths(long months) {
+        return new PackedLocalDateTime(plusMonths(getValue(), months));
+    }
+
+    public PackedLocalDateTime minusMonths(long months) {
+        return new PackedLocalDateTime(minusMonths(getValue(), months));
+    }
+
+    public static long withYear(long value, int year) {
+        return AbstractPackedDateTime.withYear(value, year);
+    }
+
+    public PackedLocalDateTime withYear(int year) {
+        return new PackedLocalDateTime(withYear(getValue(), year));
+    }
+
+    public static long withMonth(long value, int month) {
+        return AbstractPackedDateTime.withMonth(value, month);
+    }
+
+    public PackedLocalDateTime withMonth(int month) {
+        return new PackedLocalDateTime(withMonth(getValue(), month));
+    }
+
+    public static long withDay(long value, int day) {
+        return AbstractPackedDateTime.withDay(value, day);
+    }
+
+    public PackedLocalDateTime withDay(int day) {
+        return new PackedLocalDateTime(withDay(getValue(), day));
+    }
+
+    public static long withHour(long value, int hour) {
+        return AbstractPackedDateTime.withHour(value, hour);
+    }
+
+    public PackedLocalDateTime withHour(int hour) {
+        return new PackedLocalDateTime(withHour(getValue(), hour));
+    }
+
+    public static long withMinute(long value, int minute) {
+        return AbstractPackedDateTime.withMinute(value, minute);
+    }
+
+    public PackedLocalDateTime withMinute(int minute) {
+        return new PackedLocalDateTime(withMinute(getValue(), minute));
+    }
+
+    public static long withSecond(long value, int second) {
+        return AbstractPackedDateTime.withSecond(value, second);
+    }
+
+    public PackedLocalDateTime withSecond(int second) {
+        return new PackedLocalDateTime(withSecond(getValue(), second));
+    }
+
+    public static long withMilli(long value, int milli) {
+        return AbstractPackedDateTime.withMilli(value, milli);
+    }
+
+    public PackedLocalDateTime withMilli(int milli) {
+        return new PackedLocalDateTime(withMilli(getValue(), milli));
+    }
+
+    /**
+     * Clears the fields smaller than the unit, for example {@code truncatedTo(ChronoUnit.HOURS)} for hourly buckets.
+     *
+     * @throws java.time.temporal.UnsupportedTemporalTypeException if the unit is larger than {@link ChronoUnit#DAYS}
+     */
+    public static long truncatedTo(long value, ChronoUnit unit) {
+        return AbstractPackedDateTime.truncatedTo(value, unit);
+    }
+
+    public PackedLocalDateTime truncatedTo(ChronoUnit unit) {
+        return new PackedLocalDateTime(truncatedTo(getValue(), unit));
+    }
+
+    /**
+     * Milliseconds from {@code start} to {@code end} assuming both are at the same offset, negative if {@code end}
+     * is earlier. Values on the same date only subtract the time fields.
+     */
+    public static long millisBetween(long start, long end) {
+        return localMillisBetween(start, end);
+    }
+
+    /**
+     * Complete seconds from {@code start} to {@code end} assuming both are at the same offset, like
+     * {@link java.time.temporal.ChronoUnit#SECONDS}{@code .between}.
+     */
+    public static long secondsBetween(long start, long end) {
+        return localMillisBetween(start, end) / 1000;
+    }
+
+    public long untilMillis(PackedLocalDateTime end) {
+        return millisBetween(getValue(), end.getValue());
+    }
+
+    public long untilSeconds(PackedLocalDateTime end) {
+        return secondsBetween(getValue(), end.getValue());
+    }
+
     public int getYear() {
         return extractYear();
     }
@@ -69,7 +348,28 @@ public class PackedLocalDateTime extends AbstractPackedDateTime {
 
     public String toString() {
         char[] buf = new char[32];
-        int i = 0;
+
+        int len = formatTo(buf, 0);
+
+        return new String(buf, 0, len);
+    }
+
+    @Override
+    public int formatTo(char[] buf, int off) {
+        int i = off;
+
+        i = appendDate(buf, i);
+
+        buf[i++] = 'T';
+
+        i = appendTime(buf, i);
+
+        return i;
+    }
+
+    @Override
+    public int formatTo(byte[] buf, int off) {
+        int i = off;
 
         i = appendDate(buf, i);
 
@@ -77,7 +377,7 @@ public class PackedLocalDateTime extends AbstractPackedDateTime {
 
         i = appendTime(buf, i);
 
-        return new String(buf, 0, i);
+        return i;
     }
 
 
@@ -1,6 +1,9 @@
 package net.jhorstmann.packedtime;
 
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 
 public class PackedLocalTime extends AbstractPackedDateTime {
     PackedLocalTime(long value) {
@@ -24,6 +27,54 @@ public class PackedLocalTime extends AbstractPackedDateTime {
         return DateTimeParser.parseLocalTime(str);
     }
 
+    public static long parseToLong(String str) {
+        return DateTimeParser.parseLocalTimeToLong(str);
+    }
+
+    public static PackedLocalTime parse(CharSequence text, int start, int end) {
+        return valueOf(parseToLong(text, start, end));
+    }
+
+    public static long parseToLong(CharSequence text, int start, int end) {
+        return DateTimeParser.parse(text, start, end, DateTimeParser::tryParseLocalTimeToLong);
+    }
+
+    public static PackedLocalTime parse(CharSequence text, ParsePosition position) {
+        return valueOf(parseToLong(text, position));
+    }
+
+    public static long parseToLong(CharSequence text, ParsePosition position) {
+        return DateTimeParser.parse(text, position, DateTimeParser::tryParseLocalTimeToLong);
+    }
+
+    public static PackedLocalTime parse(byte[] buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(byte[] buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseLocalTimeToLong);
+    }
+
+    public static PackedLocalTime parse(ByteBuffer buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(ByteBuffer buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseLocalTimeToLong);
+    }
+
+    public static long tryParseToLong(CharSequence text) {
+        return tryParseToLong(text, null);
+    }
+
+    public static long tryParseToLong(CharSequence text, ParseError error) {
+        return DateTimeParser.tryParse(text, error, DateTimeParser::tryParseLocalTimeToLong);
+    }
+
+    public static long tryParseToLong(byte[] buf, int off, int len, ParseError error) {
+        return DateTimeParser.tryParse(buf, off, len, error, DateTimeParser::tryParseLocalTimeToLong);
+    }
+
     public static LocalTime toLocalTime(long value) {
         return valueOf(value).toLocalTime();
     }
@@ -32,6 +83,86 @@ public class PackedLocalTime extends AbstractPackedDateTime {
         return LocalTime.of(extractHour(), extractMinute(), extractSecond(), extractNano());
     }
 
+    /**
+     * Adds seconds to a packed value, wrapping around midnight.
+     */
+    public static long plusSeconds(long value, long seconds) {
+        return AbstractPackedDateTime.plusSecondsOfDay(value, seconds);
+    }
+
+    public static long minusSeconds(long value, long seconds) {
+        return plusSeconds(value, Math.negateExact(seconds));
+    }
+
+    public PackedLocalTime plusSeconds(long seconds) {
+        return new PackedLocalTime(plusSeconds(getValue(), seconds));
+    }
+
+    public PackedLocalTime minusSeconds(long seconds) {
+        return new PackedLocalTime(minusSeconds(getValue(), seconds));
+    }
+
+    public static long plusMinutes(long value, long minutes) {
+        return AbstractPackedDateTime.plusSecondsOfDay(value, Math.floorMod(minutes, 1440L) * 60);
+    }
+
+    public static long minusMinutes(long value, long minutes) {
+        return plusMinutes(value, Math.negateExact(minutes));
+    }
+
+    public PackedLocalTime plusMinutes(long minutes) {
+        return new PackedLocalTime(plusMinutes(getValue(), minutes));
+    }
+
+    public PackedLocalTime minusMinutes(long minutes) {
+        return new PackedLocalTime(minusMinutes(getValue(), minutes));
+    }
+
+    public static long withHour(long value, int hour) {
+        return AbstractPackedDateTime.withHour(value, hour);
+    }
+
+    public PackedLocalTime withHour(int hour) {
+        return new PackedLocalTime(withHour(getValue(), hour));
+    }
+
+    public static long withMinute(long value, int minute) {
+        return AbstractPackedDateTime.withMinute(value, minute);
+    }
+
+    public PackedLocalTime withMinute(int minute) {
+        return new PackedLocalTime(withMinute(getValue(), minute));
+    }
+
+    public static long withSecond(long value, int second) {
+        return AbstractPackedDateTime.withSecond(value, second);
+    }
+
+    public PackedLocalTime withSecond(int second) {
+        return new PackedLocalTime(withSecond(getValue(), second));
+    }
+
+    public static long withMilli(long value, int milli) {
+        return AbstractPackedDateTime.withMilli(value, milli);
+    }
+
+    public PackedLocalTime withMilli(int milli) {
+        return new PackedLocalTime(withMilli(getValue(), milli));
+    }
+
+    /**
+     * Clears the fields smaller than the unit, for example {@code truncatedTo(ChronoUnit.HOURS)} for hourly buckets.
+     *
+     * @throws java.time.temporal.UnsupportedTemporalTypeException if the unit is larger than {@link ChronoUnit#DAYS}
+     */
+    public static long truncatedTo(long value, ChronoUnit unit) {
+        return AbstractPackedDateTime.truncatedTo(value, unit);
+    }
+
+    public PackedLocalTime truncatedTo(ChronoUnit unit) {
+        return new PackedLocalTime(truncatedTo(getValue(), unit));
+    }
+
     public int getHour() {
         return extractHour();
     }
@@ -52,12 +183,27 @@ public class PackedLocalTime extends AbstractPackedDateTime {
         return extractNano();
     }
 
+    @Override
+    boolean hasDate() {
+        return false;
+    }
+
     public String toString() {
         char[] buf = new char[16];
 
-        int len = appendTime(buf, 0);
+        int len = formatTo(buf, 0);
 
         return new String(buf, 0, len);
     }
 
+    @Override
+    public int formatTo(char[] buf, int off) {
+        return appendTime(buf, off);
+    }
+
+    @Override
+    public int formatTo(byte[] buf, int off) {
+        return appendTime(buf, off);
+    }
+
 }
@@ -1,6 +1,9 @@
 package net.jhorstmann.packedtime;
 
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
 import java.time.*;
+import java.time.temporal.ChronoUnit;
 
 public class PackedOffsetDateTime extends AbstractPackedDateTime {
 
@@ -24,6 +27,54 @@ public class PackedOffsetDateTime extends AbstractPackedDateTime {
                 offsetDateTime.getOffset().getTotalSeconds()));
     }
 
+    /**
+     * Creates the packed value of the instant at the given offset, the civil fields are calculated in closed form
+     * without creating an {@link OffsetDateTime}.
+     */
+    public static PackedOffsetDateTime fromEpochMillis(long epochMillis, int offsetSeconds) {
+        return new PackedOffsetDateTime(fromEpochMillisToLong(epochMillis, offsetSeconds));
+    }
+
+    public static long fromEpochMillisToLong(long epochMillis, int offsetSeconds) {
+        return encodeEpochMillis(epochMillis, offsetSeconds, offsetIdOfSeconds(offsetSeconds));
+    }
+
+    public static PackedOffsetDateTime fromInstant(Instant instant, ZoneOffset offset) {
+        return new PackedOffsetDateTime(fromInstantToLong(instant, offset));
+    }
+
+    public static long fromInstantToLong(Instant instant, ZoneOffset offset) {
+        int offsetSeconds = offset.getTotalSeconds();
+        return encodeEpochSecond(instant.getEpochSecond(), instant.getNano(), offsetSeconds, offsetIdOfSeconds(offsetSeconds));
+    }
+
+    public static PackedOffsetDateTime now() {
+        return now(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Current time of the system clock at the given offset, the civil date is only calculated again when the day
+     * changes.
+     */
+    public static PackedOffsetDateTime now(ZoneOffset offset) {
+        return valueOf(nowToLong(offset));
+    }
+
+    public static long nowToLong(ZoneOffset offset) {
+        int offsetSeconds = offset.getTotalSeconds();
+        return PackedClock.toPackedValue(System.currentTimeMillis(), offsetSeconds, offsetIdOfSeconds(offsetSeconds));
+    }
+
+    public static PackedOffsetDateTime now(Clock clock) {
+        return valueOf(nowToLong(clock));
+    }
+
+    public static long nowToLong(Clock clock) {
+        long epochMillis = clock.millis();
+        int offsetSeconds = PackedClock.offsetSeconds(clock, epochMillis);
+        return PackedClock.toPackedValue(epochMillis, offsetSeconds, offsetIdOfSeconds(offsetSeconds));
+    }
+
     public static PackedOffsetDateTime parse(String str) {
         return DateTimeParser.parseOffsetDateTime(str);
     }
@@ -36,6 +87,90 @@ public class PackedOffsetDateTime extends AbstractPackedDateTime {
         return DateTimeParser.parseOffsetDateTimeWithDefaultZone(str, zone);
     }
 
+    public static long parseToLong(String str) {
+        return DateTimeParser.parseOffsetDateTimeToLong(str);
+    }
+
+    public static PackedOffsetDateTime parse(CharSequence text, int start, int end) {
+        return valueOf(parseToLong(text, start, end));
+    }
+
+    public static long parseToLong(CharSequence text, int start, int end) {
+        return DateTimeParser.parse(text, start, end, DateTimeParser::tryParseOffsetDateTimeToLong);
+    }
+
+    public static PackedOffsetDateTime parse(CharSequence text, ParsePosition position) {
+        return valueOf(parseToLong(text, position));
+    }
+
+    public static long parseToLong(CharSequence text, ParsePosition position) {
+        return DateTimeParser.parse(text, position, DateTimeParser::tryParseOffsetDateTimeToLong);
+    }
+
+    public static PackedOffsetDateTime parse(byte[] buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(byte[] buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseOffsetDateTimeToLong);
+    }
+
+    public static PackedOffsetDateTime parse(ByteBuffer buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(ByteBuffer buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseOffsetDateTimeToLong);
+    }
+
+    public static long tryParseToLong(CharSequence text) {
+        return tryParseToLong(text, null);
+    }
+
+    public static long tryParseToLong(CharSequence text, ParseError error) {
+        return DateTimeParser.tryParse(text, error, DateTimeParser::tryParseOffsetDateTimeToLong);
+    }
+
+    public static long tryParseToLong(byte[] buf, int off, int len, ParseError error) {
+        return DateTimeParser.tryParse(buf, off, len, error, DateTimeParser::tryParseOffsetDateTimeToLong);
+    }
+
+    public static long parseToLongWithDefaultUTC(String str) {
+        return DateTimeParser.parseOffsetDateTimeWithDefaultOffsetToLong(str, 0);
+    }
+
+    public static long parseToLongWithDefaultZone(String str, ZoneId zone) {
+        return DateTimeParser.parseOffsetDateTimeWithDefaultZoneToLong(str, zone);
+    }
+
+    /**
+     * Writes the instant at the given offset in the same format as {@link #toString()} and returns the offset after
+     * it, without creating a packed or {@code java.time} object.
+     */
+    public static int formatEpochMillis(long epochMillis, int offsetSeconds, char[] buf, int off) {
+        long value = encodeEpochMillis(epochMillis, offsetSeconds, offsetIdOfSeconds(offsetSeconds));
+        return PackedTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(value, buf, off);
+    }
+
+    /**
+     * Writes the instant at the given offset as latin-1 or utf-8 encoded bytes and returns the offset after it.
+     */
+    public static int formatEpochMillis(long epochMillis, int offsetSeconds, byte[] buf, int off) {
+        long value = encodeEpochMillis(epochMillis, offsetSeconds, offsetIdOfSeconds(offsetSeconds));
+        return PackedTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(value, buf, off);
+    }
+
+    /**
+     * Parses a date time with offset and returns the milliseconds since the epoch.
+     */
+    public static long parseToEpochMillis(CharSequence text) {
+        return epochMillis(parseToLong(text, 0, text.length()));
+    }
+
+    public static long parseToEpochMillis(byte[] buf, int off, int len) {
+        return epochMillis(parseToLong(buf, off, len));
+    }
+
     public static OffsetDateTime toOffsetDateTime(long value) {
         return valueOf(value).toOffsetDateTime();
     }
@@ -47,6 +182,169 @@ public class PackedOffsetDateTime extends AbstractPackedDateTime {
                 offset);
     }
 
+    /**
+     * Adds seconds to a packed value, carrying into minutes, hours and the date only when needed.
+     * The offset is kept, the result is the same local date time as adding in {@code java.time}.
+     */
+    public static long plusSeconds(long value, long seconds) {
+        return AbstractPackedDateTime.plusSeconds(value, seconds);
+    }
+
+    public static long minusSeconds(long value, long seconds) {
+        return plusSeconds(value, Math.negateExact(seconds));
+    }
+
+    public PackedOffsetDateTime plusSeconds(long seconds) {
+        return new PackedOffsetDateTime(plusSeconds(getValue(), seconds));
+    }
+
+    public PackedOffsetDateTime minusSeconds(long seconds) {
+        return new PackedOffsetDateTime(minusSeconds(getValue(), seconds));
+    }
+
+    public static long plusMinutes(long value, long minutes) {
+        return AbstractPackedDateTime.plusSeconds(value, Math.multiplyExact(minutes, 60L));
+    }
+
+    public static long minusMinutes(long value, long minutes) {
+        return plusMinutes(value, Math.negateExact(minutes));
+    }
+
+    public PackedOffsetDateTime plusMinutes(long minutes) {
+        return new PackedOffsetDateTime(plusMinutes(getValue(), minutes));
+    }
+
+    public PackedOffsetDateTime minusMinutes(long minutes) {
+        return new PackedOffsetDateTime(minusMinutes(getValue(), minutes));
+    }
+
+    public static long plusDays(long value, long days) {
+        return AbstractPackedDateTime.plusDays(value, days);
+    }
+
+    public static long minusDays(long value, long days) {
+        return plusDays(value, Math.negateExact(days));
+    }
+
+    public PackedOffsetDateTime plusDays(long days) {
+        return new PackedOffsetDateTime(plusDays(getValue(), days));
+    }
+
+    public PackedOffsetDateTime minusDays(long days) {
+        return new PackedOffsetDateTime(minusDays(getValue(), days));
+    }
+
+    /**
+     * Adds months to a packed value, the day is clamped to the last valid day of the resulting month.
+     */
+    public static long plusMonths(long value, long months) {
+        return AbstractPackedDateTime.plusMonths(value, months);
+    }
+
+    public static long minusMonths(long value, long months) {
+        return plusMonths(value, Math.negateExact(months));
+    }
+
+    public PackedOffsetDateTime plusMonths(long months) {
+        return new PackedOffsetDateTime(plusMonths(getValue(), months));
+    }
+
+    public PackedOffsetDateTime minusMonths(long months) {
+        return new PackedOffsetDateTime(minusMonths(getValue(), months));
+    }
+
+    public static long withYear(long value, int year) {
+        return AbstractPackedDateTime.withYear(value, year);
+    }
+
+    public PackedOffsetDateTime withYear(int year) {
+        return new PackedOffsetDateTime(withYear(getValue(), year));
+    }
+
+    public static long withMonth(long value, int month) {
+        return AbstractPackedDateTime.withMonth(value, month);
+    }
+
+    public PackedOffsetDateTime withMonth(int month) {
+        return new PackedOffsetDateTime(withMonth(getValue(), month));
+    }
+
+    public static long withDay(long value, int day) {
+        return AbstractPackedDateTime.withDay(value, day);
+    }
+
+    public PackedOffsetDateTime withDay(int day) {
+        return new PackedOffsetDateTime(withDay(getValue(), day));
+    }
+
+    public static long withHour(long value, int hour) {
+        return AbstractPackedDateTime.withHour(value, hour);
+    }
+
+    public PackedOffsetDateTime withHour(int hour) {
+        return new PackedOffsetDateTime(withHour(getValue(), hour));
+    }
+
+    public static long withMinute(long value, int minute) {
+        return AbstractPackedDateTime.withMinute(value, minute);
+    }
+
+    public PackedOffsetDateTime withMinute(int minute) {
+        return new PackedOffsetDateTime(withMinute(getValue(), minute));
+    }
+
+    public static long withSecond(long value, int second) {
+        return AbstractPackedDateTime.withSecond(value, second);
+    }
+
+    public PackedOffsetDateTime withSecond(int second) {
+        return new PackedOffsetDateTime(withSecond(getValue(), second));
+    }
+
+    public static long withMilli(long value, int milli) {
+        return AbstractPackedDateTime.withMilli(value, milli);
+    }
+
+    public PackedOffsetDateTime withMilli(int milli) {
+        return new PackedOffsetDateTime(withMilli(getValue(), milli));
+    }
+
+    /**
+     * Replaces the offset and keeps the local fields.
+     */
+    public static long withOffset(long value, ZoneOffset offset) {
+        return withOffsetSeconds(value, offset.getTotalSeconds());
+    }
+
+    public PackedOffsetDateTime withOffset(ZoneOffset offset) {
+        return new PackedOffsetDateTime(withOffset(getValue(), offset));
+    }
+
+    /**
+     * Clears the fields smaller than the unit, for example {@code truncatedTo(ChronoUnit.HOURS)} for hourly buckets.
+     *
+     * @throws java.time.temporal.UnsupportedTemporalTypeException if the unit is larger than {@link ChronoUnit#DAYS}
+     */
+    public static long truncatedTo(long value, ChronoUnit unit) {
+        return AbstractPackedDateTime.truncatedTo(value, unit);
+    }
+
+    public PackedOffsetDateTime truncatedTo(ChronoUnit unit) {
+        return new PackedOffsetDateTime(truncatedTo(getValue(), unit));
+    }
+
+    /**
+     * Milliseconds from {@code start} to {@code end}, negative if {@code end} is earlier. Values with the same date
+     * and offset only subtract the time fields.
+     */
+    public static long millisBetween(long start, long end) {
+        return localMillisBetween(start, end) - (extractOffsetMinute(end) - extractOffsetMinute(start)) * 60_000L;
+    }
+
+    public long untilMillis(PackedOffsetDateTime end) {
+        return millisBetween(getValue(), end.getValue());
+    }
+
     public int getYear() {
         return extractYear();
     }
@@ -84,26 +382,53 @@ public class PackedOffsetDateTime extends AbstractPackedDateTime {
     }
 
     public long toEpochSeconds() {
-        long epochDay = LocalDate.of(extractYear(), extractMonth(), extractDay()).toEpochDay();
-
-        long seconds = epochDay * 24 * 60 * 60;
-
-        seconds += extractHour() * 60 * 60;
-        seconds += extractMinute() * 60;
-        seconds += extractSecond();
-
-        seconds -= getOffsetSecond();
-
-        return seconds;
+        return extractEpochDay() * 86_400L + extractSecondOfDay() - getOffsetSecond();
     }
 
     public long toEpochMillis() {
         return toEpochSeconds() * 1000 + extractMilli();
     }
 
+    public static long toEpochMillis(long value) {
+        return epochMillis(value);
+    }
+
+    @Override
+    boolean hasOffset() {
+        return true;
+    }
+
     public String toString() {
         char[] buf = new char[32];
-        int i = 0;
+
+        int len = formatTo(buf, 0);
+
+        return new String(buf, 0, len);
+    }
+
+    @Override
+    public int formatTo(char[] buf, int off) {
+        int i = off;
+
+        i = appendDate(buf, i);
+
+        buf[i++] = 'T';
+
+        i = appendTime(buf, i);
+
+        int offsetMinute = extractOffsetMinute();
+        if (offsetMinute == 0) {
+            buf[i++] = 'Z';
+        } else {
+            i = appendOffsetMinute(offsetMinute, buf, i);
+        }
+
+        return i;
+    }
+
+    @Override
+    public int formatTo(byte[] buf, int off) {
+        int i = off;
 
         i = appendDate(buf, i);
 
@@ -118,7 +443,7 @@ public class PackedOffsetDateTime extends AbstractPackedDateTime {
             i = appendOffsetMinute(offsetMinute, buf, i);
         }
 
-        return new String(buf, 0, i);
+        return i;
     }
 
 
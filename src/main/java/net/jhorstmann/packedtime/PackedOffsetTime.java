@@ -1,7 +1,10 @@
 package net.jhorstmann.packedtime;
 
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 
 public class PackedOffsetTime extends AbstractPackedDateTime {
     private PackedOffsetTime(long value) {
@@ -25,6 +28,54 @@ public class PackedOffsetTime extends AbstractPackedDateTime {
         return DateTimeParser.parseOffsetTime(str);
     }
 
+    public static long parseToLong(String str) {
+        return DateTimeParser.parseOffsetTimeToLong(str);
+    }
+
+    public static PackedOffsetTime parse(CharSequence text, int start, int end) {
+        return valueOf(parseToLong(text, start, end));
+    }
+
+    public static long parseToLong(CharSequence text, int start, int end) {
+        return DateTimeParser.parse(text, start, end, DateTimeParser::tryParseOffsetTimeToLong);
+    }
+
+    public static PackedOffsetTime parse(CharSequence text, ParsePosition position) {
+        return valueOf(parseToLong(text, position));
+    }
+
+    public static long parseToLong(CharSequence text, ParsePosition position) {
+        return DateTimeParser.parse(text, position, DateTimeParser::tryParseOffsetTimeToLong);
+    }
+
+    public static PackedOffsetTime parse(byte[] buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(byte[] buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseOffsetTimeToLong);
+    }
+
+    public static PackedOffsetTime parse(ByteBuffer buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(ByteBuffer buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseOffsetTimeToLong);
+    }
+
+    public static long tryParseToLong(CharSequence text) {
+        return tryParseToLong(text, null);
+    }
+
+    public static long tryParseToLong(CharSequence text, ParseError error) {
+        return DateTimeParser.tryParse(text, error, DateTimeParser::tryParseOffsetTimeToLong);
+    }
+
+    public static long tryParseToLong(byte[] buf, int off, int len, ParseError error) {
+        return DateTimeParser.tryParse(buf, off, len, error, DateTimeParser::tryParseOffsetTimeToLong);
+    }
+
     public static OffsetTime toOffsetTime(long value) {
         return valueOf(value).toOffsetTime();
     }
@@ -34,6 +85,97 @@ public class PackedOffsetTime extends AbstractPackedDateTime {
         return OffsetTime.of(extractHour(), extractMinute(), extractSecond(), extractNano(), offset);
     }
 
+    /**
+     * Adds seconds to a packed value, wrapping around midnight.
+     */
+    public static long plusSeconds(long value, long seconds) {
+        return AbstractPackedDateTime.plusSecondsOfDay(value, seconds);
+    }
+
+    public static long minusSeconds(long value, long seconds) {
+        return plusSeconds(value, Math.negateExact(seconds));
+    }
+
+    public PackedOffsetTime plusSeconds(long seconds) {
+        return new PackedOffsetTime(plusSeconds(getValue(), seconds));
+    }
+
+    public PackedOffsetTime minusSeconds(long seconds) {
+        return new PackedOffsetTime(minusSeconds(getValue(), seconds));
+    }
+
+    public static long plusMinutes(long value, long minutes) {
+        return AbstractPackedDateTime.plusSecondsOfDay(value, Math.floorMod(minutes, 1440L) * 60);
+    }
+
+    public static long minusMinutes(long value, long minutes) {
+        return plusMinutes(value, Math.negateExact(minutes));
+    }
+
+    public PackedOffsetTime plusMinutes(long minutes) {
+        return new PackedOffsetTime(plusMinutes(getValue(), minutes));
+    }
+
+    public PackedOffsetTime minusMinutes(long minutes) {
+        return new PackedOffsetTime(minusMinutes(getValue(), minutes));
+    }
+
+    public static long withHour(long value, int hour) {
+        return AbstractPackedDateTime.withHour(value, hour);
+    }
+
+    public PackedOffsetTime withHour(int hour) {
+        return new PackedOffsetTime(withHour(getValue(), hour));
+    }
+
+    public static long withMinute(long value, int minute) {
+        return AbstractPackedDateTime.withMinute(value, minute);
+    }
+
+    public PackedOffsetTime withMinute(int minute) {
+        return new PackedOffsetTime(withMinute(getValue(), minute));
+    }
+
+    public static long withSecond(long value, int second) {
+        return AbstractPackedDateTime.withSecond(value, second);
+    }
+
+    public PackedOffsetTime withSecond(int second) {
+        return new PackedOffsetTime(withSecond(getValue(), second));
+    }
+
+    public static long withMilli(long value, int milli) {
+        return AbstractPackedDateTime.withMilli(value, milli);
+    }
+
+    public PackedOffsetTime withMilli(int milli) {
+        return new PackedOffsetTime(withMilli(getValue(), milli));
+    }
+
+    /**
+     * Replaces the offset and keeps the local fields.
+     */
+    public static long withOffset(long value, ZoneOffset offset) {
+        return withOffsetSeconds(value, offset.getTotalSeconds());
+    }
+
+    public PackedOffsetTime withOffset(ZoneOffset offset) {
+        return new PackedOffsetTime(withOffset(getValue(), offset));
+    }
+
+    /**
+     * Clears the fields smaller than the unit, for example {@code truncatedTo(ChronoUnit.HOURS)} for hourly buckets.
+     *
+     * @throws java.time.temporal.UnsupportedTemporalTypeException if the unit is larger than {@link ChronoUnit#DAYS}
+     */
+    public static long truncatedTo(long value, ChronoUnit unit) {
+        return AbstractPackedDateTime.truncatedTo(value, unit);
+    }
+
+    public PackedOffsetTime truncatedTo(ChronoUnit unit) {
+        return new PackedOffsetTime(truncatedTo(getValue(), unit));
+    }
+
     public int getHour() {
         return extractHour();
     }
@@ -62,11 +204,45 @@ public class PackedOffsetTime extends AbstractPackedDateTime {
         return extractOffsetSecond();
     }
 
+    @Override
+    boolean hasDate() {
+        return false;
+    }
+
+    @Override
+    boolean hasOffset() {
+        return true;
+    }
+
     public String toString() {
         char[] buf = new char[20];
+
+        int len = formatTo(buf, 0);
+
+        return new String(buf, 0, len);
+    }
+
+    @Override
+    public int formatTo(char[] buf, int off) {
+        int i;
+
+        i = appendTime(buf, off);
+
+        int offsetMinute = extractOffsetMinute();
+        if (offsetMinute == 0) {
+            buf[i++] = 'Z';
+        } else {
+            i = appendOffsetMinute(offsetMinute, buf, i);
+        }
+
+        return i;
+    }
+
+    @Override
+    public int formatTo(byte[] buf, int off) {
         int i;
 
-        i = appendTime(buf, 0);
+        i = appendTime(buf, off);
 
         int offsetMinute = extractOffsetMinute();
         if (offsetMinute == 0) {
@@ -75,7 +251,7 @@ public class PackedOffsetTime extends AbstractPackedDateTime {
             i = appendOffsetMinute(offsetMinute, buf, i);
         }
 
-        return new String(buf, 0, i);
+        return i;
     }
 
 }
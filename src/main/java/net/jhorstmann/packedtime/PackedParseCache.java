@@ -0,0 +1,172 @@
+package net.jhorstmann.packedtime;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded cache of parse results for inputs that repeat the exact same text, like events with second resolution or
+ * batch imports where many records share a timestamp. Each input is hashed to a single slot, if the slot holds the
+ * same characters or bytes the packed value is returned without parsing, otherwise the input is parsed and replaces
+ * the previous entry of the slot.
+ * <p>
+ * Slots hold immutable entries of the complete input and its value, which are safely published through their final
+ * fields without any locking. A lookup always compares the whole input, colliding inputs are never mistaken for
+ * each other. Invalid input is not cached and throws the same exception as the parse method of the packed type.
+ */
+public final class PackedParseCache {
+
+    private interface BytesParser {
+        long parseToLong(byte[] buf, int off, int len);
+    }
+
+    private static final class Entry {
+        // exactly one of text and bytes is set, depending on the method that parsed the input
+        final String text;
+        final byte[] bytes;
+        final long value;
+
+        Entry(String text, byte[] bytes, long value) {
+            this.text = text;
+            this.bytes = bytes;
+            this.value = value;
+        }
+    }
+
+    private final ToLongFunction<String> textParser;
+    private final BytesParser bytesParser;
+    private final Entry[] entries;
+    private final int shift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private PackedParseCache(int capacity, ToLongFunction<String> textParser, BytesParser bytesParser) {
+        int bits = PackedStringCache.indexBits(capacity);
+        this.textParser = textParser;
+        this.bytesParser = bytesParser;
+        this.entries = new Entry[1 << bits];
+        this.shift = 64 - bits;
+    }
+
+    public static PackedParseCache forOffsetDateTime(int capacity) {
+        return new PackedParseCache(capacity, PackedOffsetDateTime::parseToLong, PackedOffsetDateTime::parseToLong);
+    }
+
+    public static PackedParseCache forLocalDateTime(int capacity) {
+        return new PackedParseCache(capacity, PackedLocalDateTime::parseToLong, PackedLocalDateTime::parseToLong);
+    }
+
+    public static PackedParseCache forLocalDate(int capacity) {
+        return new PackedParseCache(capacity, PackedLocalDate::parseToLong, PackedLocalDate::parseToLong);
+    }
+
+    public static PackedParseCache forZonedDateTime(int capacity) {
+        return new PackedParseCache(capacity, PackedZonedDateTime::parseToLong, PackedZonedDateTime::parseToLong);
+    }
+
+    public static PackedParseCache forParser(int capacity, PackedTimeParser parser) {
+        return new PackedParseCache(capacity, parser::parseToLong, parser::parseToLong);
+    }
+
+    public long parseToLong(String text) {
+        int index = PackedStringCache.index(text.hashCode(), shift);
+        Entry entry = entries[index];
+        if (entry != null && entry.text != null && entry.text.equals(text)) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        long value = textParser.applyAsLong(text);
+        entries[index] = new Entry(text, null, value);
+        return value;
+    }
+
+    public long parseToLong(byte[] buf, int off, int len) {
+        DateTimeParser.checkBounds(off, len, buf.length);
+
+        int index = PackedStringCache.index(hash(buf, off, len), shift);
+        Entry entry = entries[index];
+        if (entry != null && entry.bytes != null && matches(entry.bytes, buf, off, len)) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        long value = bytesParser.parseToLong(buf, off, len);
+        byte[] bytes = new byte[len];
+        System.arraycopy(buf, off, bytes, 0, len);
+        entries[index] = new Entry(null, bytes, value);
+        return value;
+    }
+
+    /**
+     * Hashes the input in little endian words, the last word overlaps the previous one if the length is not a
+     * multiple of 8.
+     */
+    private static long hash(byte[] buf, int off, int len) {
+        if (len < 8) {
+            long hash = 0;
+            for (int i = off; i < off + len; i++) {
+                hash = 31 * hash + (buf[i] & 0xFF);
+            }
+            return hash;
+        }
+        long hash = len;
+        int last = off + len - 8;
+        for (int i = off; i < last; i += 8) {
+            hash = (hash + LittleEndian.getLong(buf, i)) * 0x9E3779B97F4A7C15L;
+        }
+        return hash + LittleEndian.getLong(buf, last);
+    }
+
+    private static boolean matches(byte[] bytes, byte[] buf, int off, int len) {
+        if (bytes.length != len) {
+            return false;
+        }
+        if (len < 8) {
+            for (int i = 0; i < len; i++) {
+                if (bytes[i] != buf[off + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        int last = len - 8;
+        for (int i = 0; i < last; i += 8) {
+            if (LittleEndian.getLong(bytes, i) != LittleEndian.getLong(buf, off + i)) {
+                return false;
+            }
+        }
+        return LittleEndian.getLong(bytes, last) == LittleEndian.getLong(buf, off + last);
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Fraction of lookups since creation or the last {@link #clear()} that were answered from the cache.
+     */
+    public double getHitRatio() {
+        long hits = this.hits.sum();
+        long total = hits + misses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+        hits.reset();
+        misses.reset();
+    }
+}
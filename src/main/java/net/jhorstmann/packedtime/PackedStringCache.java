@@ -0,0 +1,119 @@
+package net.jhorstmann.packedtime;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded cache of formatted strings for values that are formatted repeatedly, like the days or hours used as
+ * buckets of a report. The cache is direct-mapped, each packed value has exactly one slot determined by a hash of
+ * the value and a colliding value replaces the previous entry, so lookups and updates are a single array access.
+ * <p>
+ * Slots hold immutable entries of the packed value and its string, which are safely published through their final
+ * fields without any locking. Concurrent threads might format the same value more than once or overwrite each
+ * others entries, but never observe a string for a different value.
+ * <p>
+ * Caching only pays off if the number of distinct values is small compared to the capacity, otherwise most lookups
+ * are misses that format the value anyway, see {@link #getHitCount()} and {@link #getMissCount()}.
+ */
+public final class PackedStringCache {
+
+    private static final class Entry {
+        final long value;
+        final String text;
+
+        Entry(long value, String text) {
+            this.value = value;
+            this.text = text;
+        }
+    }
+
+    private final LongFunction<String> formatter;
+    private final Entry[] entries;
+    private final int shift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache with room for at least {@code capacity} strings produced by the given formatter, the capacity
+     * is rounded up to a power of two.
+     */
+    public PackedStringCache(int capacity, LongFunction<String> formatter) {
+        int bits = indexBits(capacity);
+        this.formatter = formatter;
+        this.entries = new Entry[1 << bits];
+        this.shift = 64 - bits;
+    }
+
+    /**
+     * Number of bits needed to index a table of at least {@code capacity} slots, shared with {@link PackedParseCache}.
+     */
+    static int indexBits(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        // at least one bit since shifting a long by 64 is a no-op
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(capacity - 1));
+    }
+
+    /**
+     * Fibonacci hashing, the upper bits of the product depend on all bits of the hash.
+     */
+    static int index(long hash, int shift) {
+        return (int) ((hash * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    public static PackedStringCache forLocalDate(int capacity) {
+        return new PackedStringCache(capacity, value -> PackedLocalDate.valueOf(value).toString());
+    }
+
+    public static PackedStringCache forLocalDateTime(int capacity) {
+        return new PackedStringCache(capacity, PackedTimeFormatter.ISO_LOCAL_DATE_TIME::format);
+    }
+
+    public static PackedStringCache forOffsetDateTime(int capacity) {
+        return new PackedStringCache(capacity, PackedTimeFormatter.ISO_OFFSET_DATE_TIME::format);
+    }
+
+    public static PackedStringCache forFormatter(int capacity, PackedTimeFormatter formatter) {
+        return new PackedStringCache(capacity, formatter::format);
+    }
+
+    /**
+     * Returns the cached string for the packed value, or formats and caches it.
+     */
+    public String format(long value) {
+        int index = index(value, shift);
+        Entry entry = entries[index];
+        if (entry != null && entry.value == value) {
+            hits.increment();
+            return entry.text;
+        }
+        misses.increment();
+        String text = formatter.apply(value);
+        entries[index] = new Entry(value, text);
+        return text;
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+        hits.reset();
+        misses.reset();
+    }
+}
@@ -0,0 +1,47 @@
+package net.jhorstmann.packedtime;
+
+/**
+ * Parses many ISO offset date times into their packed {@code long} representation at once.
+ * <p>
+ * On Java 17 and later, when the {@code jdk.incubator.vector} module is added to the runtime
+ * ({@code --add-modules jdk.incubator.vector}), records in the common fixed length layouts are validated and
+ * converted using the vector api. Other layouts and older runtimes use the same parser as
+ * {@link PackedOffsetDateTime#parseToLong(byte[], int, int)}, invalid records throw the same exceptions.
+ */
+public class PackedTimeBatchParser {
+
+    private PackedTimeBatchParser() {
+    }
+
+    public static boolean isVectorized() {
+        return VectorDateTimeParser.isVectorized();
+    }
+
+    /**
+     * Parses each array in {@code inputs} and stores the results at the same index in {@code out}.
+     */
+    public static void parseOffsetDateTimes(byte[][] inputs, long[] out) {
+        checkLength(inputs.length, out.length);
+
+        VectorDateTimeParser.parseOffsetDateTimes(inputs, out, inputs.length);
+    }
+
+    /**
+     * Parses the record {@code i} starting at {@code offsets[i]} with {@code lengths[i]} bytes of {@code buf}
+     * and stores the result in {@code out[i]}.
+     */
+    public static void parseOffsetDateTimes(byte[] buf, int[] offsets, int[] lengths, long[] out) {
+        if (offsets.length != lengths.length) {
+            throw new IllegalArgumentException("Number of offsets " + offsets.length + " does not match number of lengths " + lengths.length);
+        }
+        checkLength(offsets.length, out.length);
+
+        VectorDateTimeParser.parseOffsetDateTimes(buf, offsets, lengths, out, offsets.length);
+    }
+
+    private static void checkLength(int count, int outLength) {
+        if (outLength < count) {
+            throw new IllegalArgumentException("Output length " + outLength + " is less than number of inputs " + count);
+        }
+    }
+}
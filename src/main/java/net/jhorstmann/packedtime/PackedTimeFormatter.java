@@ -0,0 +1,149 @@
+package net.jhorstmann.packedtime;
+
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.appendDate;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.appendOffset;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.appendTime;
+
+
+/**
+ * Formatter for the packed values of date times and times in variants of the extended ISO format, for example
+ * with a fixed number of fraction digits and an explicit {@code +00:00} offset for lexicographically sortable
+ * output like {@code 2020-01-19T22:15:00.000+00:00}.
+ * <p>
+ * The constants produce the same text as the {@code toString} methods of the corresponding packed types, the
+ * {@code with} methods return a copy with a changed option. Options are resolved into final fields once, instances
+ * are immutable, thread-safe and should be reused.
+ */
+public final class PackedTimeFormatter {
+
+    /**
+     * Fraction digits of the ISO format, three digits for milliseconds or none if they are zero.
+     */
+    public static final int FRACTION_AUTO = -1;
+
+    private static final int MAX_LENGTH = 30;
+
+    public static final PackedTimeFormatter ISO_LOCAL_DATE_TIME = new PackedTimeFormatter("ISO_LOCAL_DATE_TIME", true, false, 'T', FRACTION_AUTO, false, true);
+    public static final PackedTimeFormatter ISO_OFFSET_DATE_TIME = new PackedTimeFormatter("ISO_OFFSET_DATE_TIME", true, true, 'T', FRACTION_AUTO, false, true);
+    public static final PackedTimeFormatter ISO_LOCAL_TIME = new PackedTimeFormatter("ISO_LOCAL_TIME", false, false, 'T', FRACTION_AUTO, false, true);
+    public static final PackedTimeFormatter ISO_OFFSET_TIME = new PackedTimeFormatter("ISO_OFFSET_TIME", false, true, 'T', FRACTION_AUTO, false, true);
+
+    private final String name;
+    private final boolean hasDate;
+    private final boolean hasOffset;
+    private final char separator;
+    private final int fractionDigits;
+    private final boolean alwaysSeconds;
+    private final boolean zulu;
+
+    private PackedTimeFormatter(String name, boolean hasDate, boolean hasOffset, char separator, int fractionDigits, boolean alwaysSeconds, boolean zulu) {
+        this.name = name;
+        this.hasDate = hasDate;
+        this.hasOffset = hasOffset;
+        this.separator = separator;
+        this.fractionDigits = fractionDigits;
+        this.alwaysSeconds = alwaysSeconds;
+        this.zulu = zulu;
+    }
+
+    /**
+     * Number of fraction digits from 0 to 3, digits beyond that are truncated, or {@link #FRACTION_AUTO}.
+     */
+    public PackedTimeFormatter withFractionDigits(int fractionDigits) {
+        if (fractionDigits < FRACTION_AUTO || fractionDigits > 3) {
+            throw new IllegalArgumentException("Fraction digits must be between 0 and 3 or FRACTION_AUTO: " + fractionDigits);
+        }
+        return new PackedTimeFormatter(name, hasDate, hasOffset, separator, fractionDigits, alwaysSeconds, zulu);
+    }
+
+    /**
+     * Character between date and time, usually {@code 'T'} or a space.
+     */
+    public PackedTimeFormatter withSeparator(char separator) {
+        if (separator > 0x7F) {
+            throw new IllegalArgumentException("Separator must be an ascii character: " + separator);
+        }
+        return new PackedTimeFormatter(name, hasDate, hasOffset, separator, fractionDigits, alwaysSeconds, zulu);
+    }
+
+    /**
+     * Whether the seconds are written even if they and the fraction are zero, a fraction is always preceded by the
+     * seconds.
+     */
+    public PackedTimeFormatter withAlwaysSeconds(boolean alwaysSeconds) {
+        return new PackedTimeFormatter(name, hasDate, hasOffset, separator, fractionDigits, alwaysSeconds, zulu);
+    }
+
+    /**
+     * Whether an offset of zero is written as {@code Z} or as {@code +00:00}.
+     */
+    public PackedTimeFormatter withZulu(boolean zulu) {
+        return new PackedTimeFormatter(name, hasDate, hasOffset, separator, fractionDigits, alwaysSeconds, zulu);
+    }
+
+    /**
+     * Upper bound of the number of characters or bytes written for a single value.
+     */
+    public int getMaxLength() {
+        return MAX_LENGTH;
+    }
+
+    public String format(long value) {
+        char[] buf = new char[MAX_LENGTH];
+        int len = formatTo(value, buf, 0);
+        return new String(buf, 0, len);
+    }
+
+    public void formatTo(long value, StringBuilder builder) {
+        char[] buf = SCRATCH.get();
+        builder.append(buf, 0, formatTo(value, buf, 0));
+    }
+
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    /**
+     * Writes the formatted value at {@code off} and returns the offset after it.
+     */
+    public int formatTo(long value, char[] buf, int off) {
+        int i = off;
+
+        if (hasDate) {
+            i = appendDate(value, buf, i);
+            buf[i++] = separator;
+        }
+
+        i = appendTime(value, fractionDigits, alwaysSeconds, buf, i);
+
+        if (hasOffset) {
+            i = appendOffset(value, zulu, buf, i);
+        }
+
+        return i;
+    }
+
+    /**
+     * Writes the formatted value as latin-1 or utf-8 encoded bytes at {@code off} and returns the offset after it.
+     */
+    public int formatTo(long value, byte[] buf, int off) {
+        int i = off;
+
+        if (hasDate) {
+            i = appendDate(value, buf, i);
+            buf[i++] = (byte) separator;
+        }
+
+        i = appendTime(value, fractionDigits, alwaysSeconds, buf, i);
+
+        if (hasOffset) {
+            i = appendOffset(value, zulu, buf, i);
+        }
+
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[separator='" + separator + "', fractionDigits=" + fractionDigits
+                + ", alwaysSeconds=" + alwaysSeconds + ", zulu=" + zulu + "]";
+    }
+}
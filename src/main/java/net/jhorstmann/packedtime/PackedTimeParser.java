@@ -0,0 +1,983 @@
+package net.jhorstmann.packedtime;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.Arrays;
+
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.combine;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.offsetIdOfMinutes;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packDate;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packTime;
+
+/**
+ * Parser for a fixed layout described by a pattern, for formats other than the extended ISO format of the
+ * {@code parse} methods of the packed types. The pattern is compiled once into a sequence of fixed width elements,
+ * instances are immutable, thread-safe and should be reused.
+ * <p>
+ * The pattern letters are a subset of {@link java.time.format.DateTimeFormatter}, each letter has to be repeated
+ * exactly as often as listed:
+ * <pre>
+ * yyyy, uuuu   year
+ * MM           month
+ * MMM          month as english abbreviation like Jan
+ * dd           day of month
+ * DDD          day of year, instead of month and day
+ * EEE          day of week as english abbreviation like Mon, only checked for a valid name
+ * HH           hour of day
+ * mm           minute
+ * ss           second
+ * S..S         fraction of second, 1 to 9 digits, digits after milliseconds are ignored
+ * X, XX, XXX   offset as +HH[mm], +HHmm or +HH:mm, or 'Z' for UTC
+ * x, xx, xxx   offset as +HH[mm], +HHmm or +HH:mm
+ * </pre>
+ * Text in single quotes and all other characters are literals, two single quotes are a literal quote.
+ * <p>
+ * Patterns with an offset produce the values of {@link PackedOffsetDateTime} or {@link PackedOffsetTime}, without
+ * an offset those of {@link PackedLocalDateTime}, {@link PackedLocalDate} or {@link PackedLocalTime}.
+ */
+public class PackedTimeParser {
+
+    private static final int LITERAL = 0;
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int DAY = 3;
+    private static final int DAY_OF_YEAR = 4;
+    private static final int HOUR = 5;
+    private static final int MINUTE = 6;
+    private static final int SECOND = 7;
+    private static final int FRACTION = 8;
+    private static final int OFFSET = 9;
+    private static final int DAY_OF_WEEK = 10;
+
+    private static final int OFFSET_HOURS = 1;
+    private static final int OFFSET_HOURS_MINUTES = 2;
+    private static final int OFFSET_HOURS_COLON_MINUTES = 3;
+    private static final int OFFSET_ZULU = 4;
+
+    private static final int[] DAYS_BEFORE_MONTH = {0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365};
+    private static final int[] FRACTION_MULTIPLIER = {100, 10, 1};
+
+    private final String pattern;
+    // element kind in the lowest 8 bits, literal character, fraction digits, offset style or 1 for a month name above
+    private final int[] elements;
+    private final boolean hasDate;
+    private final boolean hasDayOfYear;
+    private final boolean hasOffset;
+
+    // layouts where all elements except a trailing offset have a fixed width are first checked against a template
+    // and the fields are read from fixed indices, the elements are only interpreted for errors or other layouts
+    private static final char DIGIT = '\uffff';
+    private static final char NAME = '\ufffe';
+    private static final int NO_OFFSET = Integer.MIN_VALUE;
+    private final char[] template;
+    private final int yearAt;
+    private final int monthAt;
+    private final boolean monthName;
+    private final int dayAt;
+    private final int hourAt;
+    private final int minuteAt;
+    private final int secondAt;
+    private final int fractionAt;
+    private final int fractionDigits;
+    private final int dayOfWeekAt;
+    private final int offsetStyle;
+
+    private PackedTimeParser(String pattern, int[] elements, int fields) {
+        this.pattern = pattern;
+        this.elements = elements;
+        this.hasDate = (fields & (1 << YEAR)) != 0;
+        this.hasDayOfYear = (fields & (1 << DAY_OF_YEAR)) != 0;
+        this.hasOffset = (fields & (1 << OFFSET)) != 0;
+
+        char[] template = new char[elements.length * 4];
+        int[] indices = new int[DAY_OF_WEEK + 1];
+        boolean monthName = false;
+        int fractionDigits = 0;
+        int offsetStyle = 0;
+        int length = 0;
+        for (int i = 0; i < elements.length && template != null; i++) {
+            int kind = elements[i] & 0xFF;
+            int arg = elements[i] >>> 8;
+            int width;
+            char type = DIGIT;
+            switch (kind) {
+                case LITERAL:
+                    template[length++] = (char) arg;
+                    continue;
+                case OFFSET:
+                    if (i == elements.length - 1) {
+                        offsetStyle = arg;
+                    } else {
+                        template = null;
+                    }
+                    continue;
+                case YEAR:
+                    width = 4;
+                    break;
+                case DAY_OF_YEAR:
+                    width = 3;
+                    break;
+                case MONTH:
+                    monthName = arg == 1;
+                    width = monthName ? 3 : 2;
+                    type = monthName ? NAME : DIGIT;
+                    break;
+                case DAY_OF_WEEK:
+                    width = 3;
+                    type = NAME;
+                    break;
+                case FRACTION:
+                    width = fractionDigits = arg;
+                    break;
+                default:
+                    width = 2;
+                    break;
+            }
+            indices[kind] = length;
+            for (int j = 0; j < width; j++) {
+                template[length++] = type;
+            }
+        }
+        this.template = template == null ? null : Arrays.copyOf(template, length);
+        this.yearAt = indices[YEAR];
+        this.monthAt = indices[MONTH];
+        this.monthName = monthName;
+        this.dayAt = hasDayOfYear ? indices[DAY_OF_YEAR] : indices[DAY];
+        this.hourAt = (fields & (1 << HOUR)) != 0 ? indices[HOUR] : -1;
+        this.minuteAt = indices[MINUTE];
+        this.secondAt = (fields & (1 << SECOND)) != 0 ? indices[SECOND] : -1;
+        this.fractionAt = indices[FRACTION];
+        this.fractionDigits = fractionDigits;
+        this.dayOfWeekAt = (fields & (1 << DAY_OF_WEEK)) != 0 ? indices[DAY_OF_WEEK] : -1;
+        this.offsetStyle = offsetStyle;
+    }
+
+    public static PackedTimeParser ofPattern(String pattern) {
+        int len = pattern.length();
+        int[] elements = new int[len];
+        int count = 0;
+        int fields = 0;
+
+        for (int i = 0; i < len; ) {
+            char ch = pattern.charAt(i);
+            if (ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z') {
+                int width = 1;
+                while (i + width < len && pattern.charAt(i + width) == ch) {
+                    width++;
+                }
+                int element = element(pattern, ch, width);
+                int kind = element & 0xFF;
+                if ((fields & (1 << kind)) != 0) {
+                    throw new IllegalArgumentException("Duplicate field '" + ch + "' in pattern " + pattern);
+                }
+                fields |= 1 << kind;
+                elements[count++] = element;
+                i += width;
+            } else if (ch == '\'') {
+                int j = i + 1;
+                if (j < len && pattern.charAt(j) == '\'') {
+                    elements[count++] = literal('\'');
+                    i = j + 1;
+                    continue;
+                }
+                for (; ; j++) {
+                    if (j >= len) {
+                        throw new IllegalArgumentException("Unterminated quote in pattern " + pattern);
+                    }
+                    char quoted = pattern.charAt(j);
+                    if (quoted == '\'') {
+                        if (j + 1 < len && pattern.charAt(j + 1) == '\'') {
+                            j++;
+                        } else {
+                            break;
+                        }
+                    }
+                    elements[count++] = literal(quoted);
+                }
+                i = j + 1;
+            } else {
+                elements[count++] = literal(ch);
+                i++;
+            }
+        }
+
+        checkFields(pattern, fields);
+
+        int[] compiled = new int[count];
+        System.arraycopy(elements, 0, compiled, 0, count);
+        return new PackedTimeParser(pattern, compiled, fields);
+    }
+
+    private static int literal(char ch) {
+        return ch << 8 | LITERAL;
+    }
+
+    private static int element(String pattern, char letter, int width) {
+        switch (letter) {
+            case 'y':
+            case 'u':
+                return fixed(pattern, letter, width, 4, YEAR);
+            case 'M':
+                if (width == 3) {
+                    return 1 << 8 | MONTH;
+                }
+                return fixed(pattern, letter, width, 2, MONTH);
+            case 'd':
+                return fixed(pattern, letter, width, 2, DAY);
+            case 'D':
+                return fixed(pattern, letter, width, 3, DAY_OF_YEAR);
+            case 'E':
+                return fixed(pattern, letter, width, 3, DAY_OF_WEEK);
+            case 'H':
+                return fixed(pattern, letter, width, 2, HOUR);
+            case 'm':
+                return fixed(pattern, letter, width, 2, MINUTE);
+            case 's':
+                return fixed(pattern, letter, width, 2, SECOND);
+            case 'S':
+                if (width > 9) {
+                    throw new IllegalArgumentException("Too many pattern letters 'S' in pattern " + pattern);
+                }
+                return width << 8 | FRACTION;
+            case 'X':
+            case 'x':
+                if (width > 3) {
+                    throw new IllegalArgumentException("Too many pattern letters '" + letter + "' in pattern " + pattern);
+                }
+                return (letter == 'X' ? OFFSET_ZULU | width : width) << 8 | OFFSET;
+            default:
+                throw new IllegalArgumentException("Unsupported pattern letter '" + letter + "' in pattern " + pattern);
+        }
+    }
+
+    private static int fixed(String pattern, char letter, int width, int expectedWidth, int kind) {
+        if (width != expectedWidth) {
+            throw new IllegalArgumentException("Pattern letter '" + letter + "' has to be repeated " + expectedWidth + " times in pattern " + pattern);
+        }
+        return kind;
+    }
+
+    private static void checkFields(String pattern, int fields) {
+        boolean year = (fields & (1 << YEAR)) != 0;
+        boolean monthAndDay = (fields & (1 << MONTH | 1 << DAY)) == (1 << MONTH | 1 << DAY);
+        boolean monthOrDay = (fields & (1 << MONTH | 1 << DAY)) != 0;
+        boolean dayOfYear = (fields & (1 << DAY_OF_YEAR)) != 0;
+        boolean time = (fields & (1 << HOUR | 1 << MINUTE)) == (1 << HOUR | 1 << MINUTE);
+
+        if (year ? !(monthAndDay ^ dayOfYear) : (monthOrDay || dayOfYear)) {
+            throw new IllegalArgumentException("Pattern needs either year, month and day or year and day of year: " + pattern);
+        }
+        if (!time && (fields & (1 << HOUR | 1 << MINUTE | 1 << SECOND | 1 << FRACTION)) != 0) {
+            throw new IllegalArgumentException("Pattern needs both hour and minute: " + pattern);
+        }
+        if ((fields & (1 << FRACTION)) != 0 && (fields & (1 << SECOND)) == 0) {
+            throw new IllegalArgumentException("Pattern needs seconds for a fraction: " + pattern);
+        }
+        if ((fields & (1 << DAY_OF_WEEK)) != 0 && !year) {
+            throw new IllegalArgumentException("Pattern needs a date for a day of week: " + pattern);
+        }
+        if (!year && !time) {
+            throw new IllegalArgumentException("Pattern needs a date or a time: " + pattern);
+        }
+        if ((fields & (1 << OFFSET)) != 0 && !time) {
+            throw new IllegalArgumentException("Pattern needs a time for an offset: " + pattern);
+        }
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public long parseToLong(CharSequence text) {
+        long value = tryParseToLong(text, null);
+        if (value == ParseError.INVALID) {
+            ParseError error = new ParseError();
+            tryParseToLong(text, error);
+            throw error.toException(text);
+        }
+        return value;
+    }
+
+    public long parseToLong(byte[] buf, int off, int len) {
+        long value = tryParseToLong(buf, off, len, null);
+        if (value == ParseError.INVALID) {
+            ParseError error = new ParseError();
+            tryParseToLong(buf, off, len, error);
+            throw error.toException(new String(buf, off, len, StandardCharsets.ISO_8859_1));
+        }
+        return value;
+    }
+
+    public long tryParseToLong(CharSequence text, ParseError error) {
+        if (template != null) {
+            long value = tryParseFixed(text);
+            if (value != ParseError.INVALID) {
+                return value;
+            }
+        }
+        return tryParseElements(text, error);
+    }
+
+    private long tryParseFixed(CharSequence text) {
+        int end = text.length();
+        char[] template = this.template;
+        int length = template.length;
+        if (end < length) {
+            return ParseError.INVALID;
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            char expected = template[i];
+            if (expected == DIGIT ? ch < '0' || ch > '9' : ch != expected && expected != NAME) {
+                return ParseError.INVALID;
+            }
+        }
+
+        int offsetMinute = 0;
+        if (hasOffset) {
+            offsetMinute = fixedOffset(text, length, end);
+            if (offsetMinute == NO_OFFSET) {
+                return ParseError.INVALID;
+            }
+        } else if (end != length) {
+            return ParseError.INVALID;
+        }
+
+        int year = 0, month = 0, day = 0, hour = 0, minute = 0, second = 0, milli = 0;
+        if (hasDate) {
+            year = number(text, yearAt, 4);
+            if (hasDayOfYear) {
+                day = number(text, dayAt, 3);
+            } else {
+                month = monthName ? monthOfName(text, monthAt) : number(text, monthAt, 2);
+                day = number(text, dayAt, 2);
+            }
+            if (month == 0 || dayOfWeekAt >= 0 && dayOfWeekOfName(text, dayOfWeekAt) == 0) {
+                return ParseError.INVALID;
+            }
+        }
+        if (hourAt >= 0) {
+            hour = number(text, hourAt, 2);
+            minute = number(text, minuteAt, 2);
+            if (secondAt >= 0) {
+                second = number(text, secondAt, 2);
+            }
+            if (fractionDigits > 0) {
+                int precision = Math.min(fractionDigits, 3);
+                milli = number(text, fractionAt, precision) * FRACTION_MULTIPLIER[precision - 1];
+            }
+        }
+
+        return result(null, 0, year, month, day, hour, minute, second, milli, offsetMinute, 0, 0, 0, 0, 0);
+    }
+
+    private int fixedOffset(CharSequence text, int i, int end) {
+        int remaining = end - i;
+        if (remaining <= 0) {
+            return NO_OFFSET;
+        }
+        char sign = text.charAt(i);
+        if (sign == 'Z') {
+            return remaining == 1 && (offsetStyle & OFFSET_ZULU) != 0 ? 0 : NO_OFFSET;
+        }
+        if (sign != '+' && sign != '-') {
+            return NO_OFFSET;
+        }
+        int offsetHour = digits(text, end, i + 1, 2);
+        int offsetMinuteOfHour;
+        switch (offsetStyle & 3) {
+            case OFFSET_HOURS:
+                offsetMinuteOfHour = remaining == 3 ? 0 : remaining == 5 ? digits(text, end, i + 3, 2) : -1;
+                break;
+            case OFFSET_HOURS_MINUTES:
+                offsetMinuteOfHour = remaining == 5 ? digits(text, end, i + 3, 2) : -1;
+                break;
+            default:
+                offsetMinuteOfHour = remaining == 6 && text.charAt(i + 3) == ':' ? digits(text, end, i + 4, 2) : -1;
+                break;
+        }
+        return offset(sign, offsetHour, offsetMinuteOfHour);
+    }
+
+    private long tryParseElements(CharSequence text, ParseError error) {
+        int end = text.length();
+        int i = 0;
+        int year = 0, month = 0, day = 0, hour = 0, minute = 0, second = 0, milli = 0, offsetMinute = 0;
+        int monthIndex = 0, dayIndex = 0, hourIndex = 0, minuteIndex = 0, secondIndex = 0;
+
+        for (int element : elements) {
+            int arg = element >>> 8;
+            switch (element & 0xFF) {
+                case LITERAL:
+                    if (i >= end) {
+                        return fail(error, ParseError.END_OF_INPUT, end, 0);
+                    }
+                    if (text.charAt(i) != arg) {
+                        return fail(error, ParseError.UNEXPECTED_CHARACTER, i, arg);
+                    }
+                    i++;
+                    break;
+                case YEAR:
+                    year = digits(text, end, i, 4);
+                    if (year < 0) {
+                        return digitsError(text, end, i, 4, error);
+                    }
+                    i += 4;
+                    break;
+                case MONTH:
+                    if (arg == 1) {
+                        if (i > end - 3) {
+                            return fail(error, ParseError.END_OF_INPUT, end, 0);
+                        }
+                        month = monthOfName(text, i);
+                        if (month == 0) {
+                            return fail(error, ParseError.UNKNOWN_NAME, i, 0);
+                        }
+                        monthIndex = i;
+                        i += 3;
+                        break;
+                    }
+                    month = digits(text, end, i, 2);
+                    if (month < 0) {
+                        return digitsError(text, end, i, 2, error);
+                    }
+                    monthIndex = i;
+                    i += 2;
+                    break;
+                case DAY_OF_WEEK:
+                    if (i > end - 3) {
+                        return fail(error, ParseError.END_OF_INPUT, end, 0);
+                    }
+                    if (dayOfWeekOfName(text, i) == 0) {
+                        return fail(error, ParseError.UNKNOWN_NAME, i, 0);
+                    }
+                    i += 3;
+                    break;
+                case DAY:
+                    day = digits(text, end, i, 2);
+                    if (day < 0) {
+                        return digitsError(text, end, i, 2, error);
+                    }
+                    dayIndex = i;
+                    i += 2;
+                    break;
+                case DAY_OF_YEAR:
+                    day = digits(text, end, i, 3);
+                    if (day < 0) {
+                        return digitsError(text, end, i, 3, error);
+                    }
+                    dayIndex = i;
+                    i += 3;
+                    break;
+                case HOUR:
+                    hour = digits(text, end, i, 2);
+                    if (hour < 0) {
+                        return digitsError(text, end, i, 2, error);
+                    }
+                    hourIndex = i;
+                    i += 2;
+                    break;
+                case MINUTE:
+                    minute = digits(text, end, i, 2);
+                    if (minute < 0) {
+                        return digitsError(text, end, i, 2, error);
+                    }
+                    minuteIndex = i;
+                    i += 2;
+                    break;
+                case SECOND:
+                    second = digits(text, end, i, 2);
+                    if (second < 0) {
+                        return digitsError(text, end, i, 2, error);
+                    }
+                    secondIndex = i;
+                    i += 2;
+                    break;
+                case FRACTION: {
+                    int precision = Math.min(arg, 3);
+                    int fraction = digits(text, end, i, precision);
+                    if (fraction < 0 || arg > precision && digits(text, end, i + precision, arg - precision) < 0) {
+                        return digitsError(text, end, i, arg, error);
+                    }
+                    milli = fraction * FRACTION_MULTIPLIER[precision - 1];
+                    i += arg;
+                    break;
+                }
+                case OFFSET: {
+                    if (i >= end) {
+                        return fail(error, ParseError.END_OF_INPUT, end, 0);
+                    }
+                    char sign = text.charAt(i);
+                    if (sign == 'Z' && (arg & OFFSET_ZULU) != 0) {
+                        offsetMinute = 0;
+                        i++;
+                        break;
+                    }
+                    if (sign != '+' && sign != '-') {
+                        return fail(error, ParseError.UNEXPECTED_CHARACTER, i, '-' << 8 | '+');
+                    }
+                    int offsetStart = i++;
+                    int offsetHour = digits(text, end, i, 2);
+                    if (offsetHour < 0) {
+                        return digitsError(text, end, i, 2, error);
+                    }
+                    i += 2;
+                    int offsetMinuteOfHour = 0;
+                    int offsetFormat = arg & 3;
+                    if (offsetFormat == OFFSET_HOURS) {
+                        if (i <= end - 2 && digits(text, end, i, 2) >= 0) {
+                            offsetMinuteOfHour = digits(text, end, i, 2);
+                            i += 2;
+                        }
+                    } else {
+                        if (offsetFormat == OFFSET_HOURS_COLON_MINUTES) {
+                            if (i >= end) {
+                                return fail(error, ParseError.END_OF_INPUT, end, 0);
+                            }
+                            if (text.charAt(i) != ':') {
+                                return fail(error, ParseError.UNEXPECTED_CHARACTER, i, ':');
+                            }
+                            i++;
+                        }
+                        offsetMinuteOfHour = digits(text, end, i, 2);
+                        if (offsetMinuteOfHour < 0) {
+                            return digitsError(text, end, i, 2, error);
+                        }
+                        i += 2;
+                    }
+                    offsetMinute = offsetHour * 60 + offsetMinuteOfHour;
+                    if (offsetMinuteOfHour > 59 || offsetMinute > AbstractPackedDateTime.MAX_OFFSET_MINUTES) {
+                        return fail(error, ParseError.OFFSET_OUT_OF_RANGE, offsetStart + 1, 0);
+                    }
+                    if (sign == '-') {
+                        offsetMinute = -offsetMinute;
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (i < end) {
+            return fail(error, ParseError.TRAILING_CHARACTERS, i, 0);
+        }
+
+        return result(error, 0, year, month, day, hour, minute, second, milli, offsetMinute,
+                monthIndex, dayIndex, hourIndex, minuteIndex, secondIndex);
+    }
+
+    public long tryParseToLong(byte[] buf, int off, int len, ParseError error) {
+        DateTimeParser.checkBounds(off, len, buf.length);
+
+        if (template != null) {
+            long value = tryParseFixed(buf, off, off + len);
+            if (value != ParseError.INVALID) {
+                return value;
+            }
+        }
+        return tryParseElements(buf, off, len, error);
+    }
+
+    private long tryParseFixed(byte[] buf, int off, int end) {
+        char[] template = this.template;
+        int length = template.length;
+        if (end - off < length) {
+            return ParseError.INVALID;
+        }
+        for (int i = 0; i < length; i++) {
+            int ch = buf[off + i] & 0xFF;
+            char expected = template[i];
+            if (expected == DIGIT ? ch < '0' || ch > '9' : ch != expected && expected != NAME) {
+                return ParseError.INVALID;
+            }
+        }
+
+        int offsetMinute = 0;
+        if (hasOffset) {
+            offsetMinute = fixedOffset(buf, off + length, end);
+            if (offsetMinute == NO_OFFSET) {
+                return ParseError.INVALID;
+            }
+        } else if (end - off != length) {
+            return ParseError.INVALID;
+        }
+
+        int year = 0, month = 0, day = 0, hour = 0, minute = 0, second = 0, milli = 0;
+        if (hasDate) {
+            year = number(buf, off + yearAt, 4);
+            if (hasDayOfYear) {
+                day = number(buf, off + dayAt, 3);
+            } else {
+                month = monthName ? monthOfName(buf, off + monthAt) : number(buf, off + monthAt, 2);
+                day = number(buf, off + dayAt, 2);
+            }
+            if (month == 0 || dayOfWeekAt >= 0 && dayOfWeekOfName(buf, off + dayOfWeekAt) == 0) {
+                return ParseError.INVALID;
+            }
+        }
+        if (hourAt >= 0) {
+            hour = number(buf, off + hourAt, 2);
+            minute = number(buf, off + minuteAt, 2);
+            if (secondAt >= 0) {
+                second = number(buf, off + secondAt, 2);
+            }
+            if (fractionDigits > 0) {
+                int precision = Math.min(fractionDigits, 3);
+                milli = number(buf, off + fractionAt, precision) * FRACTION_MULTIPLIER[precision - 1];
+            }
+        }
+
+        return result(null, 0, year, month, day, hour, minute, second, milli, offsetMinute, 0, 0, 0, 0, 0);
+    }
+
+    private int fixedOffset(byte[] buf, int i, int end) {
+        int remaining = end - i;
+        if (remaining <= 0) {
+            return NO_OFFSET;
+        }
+        byte sign = buf[i];
+        if (sign == 'Z') {
+            return remaining == 1 && (offsetStyle & OFFSET_ZULU) != 0 ? 0 : NO_OFFSET;
+        }
+        if (sign != '+' && sign != '-') {
+            return NO_OFFSET;
+        }
+        int offsetHour = digits(buf, end, i + 1, 2);
+        int offsetMinuteOfHour;
+        switch (offsetStyle & 3) {
+            case OFFSET_HOURS:
+                offsetMinuteOfHour = remaining == 3 ? 0 : remaining == 5 ? digits(buf, end, i + 3, 2) : -1;
+                break;
+            case OFFSET_HOURS_MINUTES:
+                offsetMinuteOfHour = remaining == 5 ? digits(buf, end, i + 3, 2) : -1;
+                break;
+            default:
+                offsetMinuteOfHour = remaining == 6 && buf[i + 3] == ':' ? digits(buf, end, i + 4, 2) : -1;
+                break;
+        }
+        return offset(sign, offsetHour, offsetMinuteOfHour);
+    }
+
+    private static int offset(int sign, int offsetHour, int offsetMinuteOfHour) {
+        if (offsetHour < 0 || offsetMinuteOfHour < 0 || offsetMinuteOfHour > 59) {
+            return NO_OFFSET;
+        }
+        int offsetMinute = offsetHour * 60 + offsetMinuteOfHour;
+        if (offsetMinute > AbstractPackedDateTime.MAX_OFFSET_MINUTES) {
+            return NO_OFFSET;
+        }
+        return sign == '-' ? -offsetMinute : offsetMinute;
+    }
+
+    private long tryParseElements(byte[] buf, int off, int len, ParseError error) {
+        int end = off + len;
+        int i = off;
+        int year = 0, month = 0, day = 0, hour = 0, minute = 0, second = 0, milli = 0, offsetMinute = 0;
+        int monthIndex = 0, dayIndex = 0, hourIndex = 0, minuteIndex = 0, secondIndex = 0;
+
+        for (int element : elements) {
+            int arg = element >>> 8;
+            switch (element & 0xFF) {
+                case LITERAL:
+                    if (i >= end) {
+                        return fail(error, ParseError.END_OF_INPUT, end - off, 0);
+                    }
+                    if ((buf[i] & 0xFF) != arg) {
+                        return fail(error, ParseError.UNEXPECTED_CHARACTER, i - off, arg);
+                    }
+                    i++;
+                    break;
+                case YEAR:
+                    year = digits(buf, end, i, 4);
+                    if (year < 0) {
+                        return digitsError(buf, off, end, i, 4, error);
+                    }
+                    i += 4;
+                    break;
+                case MONTH:
+                    if (arg == 1) {
+                        if (i > end - 3) {
+                            return fail(error, ParseError.END_OF_INPUT, end - off, 0);
+                        }
+                        month = monthOfName(buf, i);
+                        if (month == 0) {
+                            return fail(error, ParseError.UNKNOWN_NAME, i - off, 0);
+                        }
+                        monthIndex = i;
+                        i += 3;
+                        break;
+                    }
+                    month = digits(buf, end, i, 2);
+                    if (month < 0) {
+                        return digitsError(buf, off, end, i, 2, error);
+                    }
+                    monthIndex = i;
+                    i += 2;
+                    break;
+                case DAY_OF_WEEK:
+                    if (i > end - 3) {
+                        return fail(error, ParseError.END_OF_INPUT, end - off, 0);
+                    }
+                    if (dayOfWeekOfName(buf, i) == 0) {
+                        return fail(error, ParseError.UNKNOWN_NAME, i - off, 0);
+                    }
+                    i += 3;
+                    break;
+                case DAY:
+                    day = digits(buf, end, i, 2);
+                    if (day < 0) {
+                        return digitsError(buf, off, end, i, 2, error);
+                    }
+                    dayIndex = i;
+                    i += 2;
+                    break;
+                case DAY_OF_YEAR:
+                    day = digits(buf, end, i, 3);
+                    if (day < 0) {
+                        return digitsError(buf, off, end, i, 3, error);
+                    }
+                    dayIndex = i;
+                    i += 3;
+                    break;
+                case HOUR:
+                    hour = digits(buf, end, i, 2);
+                    if (hour < 0) {
+                        return digitsError(buf, off, end, i, 2, error);
+                    }
+                    hourIndex = i;
+                    i += 2;
+                    break;
+                case MINUTE:
+                    minute = digits(buf, end, i, 2);
+                    if (minute < 0) {
+                        return digitsError(buf, off, end, i, 2, error);
+                    }
+                    minuteIndex = i;
+                    i += 2;
+                    break;
+                case SECOND:
+                    second = digits(buf, end, i, 2);
+                    if (second < 0) {
+                        return digitsError(buf, off, end, i, 2, error);
+                    }
+                    secondIndex = i;
+                    i += 2;
+                    break;
+                case FRACTION: {
+                    int precision = Math.min(arg, 3);
+                    int fraction = digits(buf, end, i, precision);
+                    if (fraction < 0 || arg > precision && digits(buf, end, i + precision, arg - precision) < 0) {
+                        return digitsError(buf, off, end, i, arg, error);
+                    }
+                    milli = fraction * FRACTION_MULTIPLIER[precision - 1];
+                    i += arg;
+                    break;
+                }
+                case OFFSET: {
+                    if (i >= end) {
+                        return fail(error, ParseError.END_OF_INPUT, end - off, 0);
+                    }
+                    byte sign = buf[i];
+                    if (sign == 'Z' && (arg & OFFSET_ZULU) != 0) {
+                        offsetMinute = 0;
+                        i++;
+                        break;
+                    }
+                    if (sign != '+' && sign != '-') {
+                        return fail(error, ParseError.UNEXPECTED_CHARACTER, i - off, '-' << 8 | '+');
+                    }
+                    int offsetStart = i++;
+                    int offsetHour = digits(buf, end, i, 2);
+                    if (offsetHour < 0) {
+                        return digitsError(buf, off, end, i, 2, error);
+                    }
+                    i += 2;
+                    int offsetMinuteOfHour = 0;
+                    int offsetFormat = arg & 3;
+                    if (offsetFormat == OFFSET_HOURS) {
+                        if (i <= end - 2 && digits(buf, end, i, 2) >= 0) {
+                            offsetMinuteOfHour = digits(buf, end, i, 2);
+                            i += 2;
+                        }
+                    } else {
+                        if (offsetFormat == OFFSET_HOURS_COLON_MINUTES) {
+                            if (i >= end) {
+                                return fail(error, ParseError.END_OF_INPUT, end - off, 0);
+                            }
+                            if (buf[i] != ':') {
+                                return fail(error, ParseError.UNEXPECTED_CHARACTER, i - off, ':');
+                            }
+                            i++;
+                        }
+                        offsetMinuteOfHour = digits(buf, end, i, 2);
+                        if (offsetMinuteOfHour < 0) {
+                            return digitsError(buf, off, end, i, 2, error);
+                        }
+                        i += 2;
+                    }
+                    offsetMinute = offsetHour * 60 + offsetMinuteOfHour;
+                    if (offsetMinuteOfHour > 59 || offsetMinute > AbstractPackedDateTime.MAX_OFFSET_MINUTES) {
+                        return fail(error, ParseError.OFFSET_OUT_OF_RANGE, offsetStart + 1 - off, 0);
+                    }
+                    if (sign == '-') {
+                        offsetMinute = -offsetMinute;
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (i < end) {
+            return fail(error, ParseError.TRAILING_CHARACTERS, i - off, 0);
+        }
+
+        return result(error, off, year, month, day, hour, minute, second, milli, offsetMinute,
+                monthIndex, dayIndex, hourIndex, minuteIndex, secondIndex);
+    }
+
+    private long result(ParseError error, int base, int year, int month, int day, int hour, int minute, int second,
+                        int milli, int offsetMinute, int monthIndex, int dayIndex, int hourIndex, int minuteIndex, int secondIndex) {
+        int date = 0;
+        if (hasDayOfYear) {
+            boolean leap = Year.isLeap(year);
+            if (day < 1 || day > (leap ? 366 : 365)) {
+                return fail(error, ParseError.DAY_OUT_OF_RANGE, dayIndex - base, 0);
+            }
+            int dayOfYear = day;
+            if (leap && dayOfYear == 60) {
+                month = 2;
+                day = 29;
+            } else {
+                if (leap && dayOfYear > 60) {
+                    dayOfYear--;
+                }
+                month = 1;
+                while (DAYS_BEFORE_MONTH[month] < dayOfYear) {
+                    month++;
+                }
+                day = dayOfYear - DAYS_BEFORE_MONTH[month - 1];
+            }
+            date = packDate(year, month, day);
+        } else if (hasDate) {
+            if (!DateTimeParser.isValidDate(year, month, day)) {
+                if (month < 1 || month > 12) {
+                    return fail(error, ParseError.MONTH_OUT_OF_RANGE, monthIndex - base, 0);
+                } else {
+                    return fail(error, ParseError.DAY_OUT_OF_RANGE, dayIndex - base, 0);
+                }
+            }
+            date = packDate(year, month, day);
+        }
+
+        if (!DateTimeParser.isValidTime(hour, minute, second)) {
+            if (hour > 23) {
+                return fail(error, ParseError.HOUR_OUT_OF_RANGE, hourIndex - base, 0);
+            } else if (minute > 59) {
+                return fail(error, ParseError.MINUTE_OUT_OF_RANGE, minuteIndex - base, 0);
+            } else {
+                return fail(error, ParseError.SECOND_OUT_OF_RANGE, secondIndex - base, 0);
+            }
+        }
+
+        return combine(date, packTime(hour, minute, second, milli), hasOffset ? offsetIdOfMinutes(offsetMinute) : 0);
+    }
+
+    private static long fail(ParseError error, int code, int index, int expected) {
+        if (error != null) {
+            error.set(code, index, expected);
+        }
+        return ParseError.INVALID;
+    }
+
+    private static int monthOfName(CharSequence text, int i) {
+        return DateTimeNames.monthOfName(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+    }
+
+    private static int monthOfName(byte[] buf, int i) {
+        return DateTimeNames.monthOfName(buf[i] & 0xFF, buf[i + 1] & 0xFF, buf[i + 2] & 0xFF);
+    }
+
+    private static int dayOfWeekOfName(CharSequence text, int i) {
+        return DateTimeNames.dayOfWeekOfName(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+    }
+
+    private static int dayOfWeekOfName(byte[] buf, int i) {
+        return DateTimeNames.dayOfWeekOfName(buf[i] & 0xFF, buf[i + 1] & 0xFF, buf[i + 2] & 0xFF);
+    }
+
+    private static int number(CharSequence text, int i, int count) {
+        int r = 0;
+        for (int j = i; j < i + count; j++) {
+            r = r * 10 + (text.charAt(j) - '0');
+        }
+        return r;
+    }
+
+    private static int number(byte[] buf, int i, int count) {
+        int r = 0;
+        for (int j = i; j < i + count; j++) {
+            r = r * 10 + (buf[j] - '0');
+        }
+        return r;
+    }
+
+    private static int digits(CharSequence text, int end, int i, int count) {
+        if (i > end - count) {
+            return -1;
+        }
+        int r = 0;
+        for (int j = i; j < i + count; j++) {
+            int d = text.charAt(j) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            r = r * 10 + d;
+        }
+        return r;
+    }
+
+    private static long digitsError(CharSequence text, int end, int i, int count, ParseError error) {
+        for (int j = i; j < i + count; j++) {
+            if (j >= end) {
+                return fail(error, ParseError.END_OF_INPUT, end, 0);
+            }
+            char ch = text.charAt(j);
+            if (ch < '0' || ch > '9') {
+                return fail(error, ParseError.NOT_A_DIGIT, j, 0);
+            }
+        }
+        throw new IllegalStateException("digits at index " + i + " are valid");
+    }
+
+    private static int digits(byte[] buf, int end, int i, int count) {
+        if (i > end - count) {
+            return -1;
+        }
+        int r = 0;
+        for (int j = i; j < i + count; j++) {
+            int d = buf[j] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            r = r * 10 + d;
+        }
+        return r;
+    }
+
+    private static long digitsError(byte[] buf, int off, int end, int i, int count, ParseError error) {
+        for (int j = i; j < i + count; j++) {
+            if (j >= end) {
+                return fail(error, ParseError.END_OF_INPUT, end - off, 0);
+            }
+            byte ch = buf[j];
+            if (ch < '0' || ch > '9') {
+                return fail(error, ParseError.NOT_A_DIGIT, j - off, 0);
+            }
+        }
+        throw new IllegalStateException("digits at index " + (i - off) + " are valid");
+    }
+
+    @Override
+    public String toString() {
+        return "PackedTimeParser{" + pattern + "}";
+    }
+}
@@ -1,22 +1,40 @@
 package net.jhorstmann.packedtime;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class PackedZonedDateTime extends AbstractPackedDateTime {
 
     static class ZoneAndOffset {
         final ZoneId id;
         final ZoneOffset offset;
+        // offset and bracketed region as formatted by ZonedDateTime.toString, only rendered for registered ids
+        final char[] suffix;
+        final byte[] suffixBytes;
 
         ZoneAndOffset(ZoneId id, ZoneOffset offset) {
             this.id = id;
             this.offset = offset;
+            this.suffix = null;
+            this.suffixBytes = null;
+        }
+
+        private ZoneAndOffset(ZoneAndOffset key) {
+            this.id = key.id;
+            this.offset = key.offset;
+            String suffix = id != offset ? offset.getId() + '[' + id.getId() + ']' : offset.getId();
+            this.suffix = suffix.toCharArray();
+            this.suffixBytes = suffix.getBytes(StandardCharsets.ISO_8859_1);
         }
 
         @Override
@@ -39,34 +57,38 @@ public class PackedZonedDateTime extends AbstractPackedDateTime {
     }
 
     static class ZoneAndOffsetCache {
-        private int counter = 0;
-        private final Map<ZoneAndOffset, Integer> ids = new HashMap<>();
-        private final ZoneAndOffset[] zones = new ZoneAndOffset[(1 << AbstractPackedDateTime.OFFSET_BITS)-1];
+        private final AtomicInteger counter = new AtomicInteger();
+        private final ConcurrentHashMap<ZoneAndOffset, Integer> ids = new ConcurrentHashMap<>();
+        private final AtomicReferenceArray<ZoneAndOffset> zones = new AtomicReferenceArray<>((1 << AbstractPackedDateTime.OFFSET_BITS)-1);
 
-        synchronized int getId(ZonedDateTime zonedDateTime) {
-            ZoneAndOffset zoneAndOffset = toZoneAndOffset(zonedDateTime);
+        int getId(ZonedDateTime zonedDateTime) {
+            return getId(zonedDateTime.getZone(), zonedDateTime.getOffset());
+        }
+
+        int getId(ZoneId zoneId, ZoneOffset zoneOffset) {
+            ZoneAndOffset zoneAndOffset = new ZoneAndOffset(zoneId, zoneOffset);
+            Integer id = ids.get(zoneAndOffset);
+            if (id != null) {
+                return id;
+            }
             return ids.computeIfAbsent(zoneAndOffset, k -> {
-                int i = counter++;
-                if (i >= zones.length) {
+                int i = counter.getAndIncrement();
+                if (i >= zones.length()) {
                     throw new IllegalStateException("ZoneAndOffsetCache overflow");
                 }
-                zones[i] = zoneAndOffset;
+                zones.set(i, new ZoneAndOffset(zoneAndOffset));
                 return i;
             });
         }
 
-        synchronized ZoneAndOffset getZoneId(int id) {
-            return zones[id];
-        }
-
-        private static ZoneAndOffset toZoneAndOffset(ZonedDateTime zonedDateTime) {
-            ZoneId zoneId = zonedDateTime.getZone();
-            ZoneOffset zoneOffset = zonedDateTime.getOffset();
-            return new ZoneAndOffset(zoneId, zoneOffset);
+        ZoneAndOffset getZoneId(int id) {
+            return zones.get(id);
         }
     }
 
     private static final ZoneAndOffsetCache CACHE = new ZoneAndOffsetCache();
+    // ids of zones that are only an offset, indexed by offset id and incremented by one, 0 means not yet known
+    private static final int[] OFFSET_ZONE_IDS = new int[1 << AbstractPackedDateTime.OFFSET_BITS];
 
     private PackedZonedDateTime(long value) {
         super(value);
@@ -88,8 +110,117 @@ public class PackedZonedDateTime extends AbstractPackedDateTime {
                 id));
     }
 
+    /**
+     * Parses the format of {@link ZonedDateTime#toString()} with the same results as {@link ZonedDateTime#parse},
+     * a date time with offset that is not valid for the region is converted to the same instant in that region.
+     */
     public static PackedZonedDateTime parse(String str) {
-        return fromZonedDateTime(ZonedDateTime.parse(str));
+        return valueOf(parseToLong(str));
+    }
+
+    public static long parseToLong(String str) {
+        return parseToLong(str, 0, str.length());
+    }
+
+    public static PackedZonedDateTime parse(CharSequence text, int start, int end) {
+        return valueOf(parseToLong(text, start, end));
+    }
+
+    public static long parseToLong(CharSequence text, int start, int end) {
+        return DateTimeParser.parse(text, start, end, DateTimeParser::tryParseZonedDateTimeToLong);
+    }
+
+    public static PackedZonedDateTime parse(CharSequence text, ParsePosition position) {
+        return valueOf(parseToLong(text, position));
+    }
+
+    public static long parseToLong(CharSequence text, ParsePosition position) {
+        return DateTimeParser.parse(text, position, DateTimeParser::tryParseZonedDateTimeToLong);
+    }
+
+    public static PackedZonedDateTime parse(byte[] buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(byte[] buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseZonedDateTimeToLong);
+    }
+
+    public static PackedZonedDateTime parse(ByteBuffer buf, int off, int len) {
+        return valueOf(parseToLong(buf, off, len));
+    }
+
+    public static long parseToLong(ByteBuffer buf, int off, int len) {
+        return DateTimeParser.parse(buf, off, len, DateTimeParser::tryParseZonedDateTimeToLong);
+    }
+
+    public static long tryParseToLong(CharSequence text) {
+        return tryParseToLong(text, null);
+    }
+
+    public static long tryParseToLong(CharSequence text, ParseError error) {
+        return DateTimeParser.tryParse(text, error, DateTimeParser::tryParseZonedDateTimeToLong);
+    }
+
+    public static long tryParseToLong(byte[] buf, int off, int len, ParseError error) {
+        return DateTimeParser.tryParse(buf, off, len, error, DateTimeParser::tryParseZonedDateTimeToLong);
+    }
+
+    static int zoneId(ZoneId zone, ZoneOffset offset) {
+        return CACHE.getId(zone, offset);
+    }
+
+    /**
+     * Replaces the offset of a packed offset date time by the id of the zone consisting only of that offset.
+     */
+    static long resolveOffset(long offsetDateTime) {
+        int offsetId = extractOffsetId(offsetDateTime);
+        int id = OFFSET_ZONE_IDS[offsetId] - 1;
+        if (id < 0) {
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(extractOffsetMinute(offsetDateTime) * 60);
+            id = zoneId(offset, offset);
+            OFFSET_ZONE_IDS[offsetId] = id + 1;
+        }
+        return withId(offsetDateTime, id);
+    }
+
+    /**
+     * Converts the local date time of a packed value at the given offset to the same instant in the given region,
+     * usually only replacing the offset bits by the id of the region and offset. Returns {@link ParseError#INVALID}
+     * if the local date time in the region is outside of the supported year range.
+     */
+    static long resolve(long local, int offsetSeconds, ZoneRegions.Region region) {
+        long epochSecond = localEpochSecond(local) - offsetSeconds;
+        ZoneRegions.Interval interval = region.getInterval(epochSecond);
+        if (interval.offsetSeconds == offsetSeconds) {
+            return withId(local, interval.packedId);
+        }
+        return atZone(local, epochSecond, region.getZone());
+    }
+
+    static long resolve(long local, int offsetSeconds, ZoneId zone) {
+        return atZone(local, localEpochSecond(local) - offsetSeconds, zone);
+    }
+
+    private static long atZone(long local, long epochSecond, ZoneId zone) {
+        Instant instant = Instant.ofEpochSecond(epochSecond, extractMilli(local) * 1_000_000L);
+        ZonedDateTime zonedDateTime = ZonedDateTime.ofInstant(instant, zone);
+        if (!isSupportedYear(zonedDateTime.getYear())) {
+            return ParseError.INVALID;
+        }
+        return fromZonedDateTime(zonedDateTime).getValue();
+    }
+
+    private static long localEpochSecond(long value) {
+        long epochDay = epochDay(extractYear(value), extractMonth(value), extractDay(value));
+        return epochDay * 24 * 60 * 60
+                + extractHour(value) * 60 * 60
+                + extractMinute(value) * 60
+                + extractSecond(value);
+    }
+
+    private static long withId(long value, int id) {
+        return value & ~((1L << OFFSET_BITS) - 1) | id;
     }
 
     public static ZonedDateTime toZonedDateTime(long value) {
@@ -120,6 +251,18 @@ public class PackedZonedDateTime extends AbstractPackedDateTime {
         return zoneAndOffset.offset;
     }
 
+    public long toEpochSeconds() {
+        return extractEpochDay() * 86_400L + extractSecondOfDay() - getOffset().getTotalSeconds();
+    }
+
+    public long toEpochMillis() {
+        return toEpochSeconds() * 1000 + extractMilli();
+    }
+
+    public Instant toInstant() {
+        return Instant.ofEpochSecond(toEpochSeconds(), extractNano());
+    }
+
     public int getYear() {
         return extractYear();
     }
@@ -152,9 +295,41 @@ public class PackedZonedDateTime extends AbstractPackedDateTime {
         return extractMilli() * 1_000_000;
     }
 
+    @Override
+    boolean hasOffset() {
+        return true;
+    }
+
+    @Override
+    int temporalOffsetSeconds() {
+        return getOffset().getTotalSeconds();
+    }
+
+    @Override
+    ZoneId temporalZone() {
+        return getZone();
+    }
+
     public String toString() {
-        char[] buf = new char[36];
-        int i = 0;
+        char[] buf = new char[maxFormattedLength()];
+
+        int len = formatTo(buf, 0);
+
+        return new String(buf, 0, len);
+    }
+
+    @Override
+    int maxFormattedLength() {
+        return 24 + CACHE.getZoneId(extractOffsetId()).suffix.length;
+    }
+
+    /**
+     * Writes the same text as {@link #toString()} at {@code off} and returns the offset after it, the buffer needs
+     * room for the bracketed region id in addition to the date, time and offset.
+     */
+    @Override
+    public int formatTo(char[] buf, int off) {
+        int i = off;
 
         i = appendDate(buf, i);
 
@@ -162,26 +337,26 @@ public class PackedZonedDateTime extends AbstractPackedDateTime {
 
         i = appendTime(buf, i);
 
-        ZoneAndOffset zoneAndOffset = CACHE.getZoneId(extractOffsetId());
+        char[] suffix = CACHE.getZoneId(extractOffsetId()).suffix;
+        System.arraycopy(suffix, 0, buf, i, suffix.length);
 
-        ZoneOffset offset = zoneAndOffset.offset;
-        ZoneId zoneId = zoneAndOffset.id;
+        return i + suffix.length;
+    }
 
-        int totalSeconds = offset.getTotalSeconds();
+    @Override
+    public int formatTo(byte[] buf, int off) {
+        int i = off;
 
-        if (totalSeconds == 0) {
-            buf[i++] = 'Z';
-        } else {
-            i = appendOffsetSeconds(totalSeconds, buf, i);
-        }
+        i = appendDate(buf, i);
 
-        String result = new String(buf, 0, i);
+        buf[i++] = 'T';
 
-        if (zoneId != offset) {
-            result += '[' + zoneId.toString() + ']';
-        }
+        i = appendTime(buf, i);
+
+        byte[] suffix = CACHE.getZoneId(extractOffsetId()).suffixBytes;
+        System.arraycopy(suffix, 0, buf, i, suffix.length);
 
-        return result;
+        return i + suffix.length;
     }
 
 
@@ -0,0 +1,117 @@
+package net.jhorstmann.packedtime;
+
+import java.time.format.DateTimeParseException;
+
+/**
+ * Receives the reason and position of a failed {@code tryParseToLong} call, without the cost of creating an
+ * exception and its stack trace. Only failed calls write into the holder, it is mutable and not thread-safe but
+ * can be reused for any number of calls.
+ * <p>
+ * The error index follows the rules of the corresponding {@code parse} method, it is relative to the start of
+ * the parsed region for bytes and relative to the beginning of a {@link CharSequence}.
+ */
+public class ParseError {
+
+    /**
+     * Returned by all {@code tryParseToLong} methods for invalid input, this is never the value of a valid packed
+     * date or time.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    public static final int NONE = 0;
+    public static final int END_OF_INPUT = 1;
+    public static final int UNEXPECTED_CHARACTER = 2;
+    public static final int NOT_A_DIGIT = 3;
+    public static final int MONTH_OUT_OF_RANGE = 4;
+    public static final int DAY_OUT_OF_RANGE = 5;
+    public static final int HOUR_OUT_OF_RANGE = 6;
+    public static final int MINUTE_OUT_OF_RANGE = 7;
+    public static final int SECOND_OUT_OF_RANGE = 8;
+    public static final int OFFSET_OUT_OF_RANGE = 9;
+    public static final int TRAILING_CHARACTERS = 10;
+    public static final int UNKNOWN_NAME = 11;
+    public static final int YEAR_OUT_OF_RANGE = 12;
+
+    private static final String[] NAMES = {
+            "NONE", "END_OF_INPUT", "UNEXPECTED_CHARACTER", "NOT_A_DIGIT", "MONTH_OUT_OF_RANGE", "DAY_OUT_OF_RANGE",
+            "HOUR_OUT_OF_RANGE", "MINUTE_OUT_OF_RANGE", "SECOND_OUT_OF_RANGE", "OFFSET_OUT_OF_RANGE", "TRAILING_CHARACTERS",
+            "UNKNOWN_NAME", "YEAR_OUT_OF_RANGE"
+    };
+
+    private int code;
+    private int errorIndex = -1;
+    // up to two expected ascii characters for UNEXPECTED_CHARACTER, only used for exception messages
+    private int expected;
+
+    public int getCode() {
+        return code;
+    }
+
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+    public boolean isError() {
+        return code != NONE;
+    }
+
+    public void clear() {
+        code = NONE;
+        errorIndex = -1;
+        expected = 0;
+    }
+
+    void set(int code, int errorIndex, int expected) {
+        this.code = code;
+        this.errorIndex = errorIndex;
+        this.expected = expected;
+    }
+
+    /**
+     * Creates the same exception as the throwing {@code parse} methods, {@code text} has to be the parsed input.
+     */
+    DateTimeParseException toException(CharSequence text) {
+        int i = errorIndex;
+        switch (code) {
+            case END_OF_INPUT:
+                return new DateTimeParseException("unexpected end of input at index " + i, text, i);
+            case UNEXPECTED_CHARACTER: {
+                char ch = text.charAt(i);
+                char expected1 = (char) (expected & 0xFF);
+                char expected2 = (char) (expected >>> 8);
+                if (expected2 == 0) {
+                    return new DateTimeParseException("expected '" + expected1 + "' at index " + i + " but got '" + ch + "'", text, i);
+                } else {
+                    return new DateTimeParseException("expected either '" + expected1 + "' or '" + expected2 + "' at index " + i + " but got '" + ch + "'", text, i);
+                }
+            }
+            case NOT_A_DIGIT:
+                return new DateTimeParseException("not a digit at index " + i, text, i);
+            case MONTH_OUT_OF_RANGE:
+                return new DateTimeParseException("Month out of range", text, i);
+            case DAY_OUT_OF_RANGE:
+                return new DateTimeParseException("Day out of range", text, i);
+            case HOUR_OUT_OF_RANGE:
+                return new DateTimeParseException("Hour out of range", text, i);
+            case MINUTE_OUT_OF_RANGE:
+                return new DateTimeParseException("Minute out of range", text, i);
+            case SECOND_OUT_OF_RANGE:
+                return new DateTimeParseException("Second out of range", text, i);
+            case OFFSET_OUT_OF_RANGE:
+                return new DateTimeParseException("Timezone offset out of range", text, i);
+            case TRAILING_CHARACTERS:
+                return new DateTimeParseException("trailing characters", text, i);
+            case UNKNOWN_NAME:
+                return new DateTimeParseException("unknown name at index " + i, text, i);
+            case YEAR_OUT_OF_RANGE:
+                return new DateTimeParseException("Year out of range", text, i);
+            default:
+                throw new IllegalStateException("No parse error");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParseError{" + NAMES[code] + " at index " + errorIndex + "}";
+    }
+}
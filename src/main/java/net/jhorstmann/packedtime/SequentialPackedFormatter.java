@@ -0,0 +1,115 @@
+package net.jhorstmann.packedtime;
+
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.MINUTE_SHIFT;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.appendMinuteAndSecond;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.appendOffset;
+
+
+/**
+ * Formatter for mostly sorted values like the timestamps of an event stream, where consecutive values share the
+ * same date and hour. The rendered {@code yyyy-MM-ddTHH:} prefix of the last value is remembered, if the date and
+ * hour bits of the next value are the same the prefix is copied and only minutes, seconds, fraction and offset are
+ * rendered. Any other value is formatted completely and its prefix remembered.
+ * <p>
+ * The text is the same as {@code toString} of {@link PackedOffsetDateTime} and {@link PackedLocalDateTime}.
+ * Instances are not thread-safe, each thread should use its own formatter.
+ */
+public class SequentialPackedFormatter {
+
+    // sign, year, month, day, hour and separators
+    private static final int MAX_PREFIX_LENGTH = 15;
+    private static final int MAX_LENGTH = 30;
+
+    private final char[] prefixChars = new char[MAX_PREFIX_LENGTH];
+    private final byte[] prefixBytes = new byte[MAX_PREFIX_LENGTH];
+    private long charsKey;
+    private long bytesKey;
+    private int charsLength;
+    private int bytesLength;
+
+    public String formatOffsetDateTime(long value) {
+        char[] buf = new char[MAX_LENGTH];
+        int len = formatOffsetDateTime(value, buf, 0);
+        return new String(buf, 0, len);
+    }
+
+    /**
+     * Writes the same text as {@link PackedOffsetDateTime#formatTo(char[], int)} and returns the offset after it.
+     */
+    public int formatOffsetDateTime(long value, char[] buf, int off) {
+        return format(value, true, buf, off);
+    }
+
+    public int formatOffsetDateTime(long value, byte[] buf, int off) {
+        return format(value, true, buf, off);
+    }
+
+    public String formatLocalDateTime(long value) {
+        char[] buf = new char[MAX_LENGTH];
+        int len = formatLocalDateTime(value, buf, 0);
+        return new String(buf, 0, len);
+    }
+
+    /**
+     * Writes the same text as {@link PackedLocalDateTime#formatTo(char[], int)} and returns the offset after it.
+     */
+    public int formatLocalDateTime(long value, char[] buf, int off) {
+        return format(value, false, buf, off);
+    }
+
+    public int formatLocalDateTime(long value, byte[] buf, int off) {
+        return format(value, false, buf, off);
+    }
+
+    /**
+     * Forgets the remembered prefix, the next value will be formatted completely.
+     */
+    public void reset() {
+        charsLength = 0;
+        bytesLength = 0;
+    }
+
+    private int format(long value, boolean hasOffset, char[] buf, int off) {
+        long key = value >> MINUTE_SHIFT;
+        int length = charsLength;
+        if (length != 0 && key == charsKey) {
+            System.arraycopy(prefixChars, 0, buf, off, length);
+            return appendTail(value, hasOffset, buf, off + length);
+        }
+
+        PackedTimeFormatter formatter = hasOffset ? PackedTimeFormatter.ISO_OFFSET_DATE_TIME : PackedTimeFormatter.ISO_LOCAL_DATE_TIME;
+        int end = formatter.formatTo(value, buf, off);
+        length = buf[off] == '-' ? MAX_PREFIX_LENGTH : MAX_PREFIX_LENGTH - 1;
+        System.arraycopy(buf, off, prefixChars, 0, length);
+        charsKey = key;
+        charsLength = length;
+        return end;
+    }
+
+    private int format(long value, boolean hasOffset, byte[] buf, int off) {
+        long key = value >> MINUTE_SHIFT;
+        int length = bytesLength;
+        if (length != 0 && key == bytesKey) {
+            System.arraycopy(prefixBytes, 0, buf, off, length);
+            return appendTail(value, hasOffset, buf, off + length);
+        }
+
+        PackedTimeFormatter formatter = hasOffset ? PackedTimeFormatter.ISO_OFFSET_DATE_TIME : PackedTimeFormatter.ISO_LOCAL_DATE_TIME;
+        int end = formatter.formatTo(value, buf, off);
+        length = buf[off] == '-' ? MAX_PREFIX_LENGTH : MAX_PREFIX_LENGTH - 1;
+        System.arraycopy(buf, off, prefixBytes, 0, length);
+        bytesKey = key;
+        bytesLength = length;
+        return end;
+    }
+
+    private static int appendTail(long value, boolean hasOffset, char[] buf, int i) {
+        i = appendMinuteAndSecond(value, PackedTimeFormatter.FRACTION_AUTO, false, buf, i);
+        return hasOffset ? appendOffset(value, true, buf, i) : i;
+    }
+
+    private static int appendTail(long value, boolean hasOffset, byte[] buf, int i) {
+        i = appendMinuteAndSecond(value, PackedTimeFormatter.FRACTION_AUTO, false, buf, i);
+        return hasOffset ? appendOffset(value, true, buf, i) : i;
+    }
+}
@@ -0,0 +1,195 @@
+package net.jhorstmann.packedtime;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser for mostly sorted input like log files, where consecutive timestamps share the same
+ * {@code yyyy-MM-ddTHH:} prefix. The last successfully parsed prefix is remembered together with its already
+ * validated date and hour, if the next input starts with the same characters only the remaining minutes, seconds,
+ * fraction and offset are parsed. Any other input is parsed completely and becomes the new prefix.
+ * <p>
+ * Byte input in one of the fixed length layouts of the SWAR parser is parsed by that parser directly, since it is
+ * faster than comparing the prefix. Results and exceptions are the same as for
+ * {@link PackedOffsetDateTime#parseToLong(CharSequence, int, int)} and
+ * {@link PackedLocalDateTime#parseToLong(CharSequence, int, int)}. Instances are not thread-safe, each thread
+ * should use its own parser.
+ */
+public class SequentialPackedParser {
+
+    private static final int PREFIX_LENGTH = DateTimeParser.PREFIX_LENGTH;
+
+    private final byte[] prefix = new byte[PREFIX_LENGTH];
+    // the prefix as two overlapping little endian words for comparing byte input
+    private long prefixLow;
+    private long prefixHigh;
+    private boolean hasPrefix;
+    private int date;
+    private int hour;
+
+    public long parseOffsetDateTimeToLong(CharSequence text) {
+        long value = tryParseOffsetDateTimeToLong(text, null);
+        if (value == ParseError.INVALID) {
+            ParseError error = new ParseError();
+            tryParseOffsetDateTimeToLong(text, error);
+            throw error.toException(text);
+        }
+        return value;
+    }
+
+    public long tryParseOffsetDateTimeToLong(CharSequence text, ParseError error) {
+        int end = text.length();
+        if (matches(text, end, ' ')) {
+            return DateTimeParser.tryParseOffsetDateTimeAfterPrefix(text, 0, end, date, hour, error);
+        }
+
+        long value = DateTimeParser.tryParseOffsetDateTimeToLong(text, 0, end, null, error);
+        if (value != ParseError.INVALID) {
+            remember(text, end, value);
+        }
+        return value;
+    }
+
+    public long parseOffsetDateTimeToLong(byte[] buf, int off, int len) {
+        long value = tryParseOffsetDateTimeToLong(buf, off, len, null);
+        if (value == ParseError.INVALID) {
+            ParseError error = new ParseError();
+            tryParseOffsetDateTimeToLong(buf, off, len, error);
+            throw error.toException(new String(buf, off, len, StandardCharsets.ISO_8859_1));
+        }
+        return value;
+    }
+
+    public long tryParseOffsetDateTimeToLong(byte[] buf, int off, int len, ParseError error) {
+        DateTimeParser.checkBounds(off, len, buf.length);
+
+        int end = off + len;
+        // the fixed length layouts are parsed faster as a whole than by comparing the prefix
+        long value = SwarDateTimeParser.parseOffsetDateTime(buf, off, end);
+        if (value != SwarDateTimeParser.NO_MATCH) {
+            return value;
+        }
+
+        if (matches(buf, off, len, ' ')) {
+            return DateTimeParser.tryParseOffsetDateTimeAfterPrefix(buf, off, end, date, hour, error);
+        }
+
+        value = DateTimeParser.tryParseOffsetDateTimeToLongScalar(buf, off, end, error);
+        if (value != ParseError.INVALID) {
+            remember(buf, off, len, value);
+        }
+        return value;
+    }
+
+    public long parseLocalDateTimeToLong(CharSequence text) {
+        long value = tryParseLocalDateTimeToLong(text, null);
+        if (value == ParseError.INVALID) {
+            ParseError error = new ParseError();
+            tryParseLocalDateTimeToLong(text, error);
+            throw error.toException(text);
+        }
+        return value;
+    }
+
+    public long tryParseLocalDateTimeToLong(CharSequence text, ParseError error) {
+        int end = text.length();
+        if (matches(text, end, 'T')) {
+            return DateTimeParser.tryParseLocalDateTimeAfterPrefix(text, 0, end, date, hour, error);
+        }
+
+        long value = DateTimeParser.tryParseLocalDateTimeToLong(text, 0, end, null, error);
+        if (value != ParseError.INVALID) {
+            remember(text, end, value);
+        }
+        return value;
+    }
+
+    public long parseLocalDateTimeToLong(byte[] buf, int off, int len) {
+        long value = tryParseLocalDateTimeToLong(buf, off, len, null);
+        if (value == ParseError.INVALID) {
+            ParseError error = new ParseError();
+            tryParseLocalDateTimeToLong(buf, off, len, error);
+            throw error.toException(new String(buf, off, len, StandardCharsets.ISO_8859_1));
+        }
+        return value;
+    }
+
+    public long tryParseLocalDateTimeToLong(byte[] buf, int off, int len, ParseError error) {
+        DateTimeParser.checkBounds(off, len, buf.length);
+
+        int end = off + len;
+        // the fixed length layouts are parsed faster as a whole than by comparing the prefix
+        long value = SwarDateTimeParser.parseLocalDateTime(buf, off, end);
+        if (value != SwarDateTimeParser.NO_MATCH) {
+            return value;
+        }
+
+        if (matches(buf, off, len, 'T')) {
+            return DateTimeParser.tryParseLocalDateTimeAfterPrefix(buf, off, end, date, hour, error);
+        }
+
+        value = DateTimeParser.tryParseLocalDateTimeToLongScalar(buf, off, end, error);
+        if (value != ParseError.INVALID) {
+            remember(buf, off, len, value);
+        }
+        return value;
+    }
+
+    /**
+     * Forgets the remembered prefix, the next input will be parsed completely.
+     */
+    public void reset() {
+        hasPrefix = false;
+    }
+
+    /**
+     * Checks whether the input starts with the remembered prefix, {@code otherSeparator} is the alternative to
+     * {@code 'T'} accepted between date and time, which is {@code 'T'} again for local date times.
+     */
+    private boolean matches(CharSequence text, int end, char otherSeparator) {
+        if (!hasPrefix || end < PREFIX_LENGTH || (prefix[10] != 'T' && prefix[10] != otherSeparator)) {
+            return false;
+        }
+        // compare backwards since the hour changes most frequently
+        for (int i = PREFIX_LENGTH - 1; i >= 0; i--) {
+            if (text.charAt(i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(byte[] buf, int off, int len, char otherSeparator) {
+        return hasPrefix && len >= PREFIX_LENGTH && (prefix[10] == 'T' || prefix[10] == otherSeparator)
+                && LittleEndian.getLong(buf, off + PREFIX_LENGTH - 8) == prefixHigh
+                && LittleEndian.getLong(buf, off) == prefixLow;
+    }
+
+    private void remember(CharSequence text, int end, long value) {
+        // only the common layout with a four digit year has the prefix at a fixed position
+        if (end >= PREFIX_LENGTH && text.charAt(4) == '-' && text.charAt(13) == ':') {
+            for (int i = 0; i < PREFIX_LENGTH; i++) {
+                prefix[i] = (byte) text.charAt(i);
+            }
+            remember(value);
+        } else {
+            hasPrefix = false;
+        }
+    }
+
+    private void remember(byte[] buf, int off, int len, long value) {
+        if (len >= PREFIX_LENGTH && buf[off + 4] == '-' && buf[off + 13] == ':') {
+            System.arraycopy(buf, off, prefix, 0, PREFIX_LENGTH);
+            remember(value);
+        } else {
+            hasPrefix = false;
+        }
+    }
+
+    private void remember(long value) {
+        prefixLow = LittleEndian.getLong(prefix, 0);
+        prefixHigh = LittleEndian.getLong(prefix, PREFIX_LENGTH - 8);
+        date = (int) (value >> AbstractPackedDateTime.DATE_SHIFT);
+        hour = AbstractPackedDateTime.extractHour(value);
+        hasPrefix = true;
+    }
+}
@@ -0,0 +1,197 @@
+package net.jhorstmann.packedtime;
+
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.TIME_SHIFT;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.combine;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.offsetIdOfMinutes;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packDate;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packTime;
+
+/**
+ * Fast path for parsing ASCII bytes in the most common fixed length layouts, validating and converting
+ * eight bytes at a time (SIMD within a register).
+ * <pre>
+ * length | layout
+ *     19 | yyyy-MM-ddTHH:mm:ss
+ *     20 | yyyy-MM-ddTHH:mm:ssZ
+ *     23 | yyyy-MM-ddTHH:mm:ss.SSS
+ *     24 | yyyy-MM-ddTHH:mm:ss.SSSZ
+ *     25 | yyyy-MM-ddTHH:mm:ss+hh:mm
+ *     29 | yyyy-MM-ddTHH:mm:ss.SSS+hh:mm
+ * </pre>
+ * Any other input, including invalid values, returns {@link #NO_MATCH} and should be handled by the scalar
+ * parser, which also produces the error messages.
+ */
+class SwarDateTimeParser {
+
+    /**
+     * Can never be a valid encoded value since it has year -32768 and month 0.
+     */
+    static final long NO_MATCH = Long.MIN_VALUE;
+
+    /*
+     * A little endian word containing "dd?dd?dd" has digits in bytes 0, 1, 3, 4, 6 and 7 and separators
+     * in bytes 2 and 5. This matches both "yy-MM-dd" and "HH:mm:ss".
+     */
+    private static final long DIGITS = 0xFFFF_00FF_FF00_FFFFL;
+    private static final long ZEROS = 0x3030_0030_3000_3030L;
+    private static final long HIGH_NIBBLES = 0xF0F0_00F0_F000_F0F0L;
+    private static final long SIXES = 0x0606_0006_0600_0606L;
+    private static final long SEPARATORS = 0x0000_FF00_00FF_0000L;
+    private static final long DATE_SEPARATORS = (long) '-' << 40 | (long) '-' << 16;
+    private static final long TIME_SEPARATORS = (long) ':' << 40 | (long) ':' << 16;
+    private static final long PAIRS = 0x00FF_0000_FF00_00FFL;
+
+    private SwarDateTimeParser() {
+    }
+
+    static long parseOffsetDateTime(byte[] buf, int start, int end) {
+        int len = end - start;
+        if (len != 20 && len != 24 && len != 25 && len != 29) {
+            return NO_MATCH;
+        }
+
+        byte separator = buf[start + 10];
+        if (separator != 'T' && separator != ' ') {
+            return NO_MATCH;
+        }
+
+        long dateTime = parseDateTime(buf, start);
+        if (dateTime == NO_MATCH) {
+            return NO_MATCH;
+        }
+
+        int i = start + 19;
+        int milli = 0;
+        if (buf[i] == '.') {
+            if (end - i < 4) {
+                // truncated fraction, the scalar parser reports the end of input
+                return NO_MATCH;
+            }
+            milli = parseMilli(buf, i + 1);
+            if (milli < 0) {
+                return NO_MATCH;
+            }
+            i += 4;
+        }
+
+        int offsetId;
+        int remaining = end - i;
+        if (remaining == 1 && buf[i] == 'Z') {
+            offsetId = offsetIdOfMinutes(0);
+        } else if (remaining == 6) {
+            int offsetMinute = parseOffsetMinute(buf, i);
+            if (offsetMinute == Integer.MIN_VALUE) {
+                return NO_MATCH;
+            }
+            offsetId = offsetIdOfMinutes(offsetMinute);
+        } else {
+            return NO_MATCH;
+        }
+
+        return dateTime | ((long) milli) << TIME_SHIFT | offsetId;
+    }
+
+    static long parseLocalDateTime(byte[] buf, int start, int end) {
+        int len = end - start;
+        if (len != 19 && len != 23) {
+            return NO_MATCH;
+        }
+
+        if (buf[start + 10] != 'T') {
+            return NO_MATCH;
+        }
+
+        long dateTime = parseDateTime(buf, start);
+        if (dateTime == NO_MATCH) {
+            return NO_MATCH;
+        }
+
+        int milli = 0;
+        if (len == 23) {
+            if (buf[start + 19] != '.') {
+                return NO_MATCH;
+            }
+            milli = parseMilli(buf, start + 20);
+            if (milli < 0) {
+                return NO_MATCH;
+            }
+        }
+
+        return dateTime | ((long) milli) << TIME_SHIFT;
+    }
+
+    /**
+     * Parses and validates the fixed "yyyy-MM-dd?HH:mm:ss" part, the separator at index 10 is checked by the caller.
+     */
+    private static long parseDateTime(byte[] buf, int start) {
+        int c0 = buf[start] - '0';
+        int c1 = buf[start + 1] - '0';
+        if (c0 < 0 || c0 > 9 || c1 < 0 || c1 > 9) {
+            return NO_MATCH;
+        }
+
+        long date = parseTriple(LittleEndian.getLong(buf, start + 2), DATE_SEPARATORS);
+        long time = parseTriple(LittleEndian.getLong(buf, start + 11), TIME_SEPARATORS);
+        if ((date | time) < 0) {
+            return NO_MATCH;
+        }
+
+        int year = (c0 * 10 + c1) * 100 + (int) (date & 0xFF);
+        int month = (int) (date >>> 24) & 0xFF;
+        int day = (int) (date >>> 48) & 0xFF;
+        int hour = (int) (time & 0xFF);
+        int minute = (int) (time >>> 24) & 0xFF;
+        int second = (int) (time >>> 48) & 0xFF;
+
+        if (!DateTimeParser.isValidDate(year, month, day) || !DateTimeParser.isValidTime(hour, minute, second)) {
+            return NO_MATCH;
+        }
+
+        return combine(packDate(year, month, day), packTime(hour, minute, second, 0), 0);
+    }
+
+    /**
+     * Validates a "dd?dd?dd" word and converts it into three two digit numbers in bytes 0, 3 and 6,
+     * returns a negative value if the digits or separators do not match.
+     */
+    private static long parseTriple(long word, long separators) {
+        if ((word & SEPARATORS) != separators
+                || (word & HIGH_NIBBLES) != ZEROS
+                || ((word + SIXES) & HIGH_NIBBLES) != ZEROS) {
+            return -1;
+        }
+
+        long digits = (word & DIGITS) - ZEROS;
+
+        return (digits * 10 + (digits >>> 8)) & PAIRS;
+    }
+
+    private static int parseMilli(byte[] buf, int i) {
+        int d0 = buf[i] - '0';
+        int d1 = buf[i + 1] - '0';
+        int d2 = buf[i + 2] - '0';
+        if (d0 < 0 || d0 > 9 || d1 < 0 || d1 > 9 || d2 < 0 || d2 > 9) {
+            return -1;
+        }
+        return d0 * 100 + d1 * 10 + d2;
+    }
+
+    private static int parseOffsetMinute(byte[] buf, int i) {
+        byte sign = buf[i];
+        if (sign != '+' && sign != '-' || buf[i + 3] != ':') {
+            return Integer.MIN_VALUE;
+        }
+        int h0 = buf[i + 1] - '0';
+        int h1 = buf[i + 2] - '0';
+        int m0 = buf[i + 4] - '0';
+        int m1 = buf[i + 5] - '0';
+        if (h0 < 0 || h0 > 9 || h1 < 0 || h1 > 9 || m0 < 0 || m0 > 5 || m1 < 0 || m1 > 9) {
+            return Integer.MIN_VALUE;
+        }
+        int offsetMinute = (h0 * 10 + h1) * 60 + m0 * 10 + m1;
+        if (offsetMinute > AbstractPackedDateTime.MAX_OFFSET_MINUTES) {
+            return Integer.MIN_VALUE;
+        }
+        return sign == '-' ? -offsetMinute : offsetMinute;
+    }
+}
@@ -0,0 +1,28 @@
+package net.jhorstmann.packedtime;
+
+/**
+ * Portable implementation of the batch parser, records are parsed one at a time. It is replaced on Java 17 and
+ * later by a version that uses the vector api if available.
+ */
+class VectorDateTimeParser {
+
+    private VectorDateTimeParser() {
+    }
+
+    static boolean isVectorized() {
+        return false;
+    }
+
+    static void parseOffsetDateTimes(byte[][] inputs, long[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            byte[] buf = inputs[i];
+            out[i] = DateTimeParser.parseOffsetDateTimeToLong(buf, 0, buf.length);
+        }
+    }
+
+    static void parseOffsetDateTimes(byte[] buf, int[] offsets, int[] lengths, long[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = DateTimeParser.parse(buf, offsets[i], lengths[i], DateTimeParser::tryParseOffsetDateTimeToLong);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package net.jhorstmann.packedtime;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Set;
+
+/**
+ * Lock-free lookup of the available region based zone ids by the characters of their name, without creating a
+ * substring or calling {@link ZoneId#of(String)} once a region was resolved.
+ * <p>
+ * The names are stored in an open addressing hash table that is built once and never modified. Each region
+ * lazily resolves its {@link ZoneId} and remembers the interval between two offset transitions containing the last
+ * looked up instant, together with the packed zone id for that offset. Concurrent threads might resolve the same
+ * region or interval more than once, but always publish equivalent immutable values.
+ */
+final class ZoneRegions {
+
+    static final class Region {
+        final String name;
+        private volatile ZoneId zone;
+        private volatile Interval interval;
+
+        Region(String name) {
+            this.name = name;
+        }
+
+        ZoneId getZone() {
+            ZoneId zone = this.zone;
+            if (zone == null) {
+                zone = ZoneId.of(name);
+                this.zone = zone;
+            }
+            return zone;
+        }
+
+        /**
+         * Returns the interval of constant offset containing the given instant.
+         */
+        Interval getInterval(long epochSecond) {
+            Interval interval = this.interval;
+            if (interval == null || epochSecond < interval.from || epochSecond >= interval.until) {
+                interval = Interval.of(getZone(), epochSecond);
+                this.interval = interval;
+            }
+            return interval;
+        }
+    }
+
+    static final class Interval {
+        final long from;
+        final long until;
+        final int offsetSeconds;
+        final int packedId;
+
+        private Interval(long from, long until, ZoneOffset offset, int packedId) {
+            this.from = from;
+            this.until = until;
+            this.offsetSeconds = offset.getTotalSeconds();
+            this.packedId = packedId;
+        }
+
+        static Interval of(ZoneId zone, long epochSecond) {
+            ZoneRules rules = zone.getRules();
+            Instant instant = Instant.ofEpochSecond(epochSecond);
+            ZoneOffset offset = rules.getOffset(instant);
+            ZoneOffsetTransition previous = rules.previousTransition(instant);
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+
+            long from;
+            if (previous == null) {
+                from = Long.MIN_VALUE;
+            } else if (previous.getOffsetAfter().equals(offset)) {
+                from = previous.toEpochSecond();
+            } else {
+                // the instant is exactly at a transition
+                from = epochSecond;
+            }
+            long until = next == null ? Long.MAX_VALUE : next.toEpochSecond();
+
+            return new Interval(from, until, offset, PackedZonedDateTime.zoneId(zone, offset));
+        }
+    }
+
+    private static final Region[] TABLE;
+    private static final int MASK;
+
+    static {
+        Set<String> ids = ZoneId.getAvailableZoneIds();
+        int size = Integer.highestOneBit(ids.size() * 4 - 1);
+        Region[] table = new Region[size];
+        int mask = size - 1;
+        for (String id : ids) {
+            int i = spread(id.hashCode()) & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = new Region(id);
+        }
+        TABLE = table;
+        MASK = mask;
+    }
+
+    private ZoneRegions() {
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Finds the region with the name in the range from start (inclusive) to end (exclusive), or null if there is
+     * no such region.
+     */
+    static Region lookup(CharSequence str, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + str.charAt(i);
+        }
+        Region[] table = TABLE;
+        for (int i = spread(hash) & MASK; ; i = (i + 1) & MASK) {
+            Region region = table[i];
+            if (region == null) {
+                return null;
+            }
+            if (matches(region.name, str, start, end)) {
+                return region;
+            }
+        }
+    }
+
+    static Region lookup(byte[] buf, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + (buf[i] & 0xFF);
+        }
+        Region[] table = TABLE;
+        for (int i = spread(hash) & MASK; ; i = (i + 1) & MASK) {
+            Region region = table[i];
+            if (region == null) {
+                return null;
+            }
+            if (matches(region.name, buf, start, end)) {
+                return region;
+            }
+        }
+    }
+
+    private static boolean matches(String name, CharSequence str, int start, int end) {
+        int len = name.length();
+        if (len != end - start) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (name.charAt(i) != str.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String name, byte[] buf, int start, int end) {
+        int len = name.length();
+        if (len != end - start) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (name.charAt(i) != (buf[start + i] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
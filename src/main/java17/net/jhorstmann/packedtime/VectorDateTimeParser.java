@@ -0,0 +1,49 @@
+package net.jhorstmann.packedtime;
+
+/**
+ * Uses {@link VectorOffsetDateTimeParser} when the incubating vector module is part of the boot layer and the
+ * hardware supports 256 bit vectors, otherwise parses one record at a time like the portable implementation.
+ */
+class VectorDateTimeParser {
+
+    private static final boolean VECTORIZED = isVectorApiAvailable();
+
+    private VectorDateTimeParser() {
+    }
+
+    private static boolean isVectorApiAvailable() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorOffsetDateTimeParser.isSupported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    static void parseOffsetDateTimes(byte[][] inputs, long[] out, int count) {
+        if (VECTORIZED) {
+            VectorOffsetDateTimeParser.parseOffsetDateTimes(inputs, out, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                byte[] buf = inputs[i];
+                out[i] = DateTimeParser.parseOffsetDateTimeToLong(buf, 0, buf.length);
+            }
+        }
+    }
+
+    static void parseOffsetDateTimes(byte[] buf, int[] offsets, int[] lengths, long[] out, int count) {
+        if (VECTORIZED) {
+            VectorOffsetDateTimeParser.parseOffsetDateTimes(buf, offsets, lengths, out, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                out[i] = DateTimeParser.parse(buf, offsets[i], lengths[i], DateTimeParser::tryParseOffsetDateTimeToLong);
+            }
+        }
+    }
+}
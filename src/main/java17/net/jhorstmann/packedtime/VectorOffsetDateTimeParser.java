@@ -0,0 +1,219 @@
+package net.jhorstmann.packedtime;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.combine;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.offsetIdOfMinutes;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packDate;
+import static net.jhorstmann.packedtime.AbstractPackedDateTime.packTime;
+import static net.jhorstmann.packedtime.SwarDateTimeParser.NO_MATCH;
+
+/**
+ * Validates and converts a whole record with a few 256 bit vector operations. Supports the same fixed length
+ * offset date time layouts as {@link SwarDateTimeParser}, other records and invalid values are handed to the
+ * scalar parser.
+ * <p>
+ * Each record is loaded into one vector. All digit and separator lanes are checked against a per layout template
+ * at once, then the digit pairs are shuffled next to each other, multiplied with alternating weights of 10 and 1
+ * and summed horizontally by reinterpreting the bytes as shorts.
+ */
+class VectorOffsetDateTimeParser {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_256;
+    private static final int LANES = 32;
+
+    private static final int CENTURY = 0;
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int DAY = 3;
+    private static final int HOUR = 4;
+    private static final int MINUTE = 5;
+    private static final int SECOND = 6;
+    private static final int MILLI_HIGH = 7;
+    private static final int MILLI_LOW = 8;
+    private static final int OFFSET_HOUR = 9;
+    private static final int OFFSET_MINUTE = 10;
+
+    private static final Layout[] LAYOUTS = new Layout[LANES];
+
+    static {
+        LAYOUTS[20] = new Layout(false, false);
+        LAYOUTS[24] = new Layout(true, false);
+        LAYOUTS[25] = new Layout(false, true);
+        LAYOUTS[29] = new Layout(true, true);
+    }
+
+    private VectorOffsetDateTimeParser() {
+    }
+
+    static boolean isSupported() {
+        return ByteVector.SPECIES_PREFERRED.vectorBitSize() >= SPECIES.vectorBitSize();
+    }
+
+    static void parseOffsetDateTimes(byte[][] inputs, long[] out, int count) {
+        byte[] scratch = new byte[LANES];
+        short[] pairs = new short[LANES / 2];
+        for (int i = 0; i < count; i++) {
+            byte[] buf = inputs[i];
+            long value = parseOffsetDateTime(buf, 0, buf.length, scratch, pairs);
+            out[i] = value != NO_MATCH ? value : DateTimeParser.parseOffsetDateTimeToLong(buf, 0, buf.length);
+        }
+    }
+
+    static void parseOffsetDateTimes(byte[] buf, int[] offsets, int[] lengths, long[] out, int count) {
+        byte[] scratch = new byte[LANES];
+        short[] pairs = new short[LANES / 2];
+        for (int i = 0; i < count; i++) {
+            int off = offsets[i];
+            int len = lengths[i];
+            DateTimeParser.checkBounds(off, len, buf.length);
+            long value = parseOffsetDateTime(buf, off, len, scratch, pairs);
+            out[i] = value != NO_MATCH ? value : DateTimeParser.parseOffsetDateTimeToLong(buf, off, off + len);
+        }
+    }
+
+    private static long parseOffsetDateTime(byte[] buf, int start, int len, byte[] scratch, short[] pairs) {
+        Layout layout = len < LAYOUTS.length ? LAYOUTS[len] : null;
+        if (layout == null) {
+            return NO_MATCH;
+        }
+
+        ByteVector chars;
+        if (start <= buf.length - LANES) {
+            chars = ByteVector.fromArray(SPECIES, buf, start);
+        } else {
+            System.arraycopy(buf, start, scratch, 0, len);
+            chars = ByteVector.fromArray(SPECIES, scratch, 0);
+        }
+
+        ByteVector digits = chars.sub((byte) '0');
+        VectorMask<Byte> valid = digits.compare(VectorOperators.UNSIGNED_LT, (byte) 10).and(layout.digits)
+                .or(chars.eq(layout.template).and(layout.separators))
+                .or(layout.any);
+        if (!valid.allTrue()) {
+            return NO_MATCH;
+        }
+
+        byte separator = buf[start + 10];
+        if (separator != 'T' && separator != ' ') {
+            return NO_MATCH;
+        }
+
+        ShortVector weighted = digits.rearrange(layout.shuffle).mul(layout.weights).reinterpretAsShorts();
+        weighted.and((short) 0xFF).add(weighted.lanewise(VectorOperators.LSHR, 8)).intoArray(pairs, 0);
+
+        int year = pairs[CENTURY] * 100 + pairs[YEAR];
+        int month = pairs[MONTH];
+        int day = pairs[DAY];
+        int hour = pairs[HOUR];
+        int minute = pairs[MINUTE];
+        int second = pairs[SECOND];
+        int milli = pairs[MILLI_HIGH] * 10 + pairs[MILLI_LOW];
+
+        if (!DateTimeParser.isValidDate(year, month, day) || !DateTimeParser.isValidTime(hour, minute, second)) {
+            return NO_MATCH;
+        }
+
+        int offsetMinute = 0;
+        if (layout.signIndex >= 0) {
+            int offsetMinuteOfHour = pairs[OFFSET_MINUTE];
+            offsetMinute = pairs[OFFSET_HOUR] * 60 + offsetMinuteOfHour;
+            if (offsetMinuteOfHour > 59 || offsetMinute > AbstractPackedDateTime.MAX_OFFSET_MINUTES) {
+                return NO_MATCH;
+            }
+            byte sign = buf[start + layout.signIndex];
+            if (sign == '-') {
+                offsetMinute = -offsetMinute;
+            } else if (sign != '+') {
+                return NO_MATCH;
+            }
+        }
+
+        return combine(packDate(year, month, day), packTime(hour, minute, second, milli), offsetIdOfMinutes(offsetMinute));
+    }
+
+    private static final class Layout {
+        final VectorMask<Byte> digits;
+        final VectorMask<Byte> separators;
+        final VectorMask<Byte> any;
+        final ByteVector template;
+        final VectorShuffle<Byte> shuffle;
+        final ByteVector weights;
+        final int signIndex;
+
+        private final boolean[] digitLanes = new boolean[LANES];
+        private final boolean[] separatorLanes = new boolean[LANES];
+        private final boolean[] anyLanes = new boolean[LANES];
+        private final byte[] templateLanes = new byte[LANES];
+        private final int[] shuffleLanes = new int[LANES];
+        private final byte[] weightLanes = new byte[LANES];
+
+        Layout(boolean fraction, boolean offset) {
+            pair(CENTURY, 0);
+            pair(YEAR, 2);
+            separator(4, '-');
+            pair(MONTH, 5);
+            separator(7, '-');
+            pair(DAY, 8);
+            anyLanes[10] = true;
+            pair(HOUR, 11);
+            separator(13, ':');
+            pair(MINUTE, 14);
+            separator(16, ':');
+            pair(SECOND, 17);
+
+            int i = 19;
+            if (fraction) {
+                separator(i, '.');
+                pair(MILLI_HIGH, i + 1);
+                digitLanes[i + 3] = true;
+                shuffleLanes[2 * MILLI_LOW] = i + 3;
+                weightLanes[2 * MILLI_LOW] = 1;
+                i += 4;
+            }
+
+            if (offset) {
+                signIndex = i;
+                anyLanes[i] = true;
+                pair(OFFSET_HOUR, i + 1);
+                separator(i + 3, ':');
+                pair(OFFSET_MINUTE, i + 4);
+                i += 6;
+            } else {
+                signIndex = -1;
+                separator(i, 'Z');
+                i += 1;
+            }
+
+            for (; i < LANES; i++) {
+                anyLanes[i] = true;
+            }
+
+            this.digits = VectorMask.fromArray(SPECIES, digitLanes, 0);
+            this.separators = VectorMask.fromArray(SPECIES, separatorLanes, 0);
+            this.any = VectorMask.fromArray(SPECIES, anyLanes, 0);
+            this.template = ByteVector.fromArray(SPECIES, templateLanes, 0);
+            this.shuffle = VectorShuffle.fromArray(SPECIES, shuffleLanes, 0);
+            this.weights = ByteVector.fromArray(SPECIES, weightLanes, 0);
+        }
+
+        private void pair(int field, int i) {
+            digitLanes[i] = true;
+            digitLanes[i + 1] = true;
+            shuffleLanes[2 * field] = i;
+            shuffleLanes[2 * field + 1] = i + 1;
+            weightLanes[2 * field] = 10;
+            weightLanes[2 * field + 1] = 1;
+        }
+
+        private void separator(int i, char ch) {
+            separatorLanes[i] = true;
+            templateLanes[i] = (byte) ch;
+        }
+    }
+}
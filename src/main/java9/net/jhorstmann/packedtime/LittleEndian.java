@@ -0,0 +1,20 @@
+package net.jhorstmann.packedtime;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Reads multiple bytes of an array as one little endian word using a byte array view {@code VarHandle}.
+ */
+class LittleEndian {
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private LittleEndian() {
+    }
+
+    static long getLong(byte[] buf, int i) {
+        return (long) LONG.get(buf, i);
+    }
+}
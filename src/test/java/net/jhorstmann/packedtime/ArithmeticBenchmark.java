@@ -0,0 +1,108 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adding small amounts, which mostly stay within the minute or month, compared to the round trip through
+ * {@link java.time.OffsetDateTime}.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class ArithmeticBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        long[] packed;
+        long[] amounts;
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.packed = new long[size];
+            this.amounts = new long[size];
+            for (int i = 0; i < size; i++) {
+                packed[i] = PackedOffsetDateTime.fromOffsetDateTime(Instant.ofEpochMilli(r.nextLong(0, 4_000_000_000_000L))
+                        .atOffset(ZoneOffset.ofHours(r.nextInt(-12, 13)))).getValue();
+                amounts[i] = r.nextInt(-30, 31);
+            }
+        }
+    }
+
+    @Benchmark
+    public void packedPlusSeconds(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.plusSeconds(input.packed[i], input.amounts[i]));
+        }
+    }
+
+    @Benchmark
+    public void javaTimePlusSeconds(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.fromOffsetDateTime(PackedOffsetDateTime.toOffsetDateTime(input.packed[i]).plusSeconds(input.amounts[i])).getValue());
+        }
+    }
+
+    @Benchmark
+    public void packedPlusMinutes(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.plusMinutes(input.packed[i], input.amounts[i] * 100));
+        }
+    }
+
+    @Benchmark
+    public void javaTimePlusMinutes(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.fromOffsetDateTime(PackedOffsetDateTime.toOffsetDateTime(input.packed[i]).plusMinutes(input.amounts[i] * 100)).getValue());
+        }
+    }
+
+    @Benchmark
+    public void packedPlusDays(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.plusDays(input.packed[i], input.amounts[i]));
+        }
+    }
+
+    @Benchmark
+    public void javaTimePlusDays(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.fromOffsetDateTime(PackedOffsetDateTime.toOffsetDateTime(input.packed[i]).plusDays(input.amounts[i])).getValue());
+        }
+    }
+
+    @Benchmark
+    public void packedPlusMonths(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.plusMonths(input.packed[i], input.amounts[i]));
+        }
+    }
+
+    @Benchmark
+    public void javaTimePlusMonths(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.fromOffsetDateTime(PackedOffsetDateTime.toOffsetDateTime(input.packed[i]).plusMonths(input.amounts[i])).getValue());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(ArithmeticBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
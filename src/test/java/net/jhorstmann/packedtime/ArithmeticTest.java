@@ -0,0 +1,104 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ArithmeticTest {
+
+    private static long amount(ThreadLocalRandom r) {
+        switch (r.nextInt(4)) {
+            case 0:
+                return r.nextInt(-3, 4);
+            case 1:
+                return r.nextInt(-100, 100);
+            case 2:
+                return r.nextInt(-100_000, 100_000);
+            default:
+                return r.nextLong(-10_000_000_000L, 10_000_000_000L);
+        }
+    }
+
+    private static OffsetDateTime randomOffsetDateTime(ThreadLocalRandom r) {
+        LocalDate month = LocalDate.of(r.nextInt(1000, 3000), r.nextInt(1, 13), 1);
+        // days at the end of the month are more likely to hit the carry and clamping paths
+        int day = r.nextBoolean() ? r.nextInt(1, month.lengthOfMonth() + 1) : month.lengthOfMonth() - r.nextInt(3);
+        return OffsetDateTime.of(month.withDayOfMonth(day), LocalTime.of(r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1_000_000),
+                ZoneOffset.ofHours(r.nextInt(-12, 13)));
+    }
+
+    @Test
+    public void shouldAddLikeJavaTime() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 20_000; i++) {
+            OffsetDateTime odt = randomOffsetDateTime(r);
+            PackedOffsetDateTime packed = PackedOffsetDateTime.fromOffsetDateTime(odt);
+            long seconds = amount(r);
+            long minutes = amount(r) / 60;
+            long days = amount(r) / 86_400;
+            long months = amount(r) / 2_000_000;
+
+            Assertions.assertEquals(odt.plusSeconds(seconds), packed.plusSeconds(seconds).toOffsetDateTime(), odt + " + " + seconds + "s");
+            Assertions.assertEquals(odt.minusSeconds(seconds), packed.minusSeconds(seconds).toOffsetDateTime(), odt + " - " + seconds + "s");
+            Assertions.assertEquals(odt.plusMinutes(minutes), packed.plusMinutes(minutes).toOffsetDateTime(), odt + " + " + minutes + "m");
+            Assertions.assertEquals(odt.minusMinutes(minutes), packed.minusMinutes(minutes).toOffsetDateTime(), odt + " - " + minutes + "m");
+            Assertions.assertEquals(odt.plusDays(days), packed.plusDays(days).toOffsetDateTime(), odt + " + " + days + "d");
+            Assertions.assertEquals(odt.minusDays(days), packed.minusDays(days).toOffsetDateTime(), odt + " - " + days + "d");
+            Assertions.assertEquals(odt.plusMonths(months), packed.plusMonths(months).toOffsetDateTime(), odt + " + " + months + "M");
+            Assertions.assertEquals(odt.minusMonths(months), packed.minusMonths(months).toOffsetDateTime(), odt + " - " + months + "M");
+
+            LocalDateTime ldt = odt.toLocalDateTime();
+            long value = PackedLocalDateTime.fromLocalDateTime(ldt).getValue();
+            Assertions.assertEquals(ldt.plusSeconds(seconds), PackedLocalDateTime.toLocalDateTime(PackedLocalDateTime.plusSeconds(value, seconds)));
+            Assertions.assertEquals(ldt.plusMinutes(minutes), PackedLocalDateTime.toLocalDateTime(PackedLocalDateTime.plusMinutes(value, minutes)));
+            Assertions.assertEquals(ldt.minusDays(days), PackedLocalDateTime.toLocalDateTime(PackedLocalDateTime.minusDays(value, days)));
+            Assertions.assertEquals(ldt.plusMonths(months), PackedLocalDateTime.toLocalDateTime(PackedLocalDateTime.plusMonths(value, months)));
+
+            LocalDate date = odt.toLocalDate();
+            PackedLocalDate packedDate = PackedLocalDate.fromLocalDate(date);
+            Assertions.assertEquals(date.plusDays(days), packedDate.plusDays(days).toLocalDate());
+            Assertions.assertEquals(date.minusMonths(months), packedDate.minusMonths(months).toLocalDate());
+
+            LocalTime time = odt.toLocalTime();
+            PackedLocalTime packedTime = PackedLocalTime.fromLocalTime(time);
+            Assertions.assertEquals(time.plusSeconds(seconds), packedTime.plusSeconds(seconds).toLocalTime(), time + " + " + seconds + "s");
+            Assertions.assertEquals(time.minusMinutes(minutes), packedTime.minusMinutes(minutes).toLocalTime(), time + " - " + minutes + "m");
+
+            OffsetTime offsetTime = odt.toOffsetTime();
+            PackedOffsetTime packedOffsetTime = PackedOffsetTime.fromOffsetTime(offsetTime);
+            Assertions.assertEquals(offsetTime.minusSeconds(seconds), packedOffsetTime.minusSeconds(seconds).toOffsetTime());
+            Assertions.assertEquals(offsetTime.plusMinutes(minutes), packedOffsetTime.plusMinutes(minutes).toOffsetTime());
+        }
+    }
+
+    @Test
+    public void shouldClampDayOfMonth() {
+        PackedLocalDate date = PackedLocalDate.fromLocalDate(LocalDate.of(2020, 1, 31));
+
+        Assertions.assertEquals(LocalDate.of(2020, 2, 29), date.plusMonths(1).toLocalDate());
+        Assertions.assertEquals(LocalDate.of(2019, 2, 28), date.minusMonths(11).toLocalDate());
+        Assertions.assertEquals(LocalDate.of(2020, 4, 30), date.plusMonths(3).toLocalDate());
+        Assertions.assertEquals(LocalDate.of(2021, 1, 31), date.plusMonths(12).toLocalDate());
+    }
+
+    @Test
+    public void shouldThrowOutsideOfYearRange() {
+        PackedOffsetDateTime max = PackedOffsetDateTime.fromOffsetDateTime(OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC));
+        PackedLocalDate min = PackedLocalDate.fromLocalDate(LocalDate.of(-9999, 1, 1));
+
+        Assertions.assertThrows(DateTimeException.class, () -> max.plusSeconds(1));
+        Assertions.assertThrows(DateTimeException.class, () -> max.plusMonths(1));
+        Assertions.assertThrows(DateTimeException.class, () -> min.minusDays(1));
+        Assertions.assertThrows(DateTimeException.class, () -> min.minusMonths(1));
+        Assertions.assertThrows(ArithmeticException.class, () -> max.minusSeconds(Long.MIN_VALUE));
+        Assertions.assertThrows(ArithmeticException.class, () -> max.plusMinutes(Long.MAX_VALUE));
+    }
+}
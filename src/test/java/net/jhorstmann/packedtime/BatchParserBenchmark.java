@@ -0,0 +1,105 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scores are records per second on a single thread. To measure the vectorized implementation run on Java 17
+ * with the multi-release jar on the classpath and {@code -jvmArgsAppend "--add-modules jdk.incubator.vector"}.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+@OperationsPerInvocation(BatchParserBenchmark.SIZE)
+public class BatchParserBenchmark {
+
+    static final int SIZE = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"uuuu-MM-dd'T'HH:mm:ss.SSS'Z'", "uuuu-MM-dd'T'HH:mm:ss.SSSxxx"})
+        String pattern;
+
+        byte[][] records;
+        byte[] buf;
+        int[] offsets;
+        int[] lengths;
+        long[] out;
+
+        @Setup
+        public void setup() {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            StringBuilder sb = new StringBuilder();
+            this.records = new byte[SIZE][];
+            this.offsets = new int[SIZE];
+            this.lengths = new int[SIZE];
+            this.out = new long[SIZE];
+            long[] expected = new long[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                ZoneOffset offset = pattern.endsWith("'Z'") ? ZoneOffset.UTC : ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60) - 18 * 60) * 60);
+                OffsetDateTime odt = OffsetDateTime.of(r.nextInt(3000), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, offset);
+                String str = formatter.format(odt);
+
+                this.records[i] = str.getBytes(StandardCharsets.US_ASCII);
+                this.offsets[i] = sb.length();
+                this.lengths[i] = str.length();
+                sb.append(str).append('\n');
+                expected[i] = PackedOffsetDateTime.parseToLong(str);
+            }
+            this.buf = sb.toString().getBytes(StandardCharsets.US_ASCII);
+
+            PackedTimeBatchParser.parseOffsetDateTimes(records, out);
+            if (!Arrays.equals(expected, out)) {
+                throw new AssertionError("batch results not equal");
+            }
+            PackedTimeBatchParser.parseOffsetDateTimes(buf, offsets, lengths, out);
+            if (!Arrays.equals(expected, out)) {
+                throw new AssertionError("contiguous batch results not equal");
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseSingle(Input input, Blackhole blackhole) {
+        byte[][] records = input.records;
+        for (int i = 0; i < SIZE; i++) {
+            byte[] bytes = records[i];
+            blackhole.consume(PackedOffsetDateTime.parseToLong(bytes, 0, bytes.length));
+        }
+    }
+
+    @Benchmark
+    public long[] parseBatchArrays(Input input) {
+        PackedTimeBatchParser.parseOffsetDateTimes(input.records, input.out);
+        return input.out;
+    }
+
+    @Benchmark
+    public long[] parseBatchContiguous(Input input) {
+        PackedTimeBatchParser.parseOffsetDateTimes(input.buf, input.offsets, input.lengths, input.out);
+        return input.out;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(BatchParserBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
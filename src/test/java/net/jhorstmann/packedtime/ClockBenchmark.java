@@ -0,0 +1,102 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Current time as value and formatted like a log timestamp, run with several threads sharing the clocks.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class ClockBenchmark {
+
+    private static final ZoneOffset OFFSET = ZoneOffset.ofHours(1);
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSxxx");
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        final Clock clock = Clock.system(OFFSET);
+        final PackedClock packedClock = PackedClock.of(clock);
+    }
+
+    @State(Scope.Thread)
+    public static class Output {
+        final char[] chars = new char[64];
+        final byte[] bytes = new byte[64];
+        final StringBuilder builder = new StringBuilder(64);
+    }
+
+    @Benchmark
+    public void packedNowToLong(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.packedClock.nowToLong());
+        }
+    }
+
+    @Benchmark
+    public void packedOffsetDateTimeNowToLong(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.nowToLong(OFFSET));
+        }
+    }
+
+    @Benchmark
+    public void offsetDateTimeNow(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(OffsetDateTime.now(input.clock));
+        }
+    }
+
+    @Benchmark
+    public void packedFormatChars(Input input, Output output, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.packedClock.format(output.chars, 0));
+        }
+    }
+
+    @Benchmark
+    public void packedFormatBytes(Input input, Output output, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.packedClock.format(output.bytes, 0));
+        }
+    }
+
+    @Benchmark
+    public void packedFormatString(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.packedClock.format());
+        }
+    }
+
+    @Benchmark
+    public void offsetDateTimeFormat(Input input, Output output, Blackhole blackhole) {
+        StringBuilder builder = output.builder;
+        for (int i = 0; i < input.size; i++) {
+            builder.setLength(0);
+            FORMATTER.formatTo(OffsetDateTime.now(input.clock), builder);
+            blackhole.consume(builder);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(ClockBenchmark.class.getName())
+                .forks(1)
+                .threads(4)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
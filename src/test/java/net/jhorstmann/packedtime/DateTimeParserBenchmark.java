@@ -7,6 +7,7 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.concurrent.ThreadLocalRandom;
@@ -20,10 +21,12 @@ public class DateTimeParserBenchmark {
         final int size = 1000;
         final OffsetDateTime[] base;
         final String[] formatted;
+        final byte[][] bytes;
 
         public Input() {
             this.base = new OffsetDateTime[size];
             this.formatted = new String[size];
+            this.bytes = new byte[size][];
             ThreadLocalRandom r = ThreadLocalRandom.current();
             for (int i = 0; i < size; i++) {
                 OffsetDateTime odt = OffsetDateTime.of(r.nextInt(3000) - 1000, r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60) - 18 * 60) * 60));
@@ -44,6 +47,7 @@ public class DateTimeParserBenchmark {
 
                 this.base[i] = odt;
                 this.formatted[i] = str;
+                this.bytes[i] = str.getBytes(StandardCharsets.US_ASCII);
             }
 
         }
@@ -64,6 +68,22 @@ public class DateTimeParserBenchmark {
         }
     }
 
+    @Benchmark
+    public void parseOffsetDateTimeDecodedBytes(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            byte[] bytes = input.bytes[i];
+            blackhole.consume(PackedOffsetDateTime.parseToLong(new String(bytes, StandardCharsets.US_ASCII)));
+        }
+    }
+
+    @Benchmark
+    public void parseOffsetDateTimeBytes(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            byte[] bytes = input.bytes[i];
+            blackhole.consume(PackedOffsetDateTime.parseToLong(bytes, 0, bytes.length));
+        }
+    }
+
     public static void main(String[] args) throws RunnerException {
 
         Options options = new OptionsBuilder()
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +23,11 @@ public class DateTimeParserRandomTest {
 
         Assertions.assertEquals(odt, packed.toOffsetDateTime());
         Assertions.assertEquals(str, packed.toString());
+
+        Assertions.assertEquals(packed, PackedOffsetDateTime.parse(padded(str), PADDING, str.length()));
+        Assertions.assertEquals(packed, PackedOffsetDateTime.parse(ByteBuffer.wrap(padded(str)), PADDING, str.length()));
+        Assertions.assertEquals(packed, PackedOffsetDateTime.parse(direct(str), PADDING, str.length()));
+        Assertions.assertEquals(packed, PackedOffsetDateTime.parse(new StringBuilder("xyz").append(str).append("0123"), PADDING, PADDING + str.length()));
     }
 
     @ParameterizedTest
@@ -31,6 +38,8 @@ public class DateTimeParserRandomTest {
         String str = ldt.toString();
         PackedLocalDateTime packed = PackedLocalDateTime.parse(str);
 
+        Assertions.assertEquals(packed, PackedLocalDateTime.parse(padded(str), PADDING, str.length()));
+        Assertions.assertEquals(packed, PackedLocalDateTime.parse(direct(str), PADDING, str.length()));
         Assertions.assertEquals(ldt, packed.toLocalDateTime());
         Assertions.assertEquals(str, packed.toString());
     }
@@ -43,6 +52,8 @@ public class DateTimeParserRandomTest {
         String str = ld.toString();
         PackedLocalDate packed = PackedLocalDate.parse(str);
 
+        Assertions.assertEquals(packed, PackedLocalDate.parse(padded(str), PADDING, str.length()));
+        Assertions.assertEquals(packed, PackedLocalDate.parse(direct(str), PADDING, str.length()));
         Assertions.assertEquals(ld, packed.toLocalDate());
         Assertions.assertEquals(str, packed.toString());
     }
@@ -55,6 +66,8 @@ public class DateTimeParserRandomTest {
         String str = ot.toString();
         PackedOffsetTime packed = PackedOffsetTime.parse(str);
 
+        Assertions.assertEquals(packed, PackedOffsetTime.parse(padded(str), PADDING, str.length()));
+        Assertions.assertEquals(packed, PackedOffsetTime.parse(direct(str), PADDING, str.length()));
         Assertions.assertEquals(ot, packed.toOffsetTime());
         Assertions.assertEquals(str, packed.toString());
     }
@@ -67,6 +80,8 @@ public class DateTimeParserRandomTest {
         String str = lt.toString();
         PackedLocalTime packed = PackedLocalTime.parse(str);
 
+        Assertions.assertEquals(packed, PackedLocalTime.parse(padded(str), PADDING, str.length()));
+        Assertions.assertEquals(packed, PackedLocalTime.parse(direct(str), PADDING, str.length()));
         Assertions.assertEquals(lt, packed.toLocalTime());
         Assertions.assertEquals(str, packed.toString());
     }
@@ -93,10 +108,29 @@ public class DateTimeParserRandomTest {
         String str = zdt.toString();
         PackedZonedDateTime packed = PackedZonedDateTime.parse(str);
 
+        Assertions.assertEquals(packed, PackedZonedDateTime.parse(padded(str), PADDING, str.length()));
+        Assertions.assertEquals(packed, PackedZonedDateTime.parse(direct(str), PADDING, str.length()));
+
         Assertions.assertEquals(zdt, packed.toZonedDateTime());
         Assertions.assertEquals(str, packed.toString());
     }
 
+    private static final int PADDING = 3;
+
+    private static byte[] padded(String str) {
+        byte[] bytes = ("xyz" + str + "0123").getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(PADDING, bytes.length - str.length() - 4);
+        return bytes;
+    }
+
+    private static ByteBuffer direct(String str) {
+        byte[] bytes = padded(str);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.clear();
+        return buffer;
+    }
+
     private static Stream<OffsetDateTime> input() {
         ThreadLocalRandom r = ThreadLocalRandom.current();
 
@@ -3,10 +3,16 @@ package net.jhorstmann.packedtime;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 
 public class DateTimeParserTest {
     @Test
@@ -122,4 +128,156 @@ public class DateTimeParserTest {
 
         Assertions.assertEquals(OffsetDateTime.parse(str.replace(' ', 'T') + "+01:00"), parsed.toOffsetDateTime());
     }
+
+    @Test
+    public void shouldParseOneDigitFractionAtEnd() {
+        String str = "21:31:42.1";
+        PackedLocalTime parsed = DateTimeParser.parseLocalTime(str);
+
+        Assertions.assertEquals(100, parsed.getMilliSecond());
+        Assertions.assertEquals(LocalTime.parse(str), parsed.toLocalTime());
+    }
+
+    @Test
+    public void shouldParseToLong() {
+        Assertions.assertEquals(PackedOffsetDateTime.parse("2018-04-26T21:31:42.123+02:00").getValue(),
+                PackedOffsetDateTime.parseToLong("2018-04-26T21:31:42.123+02:00"));
+        Assertions.assertEquals(PackedLocalDateTime.parse("2018-04-26T21:31:42.123").getValue(),
+                PackedLocalDateTime.parseToLong("2018-04-26T21:31:42.123"));
+        Assertions.assertEquals(PackedLocalDate.parse("-2018-04-26").getValue(),
+                PackedLocalDate.parseToLong("-2018-04-26"));
+        Assertions.assertEquals(PackedLocalTime.parse("21:31:42.123").getValue(),
+                PackedLocalTime.parseToLong("21:31:42.123"));
+        Assertions.assertEquals(PackedOffsetTime.parse("21:31:42.123-05:30").getValue(),
+                PackedOffsetTime.parseToLong("21:31:42.123-05:30"));
+        Assertions.assertEquals(PackedZonedDateTime.parse("2018-04-26T21:31:42.123+02:00[Europe/Berlin]").getValue(),
+                PackedZonedDateTime.parseToLong("2018-04-26T21:31:42.123+02:00[Europe/Berlin]"));
+    }
+
+    @Test
+    public void shouldParseToLongWithDefaultOffset() {
+        String str = "2018-04-26T21:31:42.123";
+
+        Assertions.assertEquals(PackedOffsetDateTime.parseWithDefaultUTC(str).getValue(),
+                PackedOffsetDateTime.parseToLongWithDefaultUTC(str));
+        Assertions.assertEquals(PackedOffsetDateTime.parseWithDefaultZone(str, ZoneOffset.ofHours(3)).getValue(),
+                PackedOffsetDateTime.parseToLongWithDefaultZone(str, ZoneOffset.ofHours(3)));
+        Assertions.assertEquals(3*60*60, PackedOffsetDateTime.valueOf(PackedOffsetDateTime.parseToLongWithDefaultZone(str, ZoneOffset.ofHours(3))).getOffsetSecond());
+    }
+
+    @Test
+    public void shouldParseBytesRegion() {
+        byte[] bytes = "id=17,ts=2018-04-26T21:31:42.123+02:00,x=1".getBytes(StandardCharsets.US_ASCII);
+        PackedOffsetDateTime parsed = PackedOffsetDateTime.parse(bytes, 9, 29);
+
+        Assertions.assertEquals(OffsetDateTime.parse("2018-04-26T21:31:42.123+02:00"), parsed.toOffsetDateTime());
+    }
+
+    @Test
+    public void shouldParseSlicedByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap("xx2018-04-26T21:31:42Z".getBytes(StandardCharsets.US_ASCII));
+        buffer.position(2);
+        ByteBuffer slice = buffer.slice();
+        PackedOffsetDateTime parsed = PackedOffsetDateTime.parse(slice, 0, slice.remaining());
+
+        Assertions.assertEquals(OffsetDateTime.parse("2018-04-26T21:31:42Z"), parsed.toOffsetDateTime());
+    }
+
+    @Test
+    public void shouldNotReadBytesAfterEnd() {
+        byte[] bytes = "2018-04-26T21:31:42".getBytes(StandardCharsets.US_ASCII);
+
+        DateTimeParseException ex = Assertions.assertThrows(DateTimeParseException.class, () -> PackedLocalDate.parse(bytes, 0, 9));
+        Assertions.assertEquals(9, ex.getErrorIndex());
+        Assertions.assertEquals("2018-04-2", ex.getParsedString());
+    }
+
+    @Test
+    public void shouldReportByteErrorsRelativeToOffset() {
+        byte[] bytes = "xx2018-13-26".getBytes(StandardCharsets.US_ASCII);
+
+        DateTimeParseException ex = Assertions.assertThrows(DateTimeParseException.class, () -> PackedLocalDate.parse(bytes, 2, 10));
+        DateTimeParseException expected = Assertions.assertThrows(DateTimeParseException.class, () -> PackedLocalDate.parse("2018-13-26"));
+        Assertions.assertEquals(expected.getErrorIndex(), ex.getErrorIndex());
+        Assertions.assertEquals(5, ex.getErrorIndex());
+
+        ex = Assertions.assertThrows(DateTimeParseException.class, () -> PackedLocalDateTime.parse(ByteBuffer.wrap("xx2018-12-26X12:00".getBytes(StandardCharsets.US_ASCII)), 2, 16));
+        Assertions.assertEquals(10, ex.getErrorIndex());
+    }
+
+    @Test
+    public void shouldRejectInvalidByteRange() {
+        byte[] bytes = new byte[10];
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> PackedLocalDate.parse(bytes, 5, 10));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> PackedLocalDate.parse(ByteBuffer.wrap(bytes), -1, 10));
+    }
+
+    @Test
+    public void shouldParseCharSequenceRegion() {
+        StringBuilder line = new StringBuilder("INFO [2018-04-26 21:31:42.123+02:00] started");
+        PackedOffsetDateTime parsed = PackedOffsetDateTime.parse(line, 6, 35);
+
+        Assertions.assertEquals(OffsetDateTime.parse("2018-04-26T21:31:42.123+02:00"), parsed.toOffsetDateTime());
+    }
+
+    @Test
+    public void shouldReportTrailingCharactersBeforeRegionEnd() {
+        String line = "2018-04-26T21:31:42Z]";
+
+        DateTimeParseException ex = Assertions.assertThrows(DateTimeParseException.class, () -> PackedOffsetDateTime.parse(line, 0, line.length()));
+        Assertions.assertEquals(20, ex.getErrorIndex());
+    }
+
+    @Test
+    public void shouldReportEndOfRegion() {
+        String line = "2018-04-26T21:31:42Z";
+
+        DateTimeParseException ex = Assertions.assertThrows(DateTimeParseException.class, () -> PackedOffsetDateTime.parse(line, 0, 16));
+        Assertions.assertEquals(16, ex.getErrorIndex());
+
+        ex = Assertions.assertThrows(DateTimeParseException.class, () -> PackedOffsetDateTime.parse("2018-04-26T21:31"));
+        Assertions.assertEquals(16, ex.getErrorIndex());
+    }
+
+    @Test
+    public void shouldContinueAfterParsePosition() {
+        String line = "2018-04-26T21:31:42.123+02:00,2018-04-26T21:31Z,2018-04-27T00:00:01-01";
+        ParsePosition position = new ParsePosition(0);
+
+        PackedOffsetDateTime first = PackedOffsetDateTime.parse(line, position);
+        Assertions.assertEquals(29, position.getIndex());
+        Assertions.assertEquals(OffsetDateTime.parse("2018-04-26T21:31:42.123+02:00"), first.toOffsetDateTime());
+
+        position.setIndex(position.getIndex() + 1);
+        PackedOffsetDateTime second = PackedOffsetDateTime.parse(line, position);
+        Assertions.assertEquals(47, position.getIndex());
+        Assertions.assertEquals(OffsetDateTime.parse("2018-04-26T21:31Z"), second.toOffsetDateTime());
+
+        position.setIndex(position.getIndex() + 1);
+        PackedOffsetDateTime third = PackedOffsetDateTime.parse(line, position);
+        Assertions.assertEquals(line.length(), position.getIndex());
+        Assertions.assertEquals(OffsetDateTime.parse("2018-04-27T00:00:01-01:00"), third.toOffsetDateTime());
+    }
+
+    @Test
+    public void shouldStopLocalDateAtParsePosition() {
+        String line = "2018-04-26T21:31:42";
+        ParsePosition position = new ParsePosition(0);
+
+        PackedLocalDate date = PackedLocalDate.parse(line, position);
+        Assertions.assertEquals(10, position.getIndex());
+        Assertions.assertEquals(LocalDate.of(2018, 4, 26), date.toLocalDate());
+
+        position.setIndex(11);
+        PackedLocalTime time = PackedLocalTime.parse(line, position);
+        Assertions.assertEquals(line.length(), position.getIndex());
+        Assertions.assertEquals(LocalTime.of(21, 31, 42), time.toLocalTime());
+    }
+
+    @Test
+    public void shouldRejectInvalidCharSequenceRange() {
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> PackedLocalDate.parse("2018-04-26", 0, 11));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> PackedLocalDate.parse("2018-04-26", new ParsePosition(11)));
+    }
 }
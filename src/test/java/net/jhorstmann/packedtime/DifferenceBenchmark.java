@@ -0,0 +1,89 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Durations between request and response timestamps, a few milliseconds to seconds apart and mostly on the same
+ * day.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class DifferenceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        long[] start;
+        long[] end;
+        OffsetDateTime[] startTime;
+        OffsetDateTime[] endTime;
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.start = new long[size];
+            this.end = new long[size];
+            this.startTime = new OffsetDateTime[size];
+            this.endTime = new OffsetDateTime[size];
+            for (int i = 0; i < size; i++) {
+                Instant instant = Instant.ofEpochMilli(r.nextLong(0, 4_000_000_000_000L));
+                ZoneOffset offset = ZoneOffset.ofHours(r.nextInt(-12, 13));
+                startTime[i] = instant.atOffset(offset);
+                endTime[i] = instant.plusMillis(r.nextInt(5_000)).atOffset(offset);
+                start[i] = PackedOffsetDateTime.fromOffsetDateTime(startTime[i]).getValue();
+                end[i] = PackedOffsetDateTime.fromOffsetDateTime(endTime[i]).getValue();
+            }
+        }
+    }
+
+    @Benchmark
+    public void packedMillisBetween(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.millisBetween(input.start[i], input.end[i]));
+        }
+    }
+
+    @Benchmark
+    public void packedEpochMillisDifference(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.toEpochMillis(input.end[i]) - PackedOffsetDateTime.toEpochMillis(input.start[i]));
+        }
+    }
+
+    @Benchmark
+    public void chronoUnitBetween(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(ChronoUnit.MILLIS.between(input.startTime[i], input.endTime[i]));
+        }
+    }
+
+    @Benchmark
+    public void chronoUnitBetweenFromPacked(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(ChronoUnit.MILLIS.between(PackedOffsetDateTime.toOffsetDateTime(input.start[i]), PackedOffsetDateTime.toOffsetDateTime(input.end[i])));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(DifferenceBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,53 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class DifferenceTest {
+
+    private static long duration(ThreadLocalRandom r) {
+        switch (r.nextInt(3)) {
+            case 0:
+                return r.nextLong(-5_000, 5_000);
+            case 1:
+                return r.nextLong(-100_000_000, 100_000_000);
+            default:
+                return r.nextLong(-100_000_000_000_000L, 100_000_000_000_000L);
+        }
+    }
+
+    @Test
+    public void shouldComputeSameDifferenceAsChronoUnit() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 20_000; i++) {
+            Instant instant = Instant.ofEpochMilli(r.nextLong(-50_000_000_000_000L, 50_000_000_000_000L));
+            OffsetDateTime start = instant.atOffset(ZoneOffset.ofHours(r.nextInt(-18, 19)));
+            OffsetDateTime end = instant.plusMillis(duration(r)).atOffset(r.nextBoolean() ? start.getOffset() : ZoneOffset.ofHours(r.nextInt(-18, 19)));
+
+            PackedOffsetDateTime packedStart = PackedOffsetDateTime.fromOffsetDateTime(start);
+            PackedOffsetDateTime packedEnd = PackedOffsetDateTime.fromOffsetDateTime(end);
+            Assertions.assertEquals(ChronoUnit.MILLIS.between(start, end), packedStart.untilMillis(packedEnd), start + " " + end);
+            Assertions.assertEquals(ChronoUnit.MILLIS.between(end, start), PackedOffsetDateTime.millisBetween(packedEnd.getValue(), packedStart.getValue()));
+
+            LocalDateTime localStart = start.toLocalDateTime();
+            LocalDateTime localEnd = end.toLocalDateTime();
+            PackedLocalDateTime packedLocalStart = PackedLocalDateTime.fromLocalDateTime(localStart);
+            PackedLocalDateTime packedLocalEnd = PackedLocalDateTime.fromLocalDateTime(localEnd);
+            Assertions.assertEquals(ChronoUnit.MILLIS.between(localStart, localEnd), packedLocalStart.untilMillis(packedLocalEnd));
+            Assertions.assertEquals(ChronoUnit.SECONDS.between(localStart, localEnd), packedLocalStart.untilSeconds(packedLocalEnd), localStart + " " + localEnd);
+            Assertions.assertEquals(ChronoUnit.SECONDS.between(localEnd, localStart), PackedLocalDateTime.secondsBetween(packedLocalEnd.getValue(), packedLocalStart.getValue()));
+
+            LocalDate dateStart = localStart.toLocalDate();
+            LocalDate dateEnd = r.nextBoolean() ? localEnd.toLocalDate() : dateStart.withDayOfMonth(r.nextInt(1, dateStart.lengthOfMonth() + 1));
+            Assertions.assertEquals(ChronoUnit.DAYS.between(dateStart, dateEnd), PackedLocalDate.fromLocalDate(dateStart).daysUntil(PackedLocalDate.fromLocalDate(dateEnd)));
+        }
+    }
+}
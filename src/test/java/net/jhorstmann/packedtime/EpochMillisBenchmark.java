@@ -6,7 +6,12 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.temporal.ChronoField;
 
 @BenchmarkMode(value = Mode.Throughput)
@@ -15,19 +20,37 @@ public class EpochMillisBenchmark {
     public static class Input {
         OffsetDateTime time;
         PackedOffsetDateTime packed;
+        LocalDate date;
+        PackedLocalDate packedDate;
+        LocalDateTime localDateTime;
+        PackedLocalDateTime packedLocalDateTime;
+        ZoneOffset offset;
+        ZonedDateTime zonedDateTime;
+        PackedZonedDateTime packedZonedDateTime;
 
         @Setup
         public void setup() {
             time = OffsetDateTime.parse("2020-01-19T22:15:30+01:00");
             packed = PackedOffsetDateTime.fromOffsetDateTime(time);
+            date = time.toLocalDate();
+            packedDate = PackedLocalDate.fromLocalDate(date);
+            localDateTime = time.toLocalDateTime();
+            packedLocalDateTime = PackedLocalDateTime.fromLocalDateTime(localDateTime);
+            offset = time.getOffset();
+            zonedDateTime = time.atZoneSameInstant(ZoneId.of("Europe/Berlin"));
+            packedZonedDateTime = PackedZonedDateTime.fromZonedDateTime(zonedDateTime);
 
             long expected = time.toInstant().toEpochMilli();
-            long actual = packed.toEpochMillis();
+            check(expected, packed.toEpochMillis());
+            check(expected, packedLocalDateTime.toEpochMillis(offset));
+            check(expected, packedZonedDateTime.toEpochMillis());
+            check(date.toEpochDay(), packedDate.toEpochDay());
+        }
 
+        private static void check(long expected, long actual) {
             if (expected != actual) {
                 throw new AssertionError(actual + " != " + expected);
             }
-
         }
     }
 
@@ -48,6 +71,36 @@ public class EpochMillisBenchmark {
         return input.packed.toEpochMillis();
     }
 
+    @Benchmark
+    public long standardToEpochDay(Input input) {
+        return input.date.toEpochDay();
+    }
+
+    @Benchmark
+    public long packedToEpochDay(Input input) {
+        return input.packedDate.toEpochDay();
+    }
+
+    @Benchmark
+    public long standardLocalToEpochSecond(Input input) {
+        return input.localDateTime.toEpochSecond(input.offset);
+    }
+
+    @Benchmark
+    public long packedLocalToEpochSeconds(Input input) {
+        return input.packedLocalDateTime.toEpochSeconds(input.offset);
+    }
+
+    @Benchmark
+    public long standardZonedToInstant(Input input) {
+        return input.zonedDateTime.toInstant().toEpochMilli();
+    }
+
+    @Benchmark
+    public long packedZonedToMillis(Input input) {
+        return input.packedZonedDateTime.toEpochMillis();
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options options = new OptionsBuilder()
                 .include(EpochMillisBenchmark.class.getName())
@@ -60,4 +113,3 @@ public class EpochMillisBenchmark {
         new Runner(options).run();
     }
 }
-
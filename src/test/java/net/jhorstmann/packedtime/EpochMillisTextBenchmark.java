@@ -0,0 +1,104 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Conversion between epoch millis and iso text, directly and through java.time objects.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class EpochMillisTextBenchmark {
+
+    private static final ZoneOffset OFFSET = ZoneOffset.ofHours(1);
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        long[] millis;
+        String[] strings;
+        byte[][] bytes;
+        final char[] chars = new char[64];
+        final byte[] buffer = new byte[64];
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.millis = new long[size];
+            this.strings = new String[size];
+            this.bytes = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                millis[i] = r.nextLong(0, 4_000_000_000_000L);
+                strings[i] = Instant.ofEpochMilli(millis[i]).atOffset(OFFSET).toString();
+                bytes[i] = strings[i].getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    @Benchmark
+    public void formatChars(Input input, Blackhole blackhole) {
+        int offsetSeconds = OFFSET.getTotalSeconds();
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.formatEpochMillis(input.millis[i], offsetSeconds, input.chars, 0));
+        }
+    }
+
+    @Benchmark
+    public void formatBytes(Input input, Blackhole blackhole) {
+        int offsetSeconds = OFFSET.getTotalSeconds();
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.formatEpochMillis(input.millis[i], offsetSeconds, input.buffer, 0));
+        }
+    }
+
+    @Benchmark
+    public void formatInstant(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(Instant.ofEpochMilli(input.millis[i]).atOffset(OFFSET).toString());
+        }
+    }
+
+    @Benchmark
+    public void parseString(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.parseToEpochMillis(input.strings[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseBytes(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            byte[] buf = input.bytes[i];
+            blackhole.consume(PackedOffsetDateTime.parseToEpochMillis(buf, 0, buf.length));
+        }
+    }
+
+    @Benchmark
+    public void parseOffsetDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(OffsetDateTime.parse(input.strings[i]).toInstant().toEpochMilli());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(EpochMillisTextBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,151 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Run with the gc profiler, {@code gc.alloc.rate.norm} of the {@code formatTo} benchmarks should be 0 B/op while
+ * the {@code toString} benchmarks allocate a scratch buffer and the string for each value.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class FormatAllocationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        final PackedOffsetDateTime[] offsetDateTimes;
+        final PackedLocalDateTime[] localDateTimes;
+        final PackedLocalDate[] localDates;
+        final PackedLocalTime[] localTimes;
+        final PackedOffsetTime[] offsetTimes;
+        final PackedZonedDateTime[] zonedDateTimes;
+        final char[] buf = new char[64];
+        final StringBuilder builder = new StringBuilder(64 * size);
+
+        public Input() {
+            this.offsetDateTimes = new PackedOffsetDateTime[size];
+            this.localDateTimes = new PackedLocalDateTime[size];
+            this.localDates = new PackedLocalDate[size];
+            this.localTimes = new PackedLocalTime[size];
+            this.offsetTimes = new PackedOffsetTime[size];
+            this.zonedDateTimes = new PackedZonedDateTime[size];
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            for (int i = 0; i < size; i++) {
+                OffsetDateTime odt = OffsetDateTime.of(r.nextInt(3000) - 1000, r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60) - 18 * 60) * 60));
+
+                this.offsetDateTimes[i] = PackedOffsetDateTime.fromOffsetDateTime(odt);
+                this.localDateTimes[i] = PackedLocalDateTime.fromLocalDateTime(odt.toLocalDateTime());
+                this.localDates[i] = PackedLocalDate.fromLocalDate(odt.toLocalDate());
+                this.localTimes[i] = PackedLocalTime.fromLocalTime(odt.toLocalTime());
+                this.offsetTimes[i] = PackedOffsetTime.fromOffsetTime(odt.toOffsetTime());
+                this.zonedDateTimes[i] = PackedZonedDateTime.fromZonedDateTime(odt.withYear(r.nextInt(1970, 2100)).atZoneSameInstant(ZoneId.of("Europe/Berlin")));
+            }
+        }
+    }
+
+    @Benchmark
+    public void toStringOffsetDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.offsetDateTimes[i].toString());
+        }
+    }
+
+    @Benchmark
+    public void formatToCharsOffsetDateTime(Input input, Blackhole blackhole) {
+        char[] buf = input.buf;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.offsetDateTimes[i].formatTo(buf, 0));
+        }
+    }
+
+    @Benchmark
+    public void formatToBuilderOffsetDateTime(Input input, Blackhole blackhole) {
+        StringBuilder builder = input.builder;
+        builder.setLength(0);
+        for (int i = 0; i < input.size; i++) {
+            input.offsetDateTimes[i].formatTo(builder);
+        }
+        blackhole.consume(builder.length());
+    }
+
+    @Benchmark
+    public void formatToBuilderLocalDateTime(Input input, Blackhole blackhole) {
+        StringBuilder builder = input.builder;
+        builder.setLength(0);
+        for (int i = 0; i < input.size; i++) {
+            input.localDateTimes[i].formatTo(builder);
+        }
+        blackhole.consume(builder.length());
+    }
+
+    @Benchmark
+    public void formatToBuilderLocalDate(Input input, Blackhole blackhole) {
+        StringBuilder builder = input.builder;
+        builder.setLength(0);
+        for (int i = 0; i < input.size; i++) {
+            input.localDates[i].formatTo(builder);
+        }
+        blackhole.consume(builder.length());
+    }
+
+    @Benchmark
+    public void formatToBuilderLocalTime(Input input, Blackhole blackhole) {
+        StringBuilder builder = input.builder;
+        builder.setLength(0);
+        for (int i = 0; i < input.size; i++) {
+            input.localTimes[i].formatTo(builder);
+        }
+        blackhole.consume(builder.length());
+    }
+
+    @Benchmark
+    public void formatToBuilderOffsetTime(Input input, Blackhole blackhole) {
+        StringBuilder builder = input.builder;
+        builder.setLength(0);
+        for (int i = 0; i < input.size; i++) {
+            input.offsetTimes[i].formatTo(builder);
+        }
+        blackhole.consume(builder.length());
+    }
+
+    @Benchmark
+    public void toStringZonedDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.zonedDateTimes[i].toString());
+        }
+    }
+
+    @Benchmark
+    public void formatToBuilderZonedDateTime(Input input, Blackhole blackhole) {
+        StringBuilder builder = input.builder;
+        builder.setLength(0);
+        for (int i = 0; i < input.size; i++) {
+            input.zonedDateTimes[i].formatTo(builder);
+        }
+        blackhole.consume(builder.length());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(FormatAllocationBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
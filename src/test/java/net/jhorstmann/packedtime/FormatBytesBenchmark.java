@@ -0,0 +1,108 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Formatting into bytes directly compared to encoding the result of {@code toString}.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class FormatBytesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        PackedOffsetDateTime[] offsetDateTimes;
+        PackedZonedDateTime[] zonedDateTimes;
+        final byte[] buf = new byte[64];
+        final ByteBuffer heapBuffer = ByteBuffer.allocate(64 * size);
+        final ByteBuffer directBuffer = ByteBuffer.allocateDirect(64 * size);
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.offsetDateTimes = new PackedOffsetDateTime[size];
+            this.zonedDateTimes = new PackedZonedDateTime[size];
+            for (int i = 0; i < size; i++) {
+                OffsetDateTime odt = OffsetDateTime.of(r.nextInt(1970, 2100), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60) - 18 * 60) * 60));
+
+                this.offsetDateTimes[i] = PackedOffsetDateTime.fromOffsetDateTime(odt);
+                this.zonedDateTimes[i] = PackedZonedDateTime.fromZonedDateTime(odt.atZoneSameInstant(ZoneId.of("Europe/Berlin")));
+            }
+        }
+    }
+
+    @Benchmark
+    public void getBytesOffsetDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.offsetDateTimes[i].toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void formatBytesOffsetDateTime(Input input, Blackhole blackhole) {
+        byte[] buf = input.buf;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.offsetDateTimes[i].formatTo(buf, 0));
+        }
+    }
+
+    @Benchmark
+    public void formatHeapBufferOffsetDateTime(Input input, Blackhole blackhole) {
+        ByteBuffer buffer = input.heapBuffer;
+        buffer.clear();
+        for (int i = 0; i < input.size; i++) {
+            input.offsetDateTimes[i].formatTo(buffer);
+        }
+        blackhole.consume(buffer.position());
+    }
+
+    @Benchmark
+    public void formatDirectBufferOffsetDateTime(Input input, Blackhole blackhole) {
+        ByteBuffer buffer = input.directBuffer;
+        buffer.clear();
+        for (int i = 0; i < input.size; i++) {
+            input.offsetDateTimes[i].formatTo(buffer);
+        }
+        blackhole.consume(buffer.position());
+    }
+
+    @Benchmark
+    public void getBytesZonedDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.zonedDateTimes[i].toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void formatBytesZonedDateTime(Input input, Blackhole blackhole) {
+        byte[] buf = input.buf;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.zonedDateTimes[i].formatTo(buf, 0));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(FormatBytesBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
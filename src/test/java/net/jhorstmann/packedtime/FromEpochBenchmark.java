@@ -0,0 +1,82 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Conversion of stored epoch millis and epoch days into packed values, directly and through java.time objects.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class FromEpochBenchmark {
+
+    private static final ZoneOffset OFFSET = ZoneOffset.ofHours(1);
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        long[] millis;
+        long[] days;
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.millis = new long[size];
+            this.days = new long[size];
+            for (int i = 0; i < size; i++) {
+                millis[i] = r.nextLong(0, 4_000_000_000_000L);
+                days[i] = r.nextLong(-100_000, 100_000);
+            }
+        }
+    }
+
+    @Benchmark
+    public void packedFromEpochMillis(Input input, Blackhole blackhole) {
+        int offsetSeconds = OFFSET.getTotalSeconds();
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.fromEpochMillisToLong(input.millis[i], offsetSeconds));
+        }
+    }
+
+    @Benchmark
+    public void packedFromOffsetDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.fromOffsetDateTime(Instant.ofEpochMilli(input.millis[i]).atOffset(OFFSET)).getValue());
+        }
+    }
+
+    @Benchmark
+    public void packedFromEpochDay(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedLocalDate.fromEpochDayToLong(input.days[i]));
+        }
+    }
+
+    @Benchmark
+    public void packedFromLocalDate(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedLocalDate.fromLocalDate(LocalDate.ofEpochDay(input.days[i])).getValue());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(FromEpochBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,134 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RFC 1123 and Common Log Format compared to {@link DateTimeFormatter}, the {@code formatCurrent} benchmarks format
+ * timestamps of requests arriving within a few seconds.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class HttpDateBenchmark {
+
+    private static final DateTimeFormatter IMF_FIXDATE = DateTimeFormatter.ofPattern("EEE, dd MMM uuuu HH:mm:ss 'GMT'", Locale.ENGLISH);
+    private static final DateTimeFormatter COMMON_LOG = DateTimeFormatter.ofPattern("dd/MMM/uuuu:HH:mm:ss xx", Locale.ENGLISH);
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        String[] rfc1123;
+        String[] commonLog;
+        long[] packed;
+        long[] requestMillis;
+        final CachedHttpDateFormatter cachedRfc1123 = CachedHttpDateFormatter.rfc1123();
+        final CachedHttpDateFormatter cachedCommonLog = CachedHttpDateFormatter.commonLog(ZoneOffset.ofHours(-7));
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.rfc1123 = new String[size];
+            this.commonLog = new String[size];
+            this.packed = new long[size];
+            this.requestMillis = new long[size];
+            long millis = 971_211_336_000L;
+            for (int i = 0; i < size; i++) {
+                OffsetDateTime odt = OffsetDateTime.of(r.nextInt(1970, 2100), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), 0, ZoneOffset.UTC);
+
+                this.rfc1123[i] = IMF_FIXDATE.format(odt);
+                this.commonLog[i] = COMMON_LOG.format(odt.withOffsetSameInstant(ZoneOffset.ofHours(-7)));
+                this.packed[i] = PackedOffsetDateTime.fromOffsetDateTime(odt).getValue();
+                millis += r.nextInt(10);
+                this.requestMillis[i] = millis;
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseRfc1123(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(HttpDateTime.parseRfc1123ToLong(input.rfc1123[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseRfc1123Formatter(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(OffsetDateTime.parse(input.rfc1123[i], DateTimeFormatter.RFC_1123_DATE_TIME));
+        }
+    }
+
+    @Benchmark
+    public void parseCommonLog(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(HttpDateTime.parseCommonLogToLong(input.commonLog[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseCommonLogFormatter(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(OffsetDateTime.parse(input.commonLog[i], COMMON_LOG));
+        }
+    }
+
+    @Benchmark
+    public void formatRfc1123(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(HttpDateTime.formatRfc1123(input.packed[i]));
+        }
+    }
+
+    @Benchmark
+    public void formatRfc1123Formatter(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(DateTimeFormatter.RFC_1123_DATE_TIME.format(PackedOffsetDateTime.toOffsetDateTime(input.packed[i])));
+        }
+    }
+
+    @Benchmark
+    public void formatCurrentRfc1123Cached(Input input, Blackhole blackhole) {
+        CachedHttpDateFormatter formatter = input.cachedRfc1123;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(formatter.format(input.requestMillis[i]));
+        }
+    }
+
+    @Benchmark
+    public void formatCurrentRfc1123Formatter(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(DateTimeFormatter.RFC_1123_DATE_TIME.format(OffsetDateTime.ofInstant(Instant.ofEpochMilli(input.requestMillis[i]), ZoneOffset.UTC)));
+        }
+    }
+
+    @Benchmark
+    public void formatCurrentCommonLogCached(Input input, Blackhole blackhole) {
+        CachedHttpDateFormatter formatter = input.cachedCommonLog;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(formatter.format(input.requestMillis[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(HttpDateBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
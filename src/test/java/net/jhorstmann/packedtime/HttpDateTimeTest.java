@@ -0,0 +1,134 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class HttpDateTimeTest {
+
+    private static final DateTimeFormatter RFC_1123 = DateTimeFormatter.ofPattern("EEE, dd MMM uuuu HH:mm:ss 'GMT'", Locale.ENGLISH);
+    private static final DateTimeFormatter COMMON_LOG = DateTimeFormatter.ofPattern("dd/MMM/uuuu:HH:mm:ss xx", Locale.ENGLISH);
+
+    private static OffsetDateTime randomOffsetDateTime(ThreadLocalRandom r) {
+        return OffsetDateTime.of(r.nextInt(1, 10000), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), 0, ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60 + 1) - 18 * 60) * 60));
+    }
+
+    @Test
+    public void shouldParseAndFormatRfc1123() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            OffsetDateTime utc = randomOffsetDateTime(r).withOffsetSameLocal(ZoneOffset.UTC);
+            String str = RFC_1123.format(utc);
+            long expected = PackedOffsetDateTime.fromOffsetDateTime(utc).getValue();
+
+            Assertions.assertEquals(expected, HttpDateTime.parseRfc1123ToLong(str), str);
+            byte[] bytes = str.getBytes(StandardCharsets.US_ASCII);
+            Assertions.assertEquals(expected, HttpDateTime.parseRfc1123ToLong(bytes, 0, bytes.length), str);
+            Assertions.assertEquals(str, HttpDateTime.formatRfc1123(expected));
+        }
+    }
+
+    @Test
+    public void shouldFormatRfc1123InGmt() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            OffsetDateTime odt = randomOffsetDateTime(r).withYear(r.nextInt(1, 9999));
+            String expected = RFC_1123.format(odt.withOffsetSameInstant(ZoneOffset.UTC));
+
+            Assertions.assertEquals(expected, HttpDateTime.formatRfc1123(PackedOffsetDateTime.fromOffsetDateTime(odt).getValue()), odt.toString());
+        }
+    }
+
+    @Test
+    public void shouldParseAndFormatCommonLog() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            OffsetDateTime odt = randomOffsetDateTime(r);
+            String str = COMMON_LOG.format(odt);
+            long expected = PackedOffsetDateTime.fromOffsetDateTime(odt).getValue();
+
+            Assertions.assertEquals(expected, HttpDateTime.parseCommonLogToLong(str), str);
+            byte[] bytes = ("x" + str).getBytes(StandardCharsets.US_ASCII);
+            Assertions.assertEquals(expected, HttpDateTime.parseCommonLogToLong(bytes, 1, str.length()), str);
+            Assertions.assertEquals(str, HttpDateTime.formatCommonLog(expected));
+        }
+        Assertions.assertEquals("10/Oct/2000:13:55:36 -0700", HttpDateTime.formatCommonLog(HttpDateTime.parseCommonLogToLong("10/Oct/2000:13:55:36 -0700")));
+    }
+
+    @Test
+    public void shouldReportUnknownNames() {
+        ParseError error = new ParseError();
+        Assertions.assertEquals(ParseError.INVALID, HttpDateTime.tryParseRfc1123ToLong("Sun, 06 Nev 1994 08:49:37 GMT", error));
+        Assertions.assertEquals(ParseError.UNKNOWN_NAME, error.getCode());
+        Assertions.assertEquals(8, error.getErrorIndex());
+
+        Assertions.assertEquals(ParseError.INVALID, HttpDateTime.tryParseRfc1123ToLong("sun, 06 Nov 1994 08:49:37 GMT", error));
+        Assertions.assertEquals(ParseError.UNKNOWN_NAME, error.getCode());
+        Assertions.assertEquals(0, error.getErrorIndex());
+
+        DateTimeParseException ex = Assertions.assertThrows(DateTimeParseException.class,
+                () -> HttpDateTime.parseCommonLogToLong("10/Oct/2000:13:55:36 -07:00"));
+        Assertions.assertEquals(24, ex.getErrorIndex());
+
+        byte[] bytes = "Sun, 06 Nov 1994 08:49:37 UTC".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(ParseError.INVALID, HttpDateTime.tryParseRfc1123ToLong(bytes, 0, bytes.length, error));
+        Assertions.assertEquals(ParseError.UNEXPECTED_CHARACTER, error.getCode());
+        Assertions.assertEquals(26, error.getErrorIndex());
+    }
+
+    @Test
+    public void shouldLookupNames() {
+        for (Month month : Month.values()) {
+            String name = month.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+            Assertions.assertEquals(month.getValue(), DateTimeNames.monthOfName(name.charAt(0), name.charAt(1), name.charAt(2)));
+        }
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            String name = dayOfWeek.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+            Assertions.assertEquals(dayOfWeek.getValue(), DateTimeNames.dayOfWeekOfName(name.charAt(0), name.charAt(1), name.charAt(2)));
+        }
+        Assertions.assertEquals(0, DateTimeNames.monthOfName('J', 'A', 'N'));
+        Assertions.assertEquals(0, DateTimeNames.dayOfWeekOfName('M', 'o', 0x16E));
+    }
+
+    @Test
+    public void shouldCalculateDayOfWeek() {
+        LocalDate date = LocalDate.of(-2000, 1, 1);
+        while (date.getYear() < 2500) {
+            Assertions.assertEquals(date.getDayOfWeek().getValue(), DateTimeNames.dayOfWeek(date.getYear(), date.getMonthValue(), date.getDayOfMonth()), date.toString());
+            date = date.plusDays(1);
+        }
+    }
+
+    @Test
+    public void shouldCacheFormattedSecond() {
+        CachedHttpDateFormatter rfc1123 = CachedHttpDateFormatter.rfc1123();
+        CachedHttpDateFormatter commonLog = CachedHttpDateFormatter.commonLog(ZoneOffset.ofHours(-7));
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        long millis = 971_211_336_000L;
+        byte[] buf = new byte[40];
+        for (int i = 0; i < 10_000; i++) {
+            millis += r.nextInt(1500) - 100;
+            OffsetDateTime odt = OffsetDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+
+            String expected = RFC_1123.format(odt);
+            Assertions.assertEquals(expected, rfc1123.format(millis));
+            Assertions.assertEquals(3 + expected.length(), rfc1123.format(millis, buf, 3));
+            Assertions.assertEquals(expected, new String(buf, 3, expected.length(), StandardCharsets.US_ASCII));
+
+            Assertions.assertEquals(COMMON_LOG.format(odt.withOffsetSameInstant(ZoneOffset.ofHours(-7))), commonLog.format(millis));
+        }
+        Assertions.assertEquals("Wed, 31 Dec 1969 23:59:59 GMT", rfc1123.format(-1));
+    }
+}
@@ -0,0 +1,140 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PackedClockTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSxxx");
+
+    static class MutableClock extends Clock {
+        private final ZoneId zone;
+        long millis;
+
+        MutableClock(ZoneId zone, long millis) {
+            this.zone = zone;
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(zone, millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @Test
+    public void shouldReturnTimeOfFixedClock() {
+        Clock clock = Clock.fixed(Instant.parse("2020-01-19T22:15:30.123Z"), ZoneOffset.ofHours(2));
+        PackedClock packedClock = PackedClock.of(clock);
+
+        Assertions.assertEquals(OffsetDateTime.parse("2020-01-20T00:15:30.123+02:00"), packedClock.now().toOffsetDateTime());
+        Assertions.assertEquals("2020-01-20T00:15:30.123+02:00", packedClock.format());
+        Assertions.assertEquals(OffsetDateTime.parse("2020-01-20T00:15:30.123+02:00"), PackedOffsetDateTime.now(clock).toOffsetDateTime());
+        Assertions.assertEquals(LocalDateTime.parse("2020-01-20T00:15:30.123"), PackedLocalDateTime.now(clock).toLocalDateTime());
+    }
+
+    @Test
+    public void shouldFormatZeroMillisAndUtc() {
+        PackedClock packedClock = PackedClock.of(Clock.fixed(Instant.parse("2020-01-19T22:15:00Z"), ZoneOffset.UTC));
+
+        Assertions.assertEquals("2020-01-19T22:15:00.000+00:00", packedClock.format());
+    }
+
+    @Test
+    public void shouldFollowAdvancingClock() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        ZoneId[] zones = {ZoneOffset.UTC, ZoneOffset.ofHoursMinutes(-3, -30), ZoneId.of("Europe/Berlin"), ZoneId.of("America/New_York")};
+        for (ZoneId zone : zones) {
+            // starts shortly before midnight and the end of daylight saving time in europe
+            MutableClock clock = new MutableClock(zone, Instant.parse("2017-10-28T21:59:00Z").toEpochMilli());
+            PackedClock packedClock = PackedClock.of(clock);
+            char[] chars = new char[40];
+            byte[] bytes = new byte[40];
+
+            for (int i = 0; i < 10_000; i++) {
+                clock.millis += r.nextInt(2_000);
+                OffsetDateTime expected = OffsetDateTime.now(clock).truncatedTo(ChronoUnit.MILLIS);
+                String str = FORMATTER.format(expected);
+
+                Assertions.assertEquals(expected, packedClock.now().toOffsetDateTime());
+                Assertions.assertEquals(PackedOffsetDateTime.fromOffsetDateTime(expected).getValue(), packedClock.nowToLong());
+                Assertions.assertEquals(PackedOffsetDateTime.fromOffsetDateTime(expected).getValue(), PackedOffsetDateTime.nowToLong(clock));
+                Assertions.assertEquals(expected.toLocalDateTime(), PackedLocalDateTime.now(clock).toLocalDateTime());
+                Assertions.assertEquals(str, packedClock.format());
+                Assertions.assertEquals(2 + str.length(), packedClock.format(chars, 2));
+                Assertions.assertEquals(str, new String(chars, 2, str.length()));
+                Assertions.assertEquals(2 + str.length(), packedClock.format(bytes, 2));
+                Assertions.assertEquals(str, new String(bytes, 2, str.length(), StandardCharsets.ISO_8859_1));
+            }
+        }
+    }
+
+    @Test
+    public void shouldHandleDatesBeforeEpoch() {
+        MutableClock clock = new MutableClock(ZoneOffset.ofHours(-5), Instant.parse("1969-12-31T23:59:59.500Z").toEpochMilli());
+        PackedClock packedClock = PackedClock.of(clock);
+
+        Assertions.assertEquals("1969-12-31T18:59:59.500-05:00", packedClock.format());
+        clock.millis += 1_000;
+        Assertions.assertEquals("1969-12-31T19:00:00.500-05:00", packedClock.format());
+    }
+
+    @Test
+    public void shouldKeepDayPerOffset() {
+        // the local dates at these offsets always differ
+        Instant instant = Instant.parse("2020-01-19T22:15:30.123Z");
+        Clock west = Clock.fixed(instant, ZoneOffset.ofHours(-12));
+        Clock east = Clock.fixed(instant, ZoneOffset.ofHours(14));
+        PackedOffsetDateTime.nowToLong(west);
+        PackedLocalDateTime.nowToLong(east);
+        PackedClock.Day westDay = PackedClock.DAYS[-12 * 60 + AbstractPackedDateTime.MAX_OFFSET_MINUTES];
+        PackedClock.Day eastDay = PackedClock.DAYS[14 * 60 + AbstractPackedDateTime.MAX_OFFSET_MINUTES];
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(LocalDateTime.parse("2020-01-19T10:15:30.123"), PackedLocalDateTime.now(west).toLocalDateTime());
+            Assertions.assertEquals(OffsetDateTime.parse("2020-01-20T12:15:30.123+14:00"), PackedOffsetDateTime.now(east).toOffsetDateTime());
+        }
+        Assertions.assertSame(westDay, PackedClock.DAYS[-12 * 60 + AbstractPackedDateTime.MAX_OFFSET_MINUTES]);
+        Assertions.assertSame(eastDay, PackedClock.DAYS[14 * 60 + AbstractPackedDateTime.MAX_OFFSET_MINUTES]);
+    }
+
+    @Test
+    public void shouldReturnSystemTime() {
+        long before = System.currentTimeMillis();
+        PackedOffsetDateTime now = PackedClock.system(ZoneOffset.ofHours(1)).now();
+        long after = System.currentTimeMillis();
+
+        long millis = now.toOffsetDateTime().toInstant().toEpochMilli();
+        Assertions.assertTrue(millis >= before && millis <= after);
+        Assertions.assertEquals(ZoneOffset.ofHours(1), now.toOffsetDateTime().getOffset());
+
+        millis = PackedOffsetDateTime.now(ZoneOffset.UTC).toOffsetDateTime().toInstant().toEpochMilli();
+        Assertions.assertTrue(millis >= before);
+    }
+}
@@ -3,10 +3,30 @@ package net.jhorstmann.packedtime;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class PackedLocalDateTest {
+    @Test
+    public void epochDay() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        long min = LocalDate.of(-9999, 1, 1).toEpochDay();
+        long max = LocalDate.of(9999, 12, 31).toEpochDay();
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(i < 100 ? i == 0 ? min : i == 1 ? max : r.nextLong(-800, 800) : r.nextLong(min, max + 1));
+            PackedLocalDate packed = PackedLocalDate.fromLocalDate(date);
+
+            Assertions.assertEquals(date.toEpochDay(), packed.toEpochDay(), date.toString());
+            Assertions.assertEquals(date.toEpochDay(), PackedLocalDate.toEpochDay(packed.getValue()), date.toString());
+            Assertions.assertEquals(packed.getValue(), PackedLocalDate.fromEpochDayToLong(date.toEpochDay()), date.toString());
+            Assertions.assertEquals(date, PackedLocalDate.fromEpochDay(date.toEpochDay()).toLocalDate());
+        }
+    }
+
     @Test
     public void now() {
         LocalDate now = LocalDate.now();
@@ -16,6 +36,13 @@ public class PackedLocalDateTest {
         Assertions.assertEquals(now.toString(), packed.toString());
     }
 
+    @Test
+    public void fromEpochDayOutOfRange() {
+        Assertions.assertThrows(DateTimeException.class, () -> PackedLocalDate.fromEpochDay(LocalDate.of(10000, 1, 1).toEpochDay()));
+        Assertions.assertThrows(DateTimeException.class, () -> PackedLocalDate.fromEpochDay(LocalDate.of(-10000, 12, 31).toEpochDay()));
+        Assertions.assertThrows(DateTimeException.class, () -> PackedLocalDate.fromEpochDay(Long.MIN_VALUE / 2));
+    }
+
     @Test
     public void yearZero() {
         LocalDate zero = LocalDate.of(0, 1, 1);
@@ -65,4 +92,34 @@ public class PackedLocalDateTest {
         Assertions.assertTrue(ex.getMessage(). endsWith(": -10000"));
     }
 
+    @Test
+    public void formatTo() {
+        PackedLocalDate packed = PackedLocalDate.fromLocalDate(LocalDate.of(-123, 4, 5));
+        String expected = packed.toString();
+
+        char[] buf = new char[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(buf, 1));
+        Assertions.assertEquals(expected, new String(buf, 1, expected.length()));
+
+        StringBuilder builder = new StringBuilder("x");
+        packed.formatTo(builder);
+        Assertions.assertEquals("x" + expected, builder.toString());
+
+        StringWriter writer = new StringWriter();
+        packed.formatTo(writer);
+        Assertions.assertEquals(expected, writer.toString());
+
+        byte[] bytes = new byte[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(bytes, 1));
+        Assertions.assertEquals(expected, new String(bytes, 1, expected.length(), StandardCharsets.ISO_8859_1));
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+            buffer.position(3);
+            packed.formatTo(buffer);
+            Assertions.assertEquals(3 + expected.length(), buffer.position());
+            buffer.flip();
+            buffer.position(3);
+            Assertions.assertEquals(expected, StandardCharsets.ISO_8859_1.decode(buffer).toString());
+        }
+    }
 }
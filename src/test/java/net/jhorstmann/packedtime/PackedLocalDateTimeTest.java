@@ -3,9 +3,25 @@ package net.jhorstmann.packedtime;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 public class PackedLocalDateTimeTest {
+    @Test
+    public void epochSeconds() {
+        LocalDateTime ldt = LocalDateTime.of(1969, 12, 31, 23, 59, 58, 250_000_000);
+        PackedLocalDateTime packed = PackedLocalDateTime.fromLocalDateTime(ldt);
+
+        for (ZoneOffset offset : new ZoneOffset[]{ZoneOffset.UTC, ZoneOffset.ofHours(18), ZoneOffset.ofHoursMinutes(-9, -30)}) {
+            Assertions.assertEquals(ldt.toEpochSecond(offset), packed.toEpochSeconds(offset));
+            Assertions.assertEquals(ldt.toInstant(offset).toEpochMilli(), packed.toEpochMillis(offset));
+        }
+    }
+
     @Test
     public void now() {
         LocalDateTime now = LocalDateTime.now().withNano(789_000_000);
@@ -16,6 +32,21 @@ public class PackedLocalDateTimeTest {
         Assertions.assertEquals(packed, PackedLocalDateTime.parse(now.toString()));
     }
 
+    @Test
+    public void fromEpochSecond() {
+        long[] seconds = {0, -1, 86_399, 86_400, -86_401, 1_579_468_530, -62_167_219_200L, 253_402_214_399L};
+        for (long second : seconds) {
+            for (ZoneOffset offset : new ZoneOffset[]{ZoneOffset.UTC, ZoneOffset.ofHoursMinutesSeconds(5, 30, 15), ZoneOffset.ofHours(-18)}) {
+                LocalDateTime expected = LocalDateTime.ofEpochSecond(second, 123_456_789, offset).withNano(123_000_000);
+
+                Assertions.assertEquals(expected, PackedLocalDateTime.fromEpochSecond(second, 123_456_789, offset).toLocalDateTime());
+                Assertions.assertEquals(expected, PackedLocalDateTime.fromInstant(Instant.ofEpochSecond(second, 123_456_789), offset).toLocalDateTime());
+                Assertions.assertEquals(expected, PackedLocalDateTime.fromEpochMillis(second * 1000 + 123, offset).toLocalDateTime());
+                Assertions.assertEquals(PackedLocalDateTime.fromLocalDateTime(expected).getValue(), PackedLocalDateTime.fromEpochSecondToLong(second, 123_456_789, offset));
+            }
+        }
+    }
+
     @Test
     public void yearZero() {
         LocalDateTime zero = LocalDateTime.of(0, 1, 1, 0, 0, 0, 0);
@@ -43,4 +74,34 @@ public class PackedLocalDateTimeTest {
         Assertions.assertEquals(max.toString(), packed.toString());
     }
 
+    @Test
+    public void formatTo() {
+        PackedLocalDateTime packed = PackedLocalDateTime.fromLocalDateTime(LocalDateTime.of(2020, 6, 1, 12, 30, 23, 100_000_000));
+        String expected = packed.toString();
+
+        char[] buf = new char[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(buf, 1));
+        Assertions.assertEquals(expected, new String(buf, 1, expected.length()));
+
+        StringBuilder builder = new StringBuilder("x");
+        packed.formatTo(builder);
+        Assertions.assertEquals("x" + expected, builder.toString());
+
+        StringWriter writer = new StringWriter();
+        packed.formatTo(writer);
+        Assertions.assertEquals(expected, writer.toString());
+
+        byte[] bytes = new byte[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(bytes, 1));
+        Assertions.assertEquals(expected, new String(bytes, 1, expected.length(), StandardCharsets.ISO_8859_1));
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+            buffer.position(3);
+            packed.formatTo(buffer);
+            Assertions.assertEquals(3 + expected.length(), buffer.position());
+            buffer.flip();
+            buffer.position(3);
+            Assertions.assertEquals(expected, StandardCharsets.ISO_8859_1.decode(buffer).toString());
+        }
+    }
 }
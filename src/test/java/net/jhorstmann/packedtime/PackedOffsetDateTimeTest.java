@@ -3,8 +3,14 @@ package net.jhorstmann.packedtime;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class PackedOffsetDateTimeTest {
     @Test
@@ -79,4 +85,93 @@ public class PackedOffsetDateTimeTest {
         Assertions.assertEquals(odt.toInstant().toEpochMilli(), packed.toEpochMillis());
     }
 
+    @Test
+    public void epochMillisRandom() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        long min = OffsetDateTime.of(-9999, 1, 1, 0, 0, 0, 0, ZoneOffset.MAX).toEpochSecond();
+        long max = OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.MIN).toEpochSecond();
+        for (int i = 0; i < 10_000; i++) {
+            OffsetDateTime odt = Instant.ofEpochSecond(r.nextLong(min, max), r.nextInt(1000) * 1_000_000)
+                    .atOffset(ZoneOffset.ofTotalSeconds(r.nextInt(-18 * 60, 18 * 60 + 1) * 60));
+            PackedOffsetDateTime packed = PackedOffsetDateTime.fromOffsetDateTime(odt);
+
+            Assertions.assertEquals(odt.toEpochSecond(), packed.toEpochSeconds(), odt.toString());
+            Assertions.assertEquals(odt.toInstant().toEpochMilli(), packed.toEpochMillis(), odt.toString());
+            Assertions.assertEquals(odt.toInstant().toEpochMilli(), PackedOffsetDateTime.toEpochMillis(packed.getValue()), odt.toString());
+            Assertions.assertEquals(packed.getValue(), PackedOffsetDateTime.fromEpochMillisToLong(odt.toInstant().toEpochMilli(), odt.getOffset().getTotalSeconds()), odt.toString());
+            Assertions.assertEquals(odt, PackedOffsetDateTime.fromEpochMillis(odt.toInstant().toEpochMilli(), odt.getOffset().getTotalSeconds()).toOffsetDateTime());
+            Assertions.assertEquals(packed.getValue(), PackedOffsetDateTime.fromInstantToLong(odt.toInstant().plusNanos(999_999), odt.getOffset()), odt.toString());
+            Assertions.assertEquals(odt, PackedOffsetDateTime.fromInstant(odt.toInstant(), odt.getOffset()).toOffsetDateTime());
+        }
+    }
+
+    @Test
+    public void formatAndParseEpochMillis() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        long min = OffsetDateTime.of(-9999, 1, 2, 0, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli();
+        long max = OffsetDateTime.of(9999, 12, 30, 0, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli();
+        char[] chars = new char[40];
+        byte[] bytes = new byte[40];
+        for (int i = 0; i < 10_000; i++) {
+            long millis = i < 100 ? r.nextLong(-1000L, 1000L) * 86_400_000L + r.nextInt(-2, 3) : r.nextLong(min, max);
+            int offsetSeconds = r.nextInt(-18 * 60, 18 * 60 + 1) * 60;
+            String expected = Instant.ofEpochMilli(millis).atOffset(ZoneOffset.ofTotalSeconds(offsetSeconds)).toString();
+
+            Assertions.assertEquals(1 + expected.length(), PackedOffsetDateTime.formatEpochMillis(millis, offsetSeconds, chars, 1));
+            Assertions.assertEquals(expected, new String(chars, 1, expected.length()));
+            Assertions.assertEquals(1 + expected.length(), PackedOffsetDateTime.formatEpochMillis(millis, offsetSeconds, bytes, 1));
+            Assertions.assertEquals(expected, new String(bytes, 1, expected.length(), StandardCharsets.ISO_8859_1));
+
+            Assertions.assertEquals(millis, PackedOffsetDateTime.parseToEpochMillis(expected), expected);
+            Assertions.assertEquals(millis, PackedOffsetDateTime.parseToEpochMillis(bytes, 1, expected.length()), expected);
+        }
+    }
+
+    @Test
+    public void fromInstantOutOfRange() {
+        Assertions.assertThrows(DateTimeException.class, () -> PackedOffsetDateTime.fromInstant(Instant.MAX, ZoneOffset.UTC));
+        Assertions.assertThrows(DateTimeException.class, () -> PackedOffsetDateTime.fromInstant(Instant.MIN, ZoneOffset.UTC));
+        Assertions.assertThrows(DateTimeException.class, () -> PackedOffsetDateTime.fromEpochMillis(Long.MAX_VALUE, 0));
+        Assertions.assertThrows(DateTimeException.class, () -> PackedOffsetDateTime.fromInstant(Instant.EPOCH, ZoneOffset.ofTotalSeconds(30)));
+    }
+
+    @Test
+    public void formatEpochMillisOutOfRange() {
+        long millis = OffsetDateTime.of(9999, 12, 31, 23, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli();
+        char[] chars = new char[40];
+
+        Assertions.assertThrows(DateTimeException.class, () -> PackedOffsetDateTime.formatEpochMillis(millis, 3600, chars, 0));
+        Assertions.assertThrows(DateTimeException.class, () -> PackedOffsetDateTime.formatEpochMillis(0, 1, chars, 0));
+    }
+
+    @Test
+    public void formatTo() {
+        PackedOffsetDateTime packed = PackedOffsetDateTime.fromOffsetDateTime(OffsetDateTime.of(2020, 6, 1, 12, 30, 23, 0, ZoneOffset.ofHours(-2)));
+        String expected = packed.toString();
+
+        char[] buf = new char[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(buf, 1));
+        Assertions.assertEquals(expected, new String(buf, 1, expected.length()));
+
+        StringBuilder builder = new StringBuilder("x");
+        packed.formatTo(builder);
+        Assertions.assertEquals("x" + expected, builder.toString());
+
+        StringWriter writer = new StringWriter();
+        packed.formatTo(writer);
+        Assertions.assertEquals(expected, writer.toString());
+
+        byte[] bytes = new byte[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(bytes, 1));
+        Assertions.assertEquals(expected, new String(bytes, 1, expected.length(), StandardCharsets.ISO_8859_1));
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+            buffer.position(3);
+            packed.formatTo(buffer);
+            Assertions.assertEquals(3 + expected.length(), buffer.position());
+            buffer.flip();
+            buffer.position(3);
+            Assertions.assertEquals(expected, StandardCharsets.ISO_8859_1.decode(buffer).toString());
+        }
+    }
 }
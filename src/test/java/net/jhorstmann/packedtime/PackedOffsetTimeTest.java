@@ -3,6 +3,9 @@ package net.jhorstmann.packedtime;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
 
@@ -34,4 +37,34 @@ public class PackedOffsetTimeTest {
         Assertions.assertEquals(max.toString(), packed.toString());
     }
 
+    @Test
+    public void formatTo() {
+        PackedOffsetTime packed = PackedOffsetTime.fromOffsetTime(OffsetTime.of(12, 30, 0, 0, ZoneOffset.ofHoursMinutes(5, 30)));
+        String expected = packed.toString();
+
+        char[] buf = new char[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(buf, 1));
+        Assertions.assertEquals(expected, new String(buf, 1, expected.length()));
+
+        StringBuilder builder = new StringBuilder("x");
+        packed.formatTo(builder);
+        Assertions.assertEquals("x" + expected, builder.toString());
+
+        StringWriter writer = new StringWriter();
+        packed.formatTo(writer);
+        Assertions.assertEquals(expected, writer.toString());
+
+        byte[] bytes = new byte[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(bytes, 1));
+        Assertions.assertEquals(expected, new String(bytes, 1, expected.length(), StandardCharsets.ISO_8859_1));
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+            buffer.position(3);
+            packed.formatTo(buffer);
+            Assertions.assertEquals(3 + expected.length(), buffer.position());
+            buffer.flip();
+            buffer.position(3);
+            Assertions.assertEquals(expected, StandardCharsets.ISO_8859_1.decode(buffer).toString());
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PackedParseCacheTest {
+
+    @Test
+    public void shouldNeverReturnValueOfCollidingInput() {
+        // the smallest cache, most inputs collide
+        PackedParseCache cache = PackedParseCache.forOffsetDateTime(1);
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            OffsetDateTime odt = OffsetDateTime.of(2020, 1, 19, 22, 15, r.nextInt(3), 0, ZoneOffset.ofHours(r.nextInt(2)));
+            String str = odt.toString();
+            long expected = PackedOffsetDateTime.parseToLong(str);
+
+            Assertions.assertEquals(expected, cache.parseToLong(str), str);
+            byte[] bytes = ("xy" + str + "z").getBytes(StandardCharsets.US_ASCII);
+            Assertions.assertEquals(expected, cache.parseToLong(bytes, 2, str.length()), str);
+        }
+        Assertions.assertEquals(20_000, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    public void shouldReportHitRatio() {
+        PackedParseCache cache = PackedParseCache.forLocalDateTime(64);
+        Assertions.assertEquals(0.0, cache.getHitRatio());
+
+        for (int i = 0; i < 4; i++) {
+            // a new string instance each time
+            Assertions.assertEquals(PackedLocalDateTime.parseToLong("2020-01-19T22:15:30"), cache.parseToLong(new StringBuilder("2020-01-19T22:15:30").toString()));
+        }
+        Assertions.assertEquals(3, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(0.75, cache.getHitRatio());
+
+        cache.clear();
+        Assertions.assertEquals(0, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    public void shouldNotCacheInvalidInput() {
+        PackedParseCache cache = PackedParseCache.forLocalDate(16);
+        Assertions.assertThrows(DateTimeParseException.class, () -> cache.parseToLong("2020-02-30"));
+        Assertions.assertThrows(DateTimeParseException.class, () -> cache.parseToLong("2020-02-30"));
+        byte[] bytes = "2020-02-30".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertThrows(DateTimeParseException.class, () -> cache.parseToLong(bytes, 0, bytes.length));
+        Assertions.assertEquals(0, cache.getHitCount());
+
+        PackedTimeParser parser = PackedTimeParser.ofPattern("HH:mm");
+        PackedParseCache times = PackedParseCache.forParser(1, parser);
+        for (String str : new String[]{"12:30", "12:31", "12:30", "12:31"}) {
+            byte[] time = str.getBytes(StandardCharsets.US_ASCII);
+            Assertions.assertEquals(parser.parseToLong(str), times.parseToLong(time, 0, time.length), str);
+        }
+
+        PackedParseCache zoned = PackedParseCache.forZonedDateTime(16);
+        Assertions.assertEquals(PackedZonedDateTime.parseToLong("2018-04-14T21:25:27+02:00[Europe/Berlin]"), zoned.parseToLong("2018-04-14T21:25:27+02:00[Europe/Berlin]"));
+    }
+}
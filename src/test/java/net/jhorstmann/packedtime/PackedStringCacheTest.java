@@ -0,0 +1,56 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PackedStringCacheTest {
+
+    @Test
+    public void shouldReturnSameAsToString() {
+        // far more values than slots to exercise replacement of colliding entries
+        PackedStringCache cache = PackedStringCache.forLocalDateTime(16);
+        PackedStringCache dates = PackedStringCache.forLocalDate(1);
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime ldt = LocalDateTime.of(2020, 1, 1, 0, 0).plusHours(r.nextInt(100));
+            PackedLocalDateTime packed = PackedLocalDateTime.fromLocalDateTime(ldt);
+            Assertions.assertEquals(packed.toString(), cache.format(packed.getValue()));
+
+            PackedLocalDate date = PackedLocalDate.fromLocalDate(ldt.toLocalDate());
+            Assertions.assertEquals(date.toString(), dates.format(date.getValue()));
+        }
+        Assertions.assertEquals(10_000, cache.getHitCount() + cache.getMissCount());
+        Assertions.assertEquals(2, dates.getCapacity());
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        PackedStringCache cache = PackedStringCache.forLocalDate(100);
+        Assertions.assertEquals(128, cache.getCapacity());
+
+        long value = PackedLocalDate.fromLocalDate(LocalDate.of(2020, 1, 19)).getValue();
+        Assertions.assertEquals("2020-01-19", cache.format(value));
+        Assertions.assertSame(cache.format(value), cache.format(value));
+        Assertions.assertEquals(2, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+
+        cache.clear();
+        Assertions.assertEquals(0, cache.getHitCount());
+        Assertions.assertEquals("2020-01-19", cache.format(value));
+        Assertions.assertEquals(1, cache.getMissCount());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PackedStringCache.forLocalDate(0));
+    }
+
+    @Test
+    public void shouldUseFormatter() {
+        PackedStringCache cache = PackedStringCache.forFormatter(64, PackedTimeFormatter.ISO_OFFSET_DATE_TIME.withFractionDigits(3).withZulu(false));
+        long value = PackedOffsetDateTime.parseToLong("2020-01-19T22:15Z");
+        Assertions.assertEquals("2020-01-19T22:15:00.000+00:00", cache.format(value));
+        Assertions.assertEquals("2020-01-19T22:15:00.000+00:00", cache.format(value));
+    }
+}
@@ -0,0 +1,114 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PackedTimeBatchParserTest {
+
+    private static final DateTimeFormatter[] FORMATTERS = {
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSxxx"),
+            DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ssxxx"),
+            DateTimeFormatter.ISO_OFFSET_DATE_TIME,
+    };
+
+    @Test
+    public void shouldUseVectorApiInVectorExecution() throws ReflectiveOperationException {
+        // only set by the surefire execution of the multi-release-17 profile, which runs on the java 17 classes
+        Assumptions.assumeTrue(Boolean.getBoolean("packedtime.vector"), "not running on the java 17 classes");
+        Method isSupported = Class.forName("net.jhorstmann.packedtime.VectorOffsetDateTimeParser").getDeclaredMethod("isSupported");
+        isSupported.setAccessible(true);
+        Assumptions.assumeTrue((Boolean) isSupported.invoke(null), "no 256 bit vectors on this hardware");
+
+        Assertions.assertTrue(VectorDateTimeParser.isVectorized());
+    }
+
+    @Test
+    public void shouldParseArrays() {
+        String[] strings = input(500);
+        byte[][] inputs = new byte[strings.length][];
+        for (int i = 0; i < strings.length; i++) {
+            inputs[i] = strings[i].getBytes(StandardCharsets.US_ASCII);
+        }
+
+        long[] out = new long[strings.length];
+        PackedTimeBatchParser.parseOffsetDateTimes(inputs, out);
+
+        for (int i = 0; i < strings.length; i++) {
+            Assertions.assertEquals(PackedOffsetDateTime.parseToLong(strings[i]), out[i], strings[i]);
+        }
+    }
+
+    @Test
+    public void shouldParseContiguousBuffer() {
+        String[] strings = input(500);
+        int[] offsets = new int[strings.length];
+        int[] lengths = new int[strings.length];
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = strings[i].getBytes(StandardCharsets.US_ASCII);
+            offsets[i] = buffer.size();
+            lengths[i] = bytes.length;
+            buffer.write(bytes, 0, bytes.length);
+            buffer.write('\n');
+        }
+        byte[] buf = buffer.toByteArray();
+
+        long[] out = new long[strings.length];
+        PackedTimeBatchParser.parseOffsetDateTimes(buf, offsets, lengths, out);
+
+        for (int i = 0; i < strings.length; i++) {
+            Assertions.assertEquals(PackedOffsetDateTime.parseToLong(strings[i]), out[i], strings[i]);
+        }
+    }
+
+    @Test
+    public void shouldThrowForInvalidRecord() {
+        byte[][] inputs = {
+                "2020-01-19T22:15:30.123Z".getBytes(StandardCharsets.US_ASCII),
+                "2020-02-30T22:15:30.123Z".getBytes(StandardCharsets.US_ASCII),
+        };
+
+        DateTimeParseException ex = Assertions.assertThrows(DateTimeParseException.class,
+                () -> PackedTimeBatchParser.parseOffsetDateTimes(inputs, new long[2]));
+
+        Assertions.assertEquals(9, ex.getErrorIndex());
+    }
+
+    @Test
+    public void shouldRejectInvalidRecordRange() {
+        byte[] buf = "2020-01-19T22:15:30.123Z".getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> PackedTimeBatchParser.parseOffsetDateTimes(buf, new int[]{1}, new int[]{24}, new long[1]));
+    }
+
+    @Test
+    public void shouldRejectShortOutput() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PackedTimeBatchParser.parseOffsetDateTimes(new byte[2][], new long[1]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PackedTimeBatchParser.parseOffsetDateTimes(new byte[0], new int[2], new int[1], new long[2]));
+    }
+
+    private static String[] input(int size) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            OffsetDateTime odt = OffsetDateTime.of(r.nextInt(10000), r.nextInt(12) + 1, r.nextInt(28) + 1,
+                    r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1_000_000,
+                    ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60 + 1) - 18 * 60) * 60));
+            result[i] = FORMATTERS[r.nextInt(FORMATTERS.length)].format(odt);
+        }
+        return result;
+    }
+}
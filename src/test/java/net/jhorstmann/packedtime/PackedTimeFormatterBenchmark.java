@@ -0,0 +1,108 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Formatting with the options of {@link PackedTimeFormatter} compared to {@code toString} of the packed values and
+ * an equivalent {@link DateTimeFormatter} pattern.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class PackedTimeFormatterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+
+        @Param({"-1", "0", "3"})
+        int fractionDigits;
+
+        @Param({"true", "false"})
+        boolean zulu;
+
+        long[] packed;
+        OffsetDateTime[] offsetDateTimes;
+        PackedTimeFormatter formatter;
+        DateTimeFormatter dateTimeFormatter;
+        final char[] buf = new char[64];
+        final byte[] bytes = new byte[64];
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.packed = new long[size];
+            this.offsetDateTimes = new OffsetDateTime[size];
+            for (int i = 0; i < size; i++) {
+                OffsetDateTime odt = OffsetDateTime.of(r.nextInt(1970, 2100), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, ZoneOffset.ofTotalSeconds((r.nextInt(4) - 2) * 3600));
+                this.offsetDateTimes[i] = odt;
+                this.packed[i] = PackedOffsetDateTime.fromOffsetDateTime(odt).getValue();
+            }
+            this.formatter = PackedTimeFormatter.ISO_OFFSET_DATE_TIME.withFractionDigits(fractionDigits).withZulu(zulu).withAlwaysSeconds(true);
+            String fraction = fractionDigits == 3 ? ".SSS" : fractionDigits == 0 ? "" : "[.SSS]";
+            this.dateTimeFormatter = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss" + fraction + (zulu ? "XXX" : "xxx"));
+        }
+    }
+
+    @Benchmark
+    public void formatString(Input input, Blackhole blackhole) {
+        PackedTimeFormatter formatter = input.formatter;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(formatter.format(input.packed[i]));
+        }
+    }
+
+    @Benchmark
+    public void formatChars(Input input, Blackhole blackhole) {
+        PackedTimeFormatter formatter = input.formatter;
+        char[] buf = input.buf;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(formatter.formatTo(input.packed[i], buf, 0));
+        }
+    }
+
+    @Benchmark
+    public void formatBytes(Input input, Blackhole blackhole) {
+        PackedTimeFormatter formatter = input.formatter;
+        byte[] bytes = input.bytes;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(formatter.formatTo(input.packed[i], bytes, 0));
+        }
+    }
+
+    @Benchmark
+    public void formatToString(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.valueOf(input.packed[i]).toString());
+        }
+    }
+
+    @Benchmark
+    public void formatDateTimeFormatter(Input input, Blackhole blackhole) {
+        DateTimeFormatter formatter = input.dateTimeFormatter;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(formatter.format(input.offsetDateTimes[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(PackedTimeFormatterBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,86 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PackedTimeFormatterTest {
+
+    private static OffsetDateTime randomOffsetDateTime(ThreadLocalRandom r) {
+        // zero fields and offsets are frequent enough to cover the optional parts
+        return OffsetDateTime.of(r.nextInt(-9999, 10000), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60),
+                r.nextBoolean() ? 0 : r.nextInt(60), r.nextBoolean() ? 0 : r.nextInt(1000) * 1_000_000,
+                ZoneOffset.ofTotalSeconds(r.nextBoolean() ? 0 : (r.nextInt(36 * 60 + 1) - 18 * 60) * 60));
+    }
+
+    private static void assertFormat(String expected, PackedTimeFormatter formatter, long value) {
+        Assertions.assertEquals(expected, formatter.format(value));
+
+        char[] chars = new char[formatter.getMaxLength() + 1];
+        Assertions.assertEquals(1 + expected.length(), formatter.formatTo(value, chars, 1));
+        Assertions.assertEquals(expected, new String(chars, 1, expected.length()));
+
+        byte[] bytes = new byte[formatter.getMaxLength() + 1];
+        Assertions.assertEquals(1 + expected.length(), formatter.formatTo(value, bytes, 1));
+        Assertions.assertEquals(expected, new String(bytes, 1, expected.length(), StandardCharsets.ISO_8859_1));
+
+        StringBuilder builder = new StringBuilder("x");
+        formatter.formatTo(value, builder);
+        Assertions.assertEquals("x" + expected, builder.toString());
+    }
+
+    @Test
+    public void shouldFormatLikeToString() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            OffsetDateTime odt = randomOffsetDateTime(r);
+            PackedOffsetDateTime offsetDateTime = PackedOffsetDateTime.fromOffsetDateTime(odt);
+            PackedLocalDateTime localDateTime = PackedLocalDateTime.fromLocalDateTime(odt.toLocalDateTime());
+            PackedOffsetTime offsetTime = PackedOffsetTime.fromOffsetTime(odt.toOffsetTime());
+            PackedLocalTime localTime = PackedLocalTime.fromLocalTime(odt.toLocalTime());
+
+            assertFormat(offsetDateTime.toString(), PackedTimeFormatter.ISO_OFFSET_DATE_TIME, offsetDateTime.getValue());
+            assertFormat(localDateTime.toString(), PackedTimeFormatter.ISO_LOCAL_DATE_TIME, localDateTime.getValue());
+            assertFormat(offsetTime.toString(), PackedTimeFormatter.ISO_OFFSET_TIME, offsetTime.getValue());
+            assertFormat(localTime.toString(), PackedTimeFormatter.ISO_LOCAL_TIME, localTime.getValue());
+        }
+    }
+
+    @Test
+    public void shouldFormatFixedWidth() {
+        PackedTimeFormatter millis = PackedTimeFormatter.ISO_OFFSET_DATE_TIME.withFractionDigits(3).withZulu(false);
+        PackedTimeFormatter seconds = PackedTimeFormatter.ISO_OFFSET_DATE_TIME.withFractionDigits(0).withAlwaysSeconds(true).withSeparator(' ');
+        PackedTimeFormatter centis = PackedTimeFormatter.ISO_LOCAL_DATE_TIME.withFractionDigits(2);
+        DateTimeFormatter millisPattern = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSxxx");
+        DateTimeFormatter secondsPattern = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ssXXX");
+        DateTimeFormatter centisPattern = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SS");
+
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            OffsetDateTime odt = randomOffsetDateTime(r).withYear(r.nextInt(0, 10000));
+            long value = PackedOffsetDateTime.fromOffsetDateTime(odt).getValue();
+
+            assertFormat(millisPattern.format(odt), millis, value);
+            assertFormat(secondsPattern.format(odt), seconds, value);
+            assertFormat(centisPattern.format(odt), centis, PackedLocalDateTime.fromLocalDateTime(odt.toLocalDateTime()).getValue());
+        }
+
+        long midnight = PackedOffsetDateTime.fromOffsetDateTime(OffsetDateTime.of(2020, 1, 19, 22, 15, 0, 0, ZoneOffset.UTC)).getValue();
+        Assertions.assertEquals("2020-01-19T22:15:00.000+00:00", millis.format(midnight));
+        Assertions.assertEquals("2020-01-19T22:15Z", PackedTimeFormatter.ISO_OFFSET_DATE_TIME.format(midnight));
+        Assertions.assertEquals("2020-01-19T22:15:00Z", PackedTimeFormatter.ISO_OFFSET_DATE_TIME.withAlwaysSeconds(true).format(midnight));
+        Assertions.assertEquals("2020-01-19T22:15Z", millis.withFractionDigits(PackedTimeFormatter.FRACTION_AUTO).withZulu(true).format(midnight));
+    }
+
+    @Test
+    public void shouldValidateOptions() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PackedTimeFormatter.ISO_OFFSET_DATE_TIME.withFractionDigits(4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PackedTimeFormatter.ISO_OFFSET_DATE_TIME.withFractionDigits(-2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PackedTimeFormatter.ISO_OFFSET_DATE_TIME.withSeparator('ä'));
+    }
+}
@@ -0,0 +1,171 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PackedTimeParserTest {
+
+    private static long parse(PackedTimeParser parser, String str) {
+        long value = parser.parseToLong(str);
+        byte[] bytes = ("xyz" + str + "abc").getBytes(StandardCharsets.ISO_8859_1);
+        Assertions.assertEquals(value, parser.parseToLong(bytes, 3, str.length()), str);
+        return value;
+    }
+
+    private static OffsetDateTime randomOffsetDateTime(ThreadLocalRandom r) {
+        return OffsetDateTime.of(r.nextInt(10000), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60 + 1) - 18 * 60) * 60));
+    }
+
+    @Test
+    public void shouldParseOffsetDateTimeLayouts() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        String[] patterns = {
+                "uuuuMMdd'T'HHmmss.SSSXX",
+                "uuuu-MM-dd'T'HH:mm:ss.SSSxx",
+                "uuuu-MM-dd HH:mm:ss,SSSXXX",
+                "uuuu-DDD'T'HH:mm:ssX",
+                "'['dd/MM/uuuu:HH:mm:ss xx']'",
+        };
+        for (String pattern : patterns) {
+            PackedTimeParser parser = PackedTimeParser.ofPattern(pattern);
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            for (int i = 0; i < 1000; i++) {
+                OffsetDateTime odt = randomOffsetDateTime(r);
+                if (!pattern.contains("S")) {
+                    odt = odt.withNano(0);
+                }
+                String str = formatter.format(odt);
+                Assertions.assertEquals(PackedOffsetDateTime.fromOffsetDateTime(odt).getValue(), parse(parser, str), pattern + " " + str);
+            }
+        }
+    }
+
+    @Test
+    public void shouldParseLocalLayouts() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        PackedTimeParser dateTimeParser = PackedTimeParser.ofPattern("uuuu-MM-dd HH:mm:ss,SSS");
+        PackedTimeParser dateParser = PackedTimeParser.ofPattern("uuuuMMdd");
+        PackedTimeParser ordinalParser = PackedTimeParser.ofPattern("uuuu-DDD");
+        PackedTimeParser timeParser = PackedTimeParser.ofPattern("HHmm");
+        PackedTimeParser offsetTimeParser = PackedTimeParser.ofPattern("HH:mm:ssXXX");
+        for (int i = 0; i < 1000; i++) {
+            OffsetDateTime odt = randomOffsetDateTime(r);
+            LocalDateTime ldt = odt.toLocalDateTime();
+            LocalDate date = ldt.toLocalDate();
+            LocalTime time = ldt.toLocalTime().withSecond(0).withNano(0);
+            OffsetTime offsetTime = odt.toOffsetTime().withNano(0);
+
+            Assertions.assertEquals(PackedLocalDateTime.fromLocalDateTime(ldt).getValue(), parse(dateTimeParser, DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss,SSS").format(ldt)));
+            Assertions.assertEquals(PackedLocalDate.fromLocalDate(date).getValue(), parse(dateParser, DateTimeFormatter.BASIC_ISO_DATE.format(date)));
+            Assertions.assertEquals(PackedLocalDate.fromLocalDate(date).getValue(), parse(ordinalParser, DateTimeFormatter.ofPattern("uuuu-DDD").format(date)));
+            Assertions.assertEquals(PackedLocalTime.fromLocalTime(time).getValue(), parse(timeParser, DateTimeFormatter.ofPattern("HHmm").format(time)));
+            Assertions.assertEquals(PackedOffsetTime.fromOffsetTime(offsetTime).getValue(), parse(offsetTimeParser, DateTimeFormatter.ofPattern("HH:mm:ssXXX").format(offsetTime)));
+        }
+    }
+
+    @Test
+    public void shouldParseOrdinalDatesAroundLeapDay() {
+        PackedTimeParser parser = PackedTimeParser.ofPattern("uuuuDDD");
+        for (int year : new int[]{2019, 2020, 2000, 1900}) {
+            LocalDate date = LocalDate.of(year, 1, 1);
+            while (date.getYear() == year) {
+                String str = DateTimeFormatter.ofPattern("uuuuDDD").format(date);
+                Assertions.assertEquals(PackedLocalDate.fromLocalDate(date).getValue(), parse(parser, str), str);
+                date = date.plusDays(1);
+            }
+        }
+        assertError(parser, "2019366", ParseError.DAY_OUT_OF_RANGE, 4);
+        assertError(parser, "2020000", ParseError.DAY_OUT_OF_RANGE, 4);
+        parse(parser, "2020366");
+    }
+
+    @Test
+    public void shouldTruncateAndScaleFraction() {
+        PackedTimeParser nanos = PackedTimeParser.ofPattern("HH:mm:ss.SSSSSSSSS");
+        PackedTimeParser tenths = PackedTimeParser.ofPattern("HH:mm:ss.S");
+        Assertions.assertEquals(PackedLocalTime.fromLocalTime(LocalTime.of(12, 30, 15, 123 * 1_000_000)).getValue(), parse(nanos, "12:30:15.123999999"));
+        Assertions.assertEquals(PackedLocalTime.fromLocalTime(LocalTime.of(12, 30, 15, 500 * 1_000_000)).getValue(), parse(tenths, "12:30:15.5"));
+        assertError(nanos, "12:30:15.12345678x", ParseError.NOT_A_DIGIT, 17);
+    }
+
+    @Test
+    public void shouldReportErrors() {
+        PackedTimeParser parser = PackedTimeParser.ofPattern("uuuu-MM-dd HH:mm:ss,SSSxx");
+        assertError(parser, "2020-01-19 22:15:30,123", ParseError.END_OF_INPUT, 23);
+        assertError(parser, "2020-01-19T22:15:30,123+0100", ParseError.UNEXPECTED_CHARACTER, 10);
+        assertError(parser, "2020-01-19 22:15:30,123Z", ParseError.UNEXPECTED_CHARACTER, 23);
+        assertError(parser, "2020-0x-19 22:15:30,123+0100", ParseError.NOT_A_DIGIT, 6);
+        assertError(parser, "2020-13-19 22:15:30,123+0100", ParseError.MONTH_OUT_OF_RANGE, 5);
+        assertError(parser, "2019-02-29 22:15:30,123+0100", ParseError.DAY_OUT_OF_RANGE, 8);
+        assertError(parser, "2020-01-19 24:15:30,123+0100", ParseError.HOUR_OUT_OF_RANGE, 11);
+        assertError(parser, "2020-01-19 22:60:30,123+0100", ParseError.MINUTE_OUT_OF_RANGE, 14);
+        assertError(parser, "2020-01-19 22:15:60,123+0100", ParseError.SECOND_OUT_OF_RANGE, 17);
+        assertError(parser, "2020-01-19 22:15:30,123+1900", ParseError.OFFSET_OUT_OF_RANGE, 24);
+        assertError(parser, "2020-01-19 22:15:30,123+0160", ParseError.OFFSET_OUT_OF_RANGE, 24);
+        assertError(parser, "2020-01-19 22:15:30,123+01000", ParseError.TRAILING_CHARACTERS, 28);
+    }
+
+    @Test
+    public void shouldThrowSameExceptionForCharsAndBytes() {
+        PackedTimeParser parser = PackedTimeParser.ofPattern("uuuuMMdd'T'HHmmssX");
+        for (String str : new String[]{"20200119 221530Z", "20200119T2215", "20200119T221530+01:00"}) {
+            DateTimeParseException chars = Assertions.assertThrows(DateTimeParseException.class, () -> parser.parseToLong(str));
+            byte[] bytes = ("x" + str).getBytes(StandardCharsets.ISO_8859_1);
+            DateTimeParseException bytesException = Assertions.assertThrows(DateTimeParseException.class, () -> parser.parseToLong(bytes, 1, str.length()));
+            Assertions.assertEquals(chars.getMessage(), bytesException.getMessage());
+            Assertions.assertEquals(chars.getErrorIndex(), bytesException.getErrorIndex());
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidPatterns() {
+        String[] patterns = {
+                "yyyy-MM",
+                "MM-dd",
+                "yyyy-MM-dd-DDD",
+                "yyyy-MM-dd HH",
+                "HH:mm.SSS",
+                "yyyy-MM-ddX",
+                "yy-MM-dd",
+                "yyyy-M-dd",
+                "yyyy-MM-dd'T",
+                "yyyy-MM-dd HH:mm:ss z",
+                "HH:mm HH",
+                "HH:mm:ss.SSSSSSSSSS",
+                "",
+        };
+        for (String pattern : patterns) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> PackedTimeParser.ofPattern(pattern), pattern);
+        }
+    }
+
+    @Test
+    public void shouldParseQuotedLiterals() {
+        PackedTimeParser parser = PackedTimeParser.ofPattern("'at '''HH:mm''");
+        Assertions.assertEquals(PackedLocalTime.fromLocalTime(LocalTime.of(12, 30)).getValue(), parse(parser, "at '12:30'"));
+    }
+
+    private static void assertError(PackedTimeParser parser, String str, int code, int index) {
+        ParseError error = new ParseError();
+        Assertions.assertEquals(ParseError.INVALID, parser.tryParseToLong(str, error), str);
+        Assertions.assertEquals(code, error.getCode(), str);
+        Assertions.assertEquals(index, error.getErrorIndex(), str);
+
+        byte[] bytes = ("xyz" + str).getBytes(StandardCharsets.ISO_8859_1);
+        ParseError bytesError = new ParseError();
+        Assertions.assertEquals(ParseError.INVALID, parser.tryParseToLong(bytes, 3, str.length(), bytesError), str);
+        Assertions.assertEquals(code, bytesError.getCode(), str);
+        Assertions.assertEquals(index, bytesError.getErrorIndex(), str);
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.zone.ZoneRulesProvider;
@@ -23,5 +24,22 @@ public class PackedZonedDateTimeRegionTest {
 
         Assertions.assertEquals(zdt, packed.toZonedDateTime());
         Assertions.assertEquals(zdt.toString(), packed.toString());
+
+        byte[] bytes = new byte[64];
+        int len = packed.formatTo(bytes, 0);
+        Assertions.assertEquals(zdt.toString(), new String(bytes, 0, len, StandardCharsets.ISO_8859_1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("availableZoneIds")
+    public void testParseRegion(String region) {
+        ZonedDateTime zdt = ZonedDateTime.of(2018, 4, 14, 20, 51, 30, 123_000_000, ZoneId.of(region));
+        String str = zdt.toString();
+
+        Assertions.assertEquals(PackedZonedDateTime.fromZonedDateTime(zdt).getValue(), PackedZonedDateTime.parseToLong(str));
+        Assertions.assertEquals(zdt, PackedZonedDateTime.parse(str).toZonedDateTime());
+
+        byte[] bytes = str.getBytes(StandardCharsets.ISO_8859_1);
+        Assertions.assertEquals(PackedZonedDateTime.fromZonedDateTime(zdt).getValue(), PackedZonedDateTime.parseToLong(bytes, 0, bytes.length));
     }
 }
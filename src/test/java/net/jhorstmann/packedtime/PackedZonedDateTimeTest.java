@@ -3,10 +3,17 @@ package net.jhorstmann.packedtime;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class PackedZonedDateTimeTest {
 
@@ -87,4 +94,172 @@ public class PackedZonedDateTimeTest {
         Assertions.assertEquals(zdt.toString(), packed.toString());
     }
 
+    @Test
+    public void testParseSameAsZonedDateTime() {
+        String[] inputs = {
+                "2018-04-14T21:25:27Z",
+                "2018-04-14T21:25:27.123+02:00",
+                "2018-04-14T21:25+05:30",
+                "2018-04-14T21:25:27+02:00[Europe/Berlin]",
+                "2017-10-29T02:30+02:00[Europe/Berlin]",
+                "2017-10-29T02:30+01:00[Europe/Berlin]",
+                "2017-10-29T01:00Z[Europe/Berlin]",
+                "2018-04-14T21:25:27+05:00[Europe/Berlin]",
+                "2018-04-14T21:25:27Z[UTC]",
+                "2018-04-14T21:25:27+01:00[+01:00]",
+                "2018-04-14T21:25:27+01:00[UTC+01:00]",
+                "2018-03-25T02:30+01:00[Europe/Berlin]",
+        };
+        for (String str : inputs) {
+            ZonedDateTime expected = ZonedDateTime.parse(str);
+            Assertions.assertEquals(PackedZonedDateTime.fromZonedDateTime(expected).getValue(), PackedZonedDateTime.parseToLong(str), str);
+            Assertions.assertEquals(expected, PackedZonedDateTime.parse(str).toZonedDateTime(), str);
+        }
+    }
+
+    @Test
+    public void testParseRandomInstants() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        ZoneId[] zones = {ZoneId.of("Europe/Berlin"), ZoneId.of("America/New_York"), ZoneId.of("Australia/Lord_Howe"), ZoneId.of("Asia/Kolkata")};
+        for (int i = 0; i < 10_000; i++) {
+            ZonedDateTime zdt = Instant.ofEpochSecond(r.nextLong(-5_000_000_000L, 5_000_000_000L), r.nextInt(1000) * 1_000_000)
+                    .atZone(zones[r.nextInt(zones.length)]);
+            String str = zdt.toString();
+            long expected = PackedZonedDateTime.fromZonedDateTime(zdt).getValue();
+            Assertions.assertEquals(expected, PackedZonedDateTime.parseToLong(str), str);
+            byte[] bytes = str.getBytes(StandardCharsets.US_ASCII);
+            Assertions.assertEquals(expected, PackedZonedDateTime.parseToLong(bytes, 0, bytes.length), str);
+            Assertions.assertEquals(str, PackedZonedDateTime.valueOf(expected).toString());
+        }
+    }
+
+    @Test
+    public void testToInstant() {
+        ZonedDateTime[] values = {
+                ZonedDateTime.of(2017, 10, 29, 2, 30, 0, 0, ZoneId.of("Europe/Berlin")),
+                ZonedDateTime.ofLocal(LocalDateTime.of(2017, 10, 29, 2, 30, 0, 123_000_000), ZoneId.of("Europe/Berlin"), ZoneOffset.ofHours(1)),
+                ZonedDateTime.of(1850, 6, 1, 12, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+                ZonedDateTime.of(1960, 1, 1, 0, 0, 0, 0, ZoneId.of("America/New_York")),
+        };
+        for (ZonedDateTime zdt : values) {
+            PackedZonedDateTime packed = PackedZonedDateTime.fromZonedDateTime(zdt);
+
+            Assertions.assertEquals(zdt.toInstant(), packed.toInstant());
+            Assertions.assertEquals(zdt.toEpochSecond(), packed.toEpochSeconds());
+            Assertions.assertEquals(zdt.toInstant().toEpochMilli(), packed.toEpochMillis());
+        }
+    }
+
+    @Test
+    public void testFormatOffsetWithSeconds() {
+        ZonedDateTime zdt = ZonedDateTime.of(1850, 6, 1, 12, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+        PackedZonedDateTime packed = PackedZonedDateTime.fromZonedDateTime(zdt);
+
+        Assertions.assertEquals("1850-06-01T12:00+00:53:28[Europe/Berlin]", packed.toString());
+        Assertions.assertEquals(zdt.toString(), packed.toString());
+        Assertions.assertEquals(zdt, PackedZonedDateTime.parse(packed.toString()).toZonedDateTime());
+    }
+
+    @Test
+    public void testParseWithPosition() {
+        String str = "x2018-04-14T21:25:27+02:00[Europe/Berlin] y";
+        ParsePosition position = new ParsePosition(1);
+        PackedZonedDateTime packed = PackedZonedDateTime.parse(str, position);
+
+        Assertions.assertEquals(str.indexOf(']') + 1, position.getIndex());
+        Assertions.assertEquals(ZonedDateTime.parse("2018-04-14T21:25:27+02:00[Europe/Berlin]"), packed.toZonedDateTime());
+    }
+
+    @Test
+    public void testParseErrors() {
+        ParseError error = new ParseError();
+        Assertions.assertEquals(ParseError.INVALID, PackedZonedDateTime.tryParseToLong("2018-04-14T21:25:27+02:00[Europe/Berlim]", error));
+        Assertions.assertEquals(ParseError.UNKNOWN_NAME, error.getCode());
+        Assertions.assertEquals(26, error.getErrorIndex());
+
+        Assertions.assertEquals(ParseError.INVALID, PackedZonedDateTime.tryParseToLong("2018-04-14T21:25:27+02:00[Europe/Berlin", error));
+        Assertions.assertEquals(ParseError.END_OF_INPUT, error.getCode());
+
+        Assertions.assertEquals(ParseError.INVALID, PackedZonedDateTime.tryParseToLong("2018-04-14T21:25:27+02:00[Europe/Berlin]x", error));
+        Assertions.assertEquals(ParseError.TRAILING_CHARACTERS, error.getCode());
+        Assertions.assertEquals(40, error.getErrorIndex());
+
+        byte[] bytes = "2018-04-14T21:25:27[Europe/Berlin]".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(ParseError.INVALID, PackedZonedDateTime.tryParseToLong(bytes, 0, bytes.length, error));
+        Assertions.assertEquals(ParseError.UNEXPECTED_CHARACTER, error.getCode());
+        Assertions.assertEquals(19, error.getErrorIndex());
+
+        Assertions.assertThrows(DateTimeParseException.class, () -> PackedZonedDateTime.parse("2018-04-14T21:25:27+02:00[]"));
+    }
+
+    @Test
+    public void testParseOffsetSecondsErrors() {
+        for (String str : new String[]{"1900-01-01T00:00+18:00:30[Europe/Amsterdam]", "1900-01-01T00:00-18:00:30[Europe/Amsterdam]", "1900-01-01T00:00+18:00:30"}) {
+            assertParseError(str, ParseError.OFFSET_OUT_OF_RANGE, 17);
+        }
+        assertParseError("1900-01-01T00:00Z:30[Europe/Amsterdam]", ParseError.UNEXPECTED_CHARACTER, 17);
+        assertParseError("1900-01-01T00:00Z:30", ParseError.UNEXPECTED_CHARACTER, 17);
+
+        Assertions.assertEquals(ZonedDateTime.parse("1900-01-01T00:00+17:59:59"), PackedZonedDateTime.parse("1900-01-01T00:00+17:59:59").toZonedDateTime());
+    }
+
+    @Test
+    public void testParseResolvedYearOutOfRange() {
+        assertParseError("-9999-01-01T00:00+01:00[Europe/Paris]", ParseError.YEAR_OUT_OF_RANGE, 0);
+        assertParseError("9999-12-31T23:30-01:00[Europe/Paris]", ParseError.YEAR_OUT_OF_RANGE, 0);
+
+        String str = "x-9999-01-01T00:00+01:00[Europe/Paris]";
+        ParsePosition position = new ParsePosition(1);
+        Assertions.assertThrows(DateTimeParseException.class, () -> PackedZonedDateTime.parse(str, position));
+        Assertions.assertEquals(1, position.getIndex());
+        Assertions.assertEquals(1, position.getErrorIndex());
+
+        Assertions.assertEquals(ZonedDateTime.parse("-9999-01-01T01:00+01:00[Europe/Paris]"), PackedZonedDateTime.parse("-9999-01-01T01:00+01:00[Europe/Paris]").toZonedDateTime());
+        Assertions.assertEquals(ZonedDateTime.parse("9999-12-31T21:30-01:00[Europe/Paris]"), PackedZonedDateTime.parse("9999-12-31T21:30-01:00[Europe/Paris]").toZonedDateTime());
+    }
+
+    private static void assertParseError(String str, int code, int index) {
+        ParseError error = new ParseError();
+        Assertions.assertEquals(ParseError.INVALID, PackedZonedDateTime.tryParseToLong(str, error), str);
+        Assertions.assertEquals(code, error.getCode(), str);
+        Assertions.assertEquals(index, error.getErrorIndex(), str);
+
+        byte[] bytes = ("x" + str).getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(ParseError.INVALID, PackedZonedDateTime.tryParseToLong(bytes, 1, str.length(), error), str);
+        Assertions.assertEquals(code, error.getCode(), str);
+        Assertions.assertEquals(index, error.getErrorIndex(), str);
+
+        Assertions.assertThrows(DateTimeParseException.class, () -> PackedZonedDateTime.parse(str));
+    }
+
+    @Test
+    public void formatTo() {
+        PackedZonedDateTime packed = PackedZonedDateTime.fromZonedDateTime(ZonedDateTime.of(LocalDateTime.of(2020, 6, 1, 12, 30, 23), ZoneId.of("America/Argentina/ComodRivadavia")));
+        String expected = packed.toString();
+
+        char[] buf = new char[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(buf, 1));
+        Assertions.assertEquals(expected, new String(buf, 1, expected.length()));
+
+        StringBuilder builder = new StringBuilder("x");
+        packed.formatTo(builder);
+        Assertions.assertEquals("x" + expected, builder.toString());
+
+        StringWriter writer = new StringWriter();
+        packed.formatTo(writer);
+        Assertions.assertEquals(expected, writer.toString());
+
+        byte[] bytes = new byte[expected.length() + 2];
+        Assertions.assertEquals(1 + expected.length(), packed.formatTo(bytes, 1));
+        Assertions.assertEquals(expected, new String(bytes, 1, expected.length(), StandardCharsets.ISO_8859_1));
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+            buffer.position(3);
+            packed.formatTo(buffer);
+            Assertions.assertEquals(3 + expected.length(), buffer.position());
+            buffer.flip();
+            buffer.position(3);
+            Assertions.assertEquals(expected, StandardCharsets.ISO_8859_1.decode(buffer).toString());
+        }
+    }
 }
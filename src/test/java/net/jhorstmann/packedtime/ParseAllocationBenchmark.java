@@ -0,0 +1,108 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Run with the gc profiler, {@code gc.alloc.rate.norm} of the {@code parseToLong} benchmarks should be 0 B/op.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class ParseAllocationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        final String[] offsetDateTimes;
+        final String[] localDateTimes;
+        final String[] localDates;
+        final String[] localTimes;
+        final String[] offsetTimes;
+
+        public Input() {
+            this.offsetDateTimes = new String[size];
+            this.localDateTimes = new String[size];
+            this.localDates = new String[size];
+            this.localTimes = new String[size];
+            this.offsetTimes = new String[size];
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            for (int i = 0; i < size; i++) {
+                OffsetDateTime odt = OffsetDateTime.of(r.nextInt(3000) - 1000, r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60) - 18 * 60) * 60));
+
+                this.offsetDateTimes[i] = odt.toString();
+                this.localDateTimes[i] = odt.toLocalDateTime().toString();
+                this.localDates[i] = odt.toLocalDate().toString();
+                this.localTimes[i] = odt.toLocalTime().toString();
+                this.offsetTimes[i] = odt.toOffsetTime().toString();
+
+                if (PackedOffsetDateTime.parseToLong(offsetDateTimes[i]) != PackedOffsetDateTime.fromOffsetDateTime(odt).getValue()) {
+                    throw new AssertionError("parsed values not equal " + odt);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void parsePackedOffsetDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.parse(input.offsetDateTimes[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseToLongOffsetDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.parseToLong(input.offsetDateTimes[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseToLongLocalDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedLocalDateTime.parseToLong(input.localDateTimes[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseToLongLocalDate(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedLocalDate.parseToLong(input.localDates[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseToLongLocalTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedLocalTime.parseToLong(input.localTimes[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseToLongOffsetTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetTime.parseToLong(input.offsetTimes[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(ParseAllocationBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,90 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parsing input that repeats {@code distinct} timestamps through a cache with 1024 slots compared to parsing every
+ * input, each input is a separate string or byte array as if read from a feed.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class ParseCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"16", "256", "4096"})
+        int distinct;
+
+        final int size = 1000;
+        String[] strings;
+        byte[][] bytes;
+        final PackedParseCache cache = PackedParseCache.forOffsetDateTime(1024);
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.strings = new String[size];
+            this.bytes = new byte[size][];
+            OffsetDateTime start = OffsetDateTime.of(2020, 1, 19, 22, 15, 30, 0, ZoneOffset.ofHours(1));
+            for (int i = 0; i < size; i++) {
+                String str = start.plusSeconds(r.nextInt(distinct)).toString();
+                this.strings[i] = new String(str.toCharArray());
+                this.bytes[i] = str.getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseCached(Input input, Blackhole blackhole) {
+        PackedParseCache cache = input.cache;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(cache.parseToLong(input.strings[i]));
+        }
+    }
+
+    @Benchmark
+    public void parse(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.parseToLong(input.strings[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseBytesCached(Input input, Blackhole blackhole) {
+        PackedParseCache cache = input.cache;
+        for (int i = 0; i < input.size; i++) {
+            byte[] buf = input.bytes[i];
+            blackhole.consume(cache.parseToLong(buf, 0, buf.length));
+        }
+    }
+
+    @Benchmark
+    public void parseBytes(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            byte[] buf = input.bytes[i];
+            blackhole.consume(PackedOffsetDateTime.parseToLong(buf, 0, buf.length));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(ParseCacheBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,98 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compiled layouts compared to {@link DateTimeFormatter} with the same pattern, {@link #parseIsoString} is the
+ * extended ISO parser on the same instants for reference.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class PatternParserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"uuuuMMdd'T'HHmmss.SSSX", "uuuu-MM-dd HH:mm:ss,SSS", "uuuu-MM-dd'T'HH:mm:ss.SSSxx", "uuuu-DDD'T'HH:mm:ss.SSSXXX"})
+        String pattern;
+
+        final int size = 1000;
+        PackedTimeParser parser;
+        DateTimeFormatter formatter;
+        String[] formatted;
+        String[] iso;
+        byte[][] bytes;
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.parser = PackedTimeParser.ofPattern(pattern);
+            this.formatter = DateTimeFormatter.ofPattern(pattern);
+            this.formatted = new String[size];
+            this.iso = new String[size];
+            this.bytes = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                OffsetDateTime odt = OffsetDateTime.of(r.nextInt(1000, 3000), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, ZoneOffset.ofTotalSeconds((r.nextInt(36 * 4) - 18 * 4) * 15 * 60));
+                String str = formatter.format(odt);
+
+                this.formatted[i] = str;
+                this.iso[i] = odt.toString();
+                this.bytes[i] = str.getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseString(Input input, Blackhole blackhole) {
+        PackedTimeParser parser = input.parser;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(parser.parseToLong(input.formatted[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseBytes(Input input, Blackhole blackhole) {
+        PackedTimeParser parser = input.parser;
+        for (int i = 0; i < input.size; i++) {
+            byte[] bytes = input.bytes[i];
+            blackhole.consume(parser.parseToLong(bytes, 0, bytes.length));
+        }
+    }
+
+    @Benchmark
+    public void parseFormatter(Input input, Blackhole blackhole) {
+        DateTimeFormatter formatter = input.formatter;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(formatter.parse(input.formatted[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseIsoString(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.parseToLong(input.iso[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(PatternParserBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,101 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorted timestamps a random 0 to 5 seconds apart, compared to the same timestamps in random order.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class SequentialFormatterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"true", "false"})
+        boolean sorted;
+
+        final int size = 1000;
+        long[] packed;
+        final char[] chars = new char[64];
+        final byte[] bytes = new byte[64];
+        final SequentialPackedFormatter formatter = new SequentialPackedFormatter();
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.packed = new long[size];
+            OffsetDateTime odt = OffsetDateTime.of(2020, 1, 19, 22, 15, 30, 0, ZoneOffset.ofHours(1));
+            for (int i = 0; i < size; i++) {
+                odt = odt.plusNanos(r.nextInt(5_001) * 1_000_000L);
+                this.packed[i] = PackedOffsetDateTime.fromOffsetDateTime(odt).getValue();
+            }
+            if (!sorted) {
+                for (int i = size - 1; i > 0; i--) {
+                    int j = r.nextInt(i + 1);
+                    long tmp = packed[i];
+                    packed[i] = packed[j];
+                    packed[j] = tmp;
+                }
+                // make every value differ in date and hour from its predecessor
+                for (int i = 0; i < size; i++) {
+                    packed[i] = PackedOffsetDateTime.fromOffsetDateTime(PackedOffsetDateTime.toOffsetDateTime(packed[i]).plusHours(r.nextInt(1, 1000))).getValue();
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void formatSequentialChars(Input input, Blackhole blackhole) {
+        SequentialPackedFormatter formatter = input.formatter;
+        char[] chars = input.chars;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(formatter.formatOffsetDateTime(input.packed[i], chars, 0));
+        }
+    }
+
+    @Benchmark
+    public void formatSequentialBytes(Input input, Blackhole blackhole) {
+        SequentialPackedFormatter formatter = input.formatter;
+        byte[] bytes = input.bytes;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(formatter.formatOffsetDateTime(input.packed[i], bytes, 0));
+        }
+    }
+
+    @Benchmark
+    public void formatChars(Input input, Blackhole blackhole) {
+        char[] chars = input.chars;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(input.packed[i], chars, 0));
+        }
+    }
+
+    @Benchmark
+    public void formatBytes(Input input, Blackhole blackhole) {
+        byte[] bytes = input.bytes;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(input.packed[i], bytes, 0));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(SequentialFormatterBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,68 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class SequentialPackedFormatterTest {
+
+    @Test
+    public void shouldFormatSortedValues() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        SequentialPackedFormatter formatter = new SequentialPackedFormatter();
+        SequentialPackedFormatter bytesFormatter = new SequentialPackedFormatter();
+        SequentialPackedFormatter localFormatter = new SequentialPackedFormatter();
+        byte[] bytes = new byte[40];
+
+        OffsetDateTime odt = OffsetDateTime.of(2019, 12, 31, 22, 0, 0, 0, ZoneOffset.ofHours(1));
+        for (int i = 0; i < 10_000; i++) {
+            odt = odt.plusNanos(r.nextInt(5_000) * 1_000_000L);
+            PackedOffsetDateTime packed = PackedOffsetDateTime.fromOffsetDateTime(odt);
+            PackedLocalDateTime local = PackedLocalDateTime.fromLocalDateTime(odt.toLocalDateTime());
+            String str = packed.toString();
+
+            Assertions.assertEquals(str, formatter.formatOffsetDateTime(packed.getValue()));
+            Assertions.assertEquals(3 + str.length(), bytesFormatter.formatOffsetDateTime(packed.getValue(), bytes, 3));
+            Assertions.assertEquals(str, new String(bytes, 3, str.length(), StandardCharsets.ISO_8859_1));
+            Assertions.assertEquals(local.toString(), localFormatter.formatLocalDateTime(local.getValue()));
+        }
+    }
+
+    @Test
+    public void shouldFormatRandomValues() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        SequentialPackedFormatter formatter = new SequentialPackedFormatter();
+        char[] chars = new char[40];
+        byte[] bytes = new byte[40];
+
+        for (int i = 0; i < 10_000; i++) {
+            // few distinct dates and hours so that prefixes of negative and positive years are reused
+            OffsetDateTime odt = OffsetDateTime.of(r.nextBoolean() ? -10 : 10, 1, 1, r.nextInt(2), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1_000_000,
+                    ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60 + 1) - 18 * 60) * 60));
+            PackedOffsetDateTime packed = PackedOffsetDateTime.fromOffsetDateTime(odt);
+            PackedLocalDateTime local = PackedLocalDateTime.fromLocalDateTime(odt.toLocalDateTime());
+
+            String str = packed.toString();
+            Assertions.assertEquals(str.length(), formatter.formatOffsetDateTime(packed.getValue(), chars, 0));
+            Assertions.assertEquals(str, new String(chars, 0, str.length()));
+
+            str = local.toString();
+            Assertions.assertEquals(str.length(), formatter.formatLocalDateTime(local.getValue(), bytes, 0));
+            Assertions.assertEquals(str, new String(bytes, 0, str.length(), StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    @Test
+    public void shouldReset() {
+        SequentialPackedFormatter formatter = new SequentialPackedFormatter();
+        long value = PackedOffsetDateTime.parseToLong("2020-01-19T22:15:30Z");
+        Assertions.assertEquals("2020-01-19T22:15:30Z", formatter.formatOffsetDateTime(value));
+        formatter.reset();
+        Assertions.assertEquals("2020-01-19T22:15:30Z", formatter.formatOffsetDateTime(value));
+        Assertions.assertEquals("2020-01-19T22:16:30.001-01:00", formatter.formatOffsetDateTime(PackedOffsetDateTime.parseToLong("2020-01-19T22:16:30.001-01:00")));
+    }
+}
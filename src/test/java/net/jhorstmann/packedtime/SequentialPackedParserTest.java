@@ -0,0 +1,83 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class SequentialPackedParserTest {
+
+    @Test
+    public void shouldParseSortedInput() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        SequentialPackedParser parser = new SequentialPackedParser();
+        SequentialPackedParser bytesParser = new SequentialPackedParser();
+        SequentialPackedParser localParser = new SequentialPackedParser();
+
+        OffsetDateTime odt = OffsetDateTime.of(2019, 12, 31, 22, 0, 0, 0, ZoneOffset.ofHours(1));
+        for (int i = 0; i < 10_000; i++) {
+            odt = odt.plusNanos(r.nextInt(5_000) * 1_000_000L);
+            String str = odt.toString();
+            byte[] bytes = ("xyz" + str).getBytes(StandardCharsets.US_ASCII);
+            String local = odt.toLocalDateTime().toString();
+
+            Assertions.assertEquals(PackedOffsetDateTime.parseToLong(str), parser.parseOffsetDateTimeToLong(str), str);
+            Assertions.assertEquals(PackedOffsetDateTime.parseToLong(str), bytesParser.parseOffsetDateTimeToLong(bytes, 3, str.length()), str);
+            Assertions.assertEquals(PackedLocalDateTime.parseToLong(local), localParser.parseLocalDateTimeToLong(local), local);
+        }
+    }
+
+    @Test
+    public void shouldHandlePrefixChanges() {
+        SequentialPackedParser parser = new SequentialPackedParser();
+        String[] inputs = {
+                "2020-01-19T22:15:30Z",
+                "2020-01-19T22:15:31.5+01:00",
+                "2020-01-19 22:15:31Z",
+                "2020-01-19T23:00Z",
+                "-2020-01-19T23:00:00Z",
+                "2020-01-19T23:00:00Z",
+                "2020-01-20T23:00:00Z",
+                "2021-01-20T23:00:00Z",
+        };
+
+        for (String str : inputs) {
+            Assertions.assertEquals(PackedOffsetDateTime.parseToLong(str), parser.parseOffsetDateTimeToLong(str), str);
+        }
+    }
+
+    @Test
+    public void shouldNotAcceptSpaceSeparatorForLocalDateTime() {
+        SequentialPackedParser parser = new SequentialPackedParser();
+        parser.parseOffsetDateTimeToLong("2020-01-19 22:15:30Z");
+
+        DateTimeParseException ex = Assertions.assertThrows(DateTimeParseException.class,
+                () -> parser.parseLocalDateTimeToLong("2020-01-19 22:15:30"));
+        Assertions.assertEquals(10, ex.getErrorIndex());
+    }
+
+    @Test
+    public void shouldReportSameErrorsAfterPrefix() {
+        SequentialPackedParser parser = new SequentialPackedParser();
+        parser.parseOffsetDateTimeToLong("2020-01-19T22:15:30Z");
+
+        for (String str : new String[]{"2020-01-19T22:60:30Z", "2020-01-19T22:15:30", "2020-01-19T22:15:30Zabc", "2020-01-19T22:"}) {
+            DateTimeParseException expected = Assertions.assertThrows(DateTimeParseException.class,
+                    () -> PackedOffsetDateTime.parseToLong(str));
+            DateTimeParseException actual = Assertions.assertThrows(DateTimeParseException.class,
+                    () -> parser.parseOffsetDateTimeToLong(str));
+
+            Assertions.assertEquals(expected.getMessage(), actual.getMessage());
+            Assertions.assertEquals(expected.getErrorIndex(), actual.getErrorIndex());
+
+            byte[] bytes = str.getBytes(StandardCharsets.US_ASCII);
+            ParseError error = new ParseError();
+            Assertions.assertEquals(ParseError.INVALID, parser.tryParseOffsetDateTimeToLong(bytes, 0, bytes.length, error));
+            Assertions.assertEquals(expected.getErrorIndex(), error.getErrorIndex());
+        }
+    }
+}
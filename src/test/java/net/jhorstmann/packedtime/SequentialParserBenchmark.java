@@ -0,0 +1,95 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorted log timestamps, consecutive lines are a random 0 to {@code maxGapMillis} apart.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class SequentialParserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"50", "5000", "600000"})
+        int maxGapMillis;
+
+        final int size = 1000;
+        String[] formatted;
+        byte[][] bytes;
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.formatted = new String[size];
+            this.bytes = new byte[size][];
+            OffsetDateTime odt = OffsetDateTime.of(2020, 1, 19, 22, 15, 30, 0, ZoneOffset.ofHours(1));
+            for (int i = 0; i < size; i++) {
+                odt = odt.plusNanos(r.nextInt(maxGapMillis + 1) * 1_000_000L);
+                String str = odt.toString();
+
+                this.formatted[i] = str;
+                this.bytes[i] = str.getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Parser {
+        final SequentialPackedParser parser = new SequentialPackedParser();
+    }
+
+    @Benchmark
+    public void parseString(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.parseToLong(input.formatted[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseStringSequential(Input input, Parser parser, Blackhole blackhole) {
+        SequentialPackedParser sequential = parser.parser;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(sequential.parseOffsetDateTimeToLong(input.formatted[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseBytes(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            byte[] bytes = input.bytes[i];
+            blackhole.consume(PackedOffsetDateTime.parseToLong(bytes, 0, bytes.length));
+        }
+    }
+
+    @Benchmark
+    public void parseBytesSequential(Input input, Parser parser, Blackhole blackhole) {
+        SequentialPackedParser sequential = parser.parser;
+        for (int i = 0; i < input.size; i++) {
+            byte[] bytes = input.bytes[i];
+            blackhole.consume(sequential.parseOffsetDateTimeToLong(bytes, 0, bytes.length));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(SequentialParserBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
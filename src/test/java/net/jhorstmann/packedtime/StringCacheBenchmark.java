@@ -0,0 +1,88 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Formatting hourly buckets drawn from {@code distinct} values through a cache with 1024 slots compared to
+ * formatting every value, the cache wins while the distinct values fit into it and falls behind once most lookups
+ * are misses.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class StringCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"16", "256", "1024", "4096", "65536"})
+        int distinct;
+
+        final int size = 1000;
+        long[] localDateTimes;
+        long[] localDates;
+        final PackedStringCache localDateTimeCache = PackedStringCache.forLocalDateTime(1024);
+        final PackedStringCache localDateCache = PackedStringCache.forLocalDate(1024);
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.localDateTimes = new long[size];
+            this.localDates = new long[size];
+            LocalDateTime start = LocalDateTime.of(2000, 1, 1, 0, 0);
+            for (int i = 0; i < size; i++) {
+                int n = r.nextInt(distinct);
+                this.localDateTimes[i] = PackedLocalDateTime.fromLocalDateTime(start.plusHours(n)).getValue();
+                this.localDates[i] = PackedLocalDate.fromLocalDate(start.toLocalDate().plusDays(n)).getValue();
+            }
+        }
+    }
+
+    @Benchmark
+    public void cachedLocalDateTime(Input input, Blackhole blackhole) {
+        PackedStringCache cache = input.localDateTimeCache;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(cache.format(input.localDateTimes[i]));
+        }
+    }
+
+    @Benchmark
+    public void toStringLocalDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedLocalDateTime.valueOf(input.localDateTimes[i]).toString());
+        }
+    }
+
+    @Benchmark
+    public void cachedLocalDate(Input input, Blackhole blackhole) {
+        PackedStringCache cache = input.localDateCache;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(cache.format(input.localDates[i]));
+        }
+    }
+
+    @Benchmark
+    public void toStringLocalDate(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedLocalDate.valueOf(input.localDates[i]).toString());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(StringCacheBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,157 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class SwarDateTimeParserTest {
+
+    private static final String[] OFFSET_DATE_TIME_PATTERNS = {
+            "uuuu-MM-dd'T'HH:mm:ss'Z'",
+            "uuuu-MM-dd'T'HH:mm:ss.SSS'Z'",
+            "uuuu-MM-dd'T'HH:mm:ssxxx",
+            "uuuu-MM-dd'T'HH:mm:ss.SSSxxx",
+            "uuuu-MM-dd HH:mm:ss.SSSxxx",
+    };
+
+    private static final String[] LOCAL_DATE_TIME_PATTERNS = {
+            "uuuu-MM-dd'T'HH:mm:ss",
+            "uuuu-MM-dd'T'HH:mm:ss.SSS",
+    };
+
+    @Test
+    public void shouldReadLittleEndianLong() {
+        byte[] buf = "x01234567".getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertEquals(0x3736_3534_3332_3130L, LittleEndian.getLong(buf, 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("input")
+    public void shouldMatchScalarOffsetDateTime(OffsetDateTime odt) {
+        for (String pattern : OFFSET_DATE_TIME_PATTERNS) {
+            OffsetDateTime value = pattern.endsWith("'Z'") ? odt.withOffsetSameLocal(ZoneOffset.UTC) : odt;
+            byte[] buf = DateTimeFormatter.ofPattern(pattern).format(value).getBytes(StandardCharsets.US_ASCII);
+
+            long swar = SwarDateTimeParser.parseOffsetDateTime(buf, 0, buf.length);
+
+            Assertions.assertNotEquals(SwarDateTimeParser.NO_MATCH, swar, pattern);
+            Assertions.assertEquals(DateTimeParser.parseOffsetDateTimeToLongScalar(buf, 0, buf.length), swar, pattern);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("input")
+    public void shouldMatchScalarLocalDateTime(OffsetDateTime odt) {
+        for (String pattern : LOCAL_DATE_TIME_PATTERNS) {
+            byte[] buf = DateTimeFormatter.ofPattern(pattern).format(odt).getBytes(StandardCharsets.US_ASCII);
+
+            long swar = SwarDateTimeParser.parseLocalDateTime(buf, 0, buf.length);
+
+            Assertions.assertNotEquals(SwarDateTimeParser.NO_MATCH, swar, pattern);
+            Assertions.assertEquals(DateTimeParser.parseLocalDateTimeToLongScalar(buf, 0, buf.length), swar, pattern);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "-2020-01-19T22:15:30Z",
+            "2020-01-19T22:15:30.1Z",
+            "2020-01-19T22:15:30.1234Z",
+            "2020-01-19T22:15:30.12345678Z",
+            "2020-01-19T22:15:30+01",
+            "2020-01-19T22:15+01:00",
+    })
+    public void shouldFallBackForOtherLayouts(String str) {
+        byte[] buf = str.getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertEquals(SwarDateTimeParser.NO_MATCH, SwarDateTimeParser.parseOffsetDateTime(buf, 0, buf.length));
+        Assertions.assertEquals(PackedOffsetDateTime.parse(str), PackedOffsetDateTime.parse(buf, 0, buf.length));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2020-13-19T22:15:30Z",
+            "2019-02-29T22:15:30Z",
+            "2020-01-19T24:15:30Z",
+            "2020-01-19T22:60:30.000Z",
+            "2020-01-19T22:15:30+19:00",
+            "2020-01-19T22:15:30+01:60",
+            "2020-01-1xT22:15:30Z",
+            "2020-01-19T22:15:3:Z",
+            "2020/01-19T22:15:30Z",
+            "2020-01-19T22-15:30Z",
+            "2020-01-19X22:15:30Z",
+            "2020-01-19T22:15:30.0x0Z",
+            "2020-01-19T22:15:30.000X",
+    })
+    public void shouldReportSameErrorAsScalar(String str) {
+        byte[] buf = str.getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertEquals(SwarDateTimeParser.NO_MATCH, SwarDateTimeParser.parseOffsetDateTime(buf, 0, buf.length));
+
+        DateTimeParseException expected = Assertions.assertThrows(DateTimeParseException.class,
+                () -> PackedOffsetDateTime.parse(str));
+        DateTimeParseException actual = Assertions.assertThrows(DateTimeParseException.class,
+                () -> PackedOffsetDateTime.parse(buf, 0, buf.length));
+
+        Assertions.assertEquals(expected.getMessage(), actual.getMessage());
+        Assertions.assertEquals(expected.getErrorIndex(), actual.getErrorIndex());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2020-01-01T00:00:00.",
+            "2020-01-01T00:00:00.1",
+            "2020-01-01T00:00:00.12",
+            "2020-01-01T00:00:00.123",
+            "2020-01-01T00:00:00.1234",
+            "2020-01-01T00:00:00.123+",
+            "2020-01-01T00:00:00.+01:00",
+            "2020-01-01T00:00:00.123+01:0",
+    })
+    public void shouldNotReadPastEndOfTruncatedFraction(String str) {
+        byte[] buf = str.getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertEquals(SwarDateTimeParser.NO_MATCH, SwarDateTimeParser.parseOffsetDateTime(buf, 0, buf.length));
+
+        ParseError expected = new ParseError();
+        ParseError actual = new ParseError();
+        Assertions.assertEquals(ParseError.INVALID, PackedOffsetDateTime.tryParseToLong(str, expected));
+        Assertions.assertEquals(ParseError.INVALID, PackedOffsetDateTime.tryParseToLong(buf, 0, buf.length, actual));
+        Assertions.assertEquals(expected.getCode(), actual.getCode());
+        Assertions.assertEquals(expected.getErrorIndex(), actual.getErrorIndex());
+        Assertions.assertThrows(DateTimeParseException.class, () -> PackedOffsetDateTime.parseToLong(buf, 0, buf.length));
+    }
+
+    @Test
+    public void shouldNotReadFractionBeyondEnd() {
+        byte[] buf = "2020-01-01T00:00:00.123Z".getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertEquals(SwarDateTimeParser.NO_MATCH, SwarDateTimeParser.parseOffsetDateTime(buf, 0, 20));
+        ParseError error = new ParseError();
+        Assertions.assertEquals(ParseError.INVALID, PackedOffsetDateTime.tryParseToLong(buf, 0, 20, error));
+        Assertions.assertEquals(ParseError.END_OF_INPUT, error.getCode());
+    }
+
+    private static Stream<OffsetDateTime> input() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+
+        return IntStream.range(0, 100)
+                .mapToObj(i -> OffsetDateTime.of(
+                        r.nextInt(10000), r.nextInt(12) + 1, r.nextInt(28) + 1,
+                        r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1_000_000,
+                        ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60 + 1) - 18 * 60) * 60)));
+    }
+}
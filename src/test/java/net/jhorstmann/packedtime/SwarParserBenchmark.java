@@ -0,0 +1,85 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+@BenchmarkMode(value = Mode.Throughput)
+public class SwarParserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"uuuu-MM-dd'T'HH:mm:ss'Z'", "uuuu-MM-dd'T'HH:mm:ss.SSS'Z'", "uuuu-MM-dd'T'HH:mm:ssxxx", "uuuu-MM-dd'T'HH:mm:ss.SSSxxx"})
+        String pattern;
+
+        final int size = 1000;
+        String[] formatted;
+        byte[][] bytes;
+
+        @Setup
+        public void setup() {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.formatted = new String[size];
+            this.bytes = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                ZoneOffset offset = pattern.endsWith("'Z'") ? ZoneOffset.UTC : ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60) - 18 * 60) * 60);
+                OffsetDateTime odt = OffsetDateTime.of(r.nextInt(3000), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, offset);
+                String str = formatter.format(odt);
+                byte[] buf = str.getBytes(StandardCharsets.US_ASCII);
+
+                if (SwarDateTimeParser.parseOffsetDateTime(buf, 0, buf.length) != DateTimeParser.parseOffsetDateTimeToLongScalar(buf, 0, buf.length)) {
+                    throw new AssertionError("parsed values not equal for " + str);
+                }
+
+                this.formatted[i] = str;
+                this.bytes[i] = buf;
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseString(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.parseToLong(input.formatted[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseBytesScalar(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            byte[] bytes = input.bytes[i];
+            blackhole.consume(DateTimeParser.parseOffsetDateTimeToLongScalar(bytes, 0, bytes.length));
+        }
+    }
+
+    @Benchmark
+    public void parseBytesSwar(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            byte[] bytes = input.bytes[i];
+            blackhole.consume(DateTimeParser.parseOffsetDateTimeToLong(bytes, 0, bytes.length));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(SwarParserBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
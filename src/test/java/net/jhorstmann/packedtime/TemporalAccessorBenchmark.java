@@ -0,0 +1,87 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Formatting packed values with a custom {@link DateTimeFormatter}, reading the fields directly compared to
+ * converting to java.time first.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class TemporalAccessorBenchmark {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.uuuu HH:mm:ss.SSS xxx");
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        PackedOffsetDateTime[] packed;
+        final StringBuilder builder = new StringBuilder(64);
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.packed = new PackedOffsetDateTime[size];
+            for (int i = 0; i < size; i++) {
+                packed[i] = PackedOffsetDateTime.fromOffsetDateTime(Instant.ofEpochMilli(r.nextLong(0, 4_000_000_000_000L))
+                        .atOffset(ZoneOffset.ofHours(r.nextInt(-12, 13))));
+            }
+        }
+    }
+
+    @Benchmark
+    public void formatPacked(Input input, Blackhole blackhole) {
+        StringBuilder builder = input.builder;
+        for (int i = 0; i < input.size; i++) {
+            builder.setLength(0);
+            FORMATTER.formatTo(input.packed[i], builder);
+            blackhole.consume(builder);
+        }
+    }
+
+    @Benchmark
+    public void formatOffsetDateTime(Input input, Blackhole blackhole) {
+        StringBuilder builder = input.builder;
+        for (int i = 0; i < input.size; i++) {
+            builder.setLength(0);
+            FORMATTER.formatTo(input.packed[i].toOffsetDateTime(), builder);
+            blackhole.consume(builder);
+        }
+    }
+
+    @Benchmark
+    public void formatPackedToString(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(FORMATTER.format(input.packed[i]));
+        }
+    }
+
+    @Benchmark
+    public void formatOffsetDateTimeToString(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(FORMATTER.format(input.packed[i].toOffsetDateTime()));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(TemporalAccessorBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,96 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class TemporalAccessorTest {
+
+    private static void assertSameFields(TemporalAccessor expected, TemporalAccessor actual) {
+        for (ChronoField field : ChronoField.values()) {
+            Assertions.assertEquals(expected.isSupported(field), actual.isSupported(field), field.toString());
+            if (expected.isSupported(field)) {
+                Assertions.assertEquals(expected.getLong(field), actual.getLong(field), () -> field + " of " + expected);
+            } else {
+                Assertions.assertThrows(UnsupportedTemporalTypeException.class, () -> actual.getLong(field), field.toString());
+            }
+        }
+        Assertions.assertEquals(expected.query(TemporalQueries.zoneId()), actual.query(TemporalQueries.zoneId()));
+        Assertions.assertEquals(expected.query(TemporalQueries.zone()), actual.query(TemporalQueries.zone()));
+        Assertions.assertEquals(expected.query(TemporalQueries.offset()), actual.query(TemporalQueries.offset()));
+        Assertions.assertEquals(expected.query(TemporalQueries.chronology()), actual.query(TemporalQueries.chronology()));
+        Assertions.assertEquals(expected.query(TemporalQueries.localDate()), actual.query(TemporalQueries.localDate()));
+        Assertions.assertEquals(expected.query(TemporalQueries.localTime()), actual.query(TemporalQueries.localTime()));
+    }
+
+    @Test
+    public void shouldReturnSameFieldsAsJavaTime() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        ZoneId[] zones = {ZoneOffset.UTC, ZoneOffset.ofHoursMinutes(-3, -30), ZoneId.of("Europe/Berlin"), ZoneId.of("Asia/Kolkata")};
+        long min = OffsetDateTime.of(-9998, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+        long max = OffsetDateTime.of(9998, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+        for (int i = 0; i < 2_000; i++) {
+            ZonedDateTime zdt = Instant.ofEpochSecond(r.nextLong(min, max), r.nextInt(1000) * 1_000_000).atZone(zones[r.nextInt(zones.length)]);
+            if (zdt.getOffset().getTotalSeconds() % 60 != 0) {
+                continue;
+            }
+            OffsetDateTime odt = zdt.toOffsetDateTime();
+
+            assertSameFields(odt, PackedOffsetDateTime.fromOffsetDateTime(odt));
+            assertSameFields(odt.toLocalDateTime(), PackedLocalDateTime.fromLocalDateTime(odt.toLocalDateTime()));
+            assertSameFields(odt.toLocalDate(), PackedLocalDate.fromLocalDate(odt.toLocalDate()));
+            assertSameFields(odt.toLocalTime(), PackedLocalTime.fromLocalTime(odt.toLocalTime()));
+            assertSameFields(odt.toOffsetTime(), PackedOffsetTime.fromOffsetTime(odt.toOffsetTime()));
+            assertSameFields(zdt, PackedZonedDateTime.fromZonedDateTime(zdt));
+        }
+    }
+
+    @Test
+    public void shouldFormatWithDateTimeFormatter() {
+        OffsetDateTime odt = OffsetDateTime.of(2020, 1, 19, 22, 15, 30, 123_000_000, ZoneOffset.ofHours(1));
+        ZonedDateTime zdt = odt.atZoneSameInstant(ZoneId.of("Europe/Berlin"));
+        DateTimeFormatter[] formatters = {
+                DateTimeFormatter.ISO_OFFSET_DATE_TIME,
+                DateTimeFormatter.ISO_INSTANT,
+                DateTimeFormatter.RFC_1123_DATE_TIME,
+                DateTimeFormatter.ofPattern("EEEE, dd.MM.uuuu hh:mm:ss.SSS a xxx"),
+                DateTimeFormatter.ofPattern("GGGG yyyy QQQ 'week' ww D"),
+        };
+        for (DateTimeFormatter formatter : formatters) {
+            Assertions.assertEquals(formatter.format(odt), formatter.format(PackedOffsetDateTime.fromOffsetDateTime(odt)));
+            Assertions.assertEquals(formatter.format(zdt), formatter.format(PackedZonedDateTime.fromZonedDateTime(zdt)));
+        }
+
+        DateTimeFormatter zoned = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm VV zzz");
+        Assertions.assertEquals(zoned.format(zdt), zoned.format(PackedZonedDateTime.fromZonedDateTime(zdt)));
+        Assertions.assertEquals("19.01.2020", DateTimeFormatter.ofPattern("dd.MM.uuuu").format(PackedLocalDate.fromLocalDate(odt.toLocalDate())));
+        Assertions.assertEquals("10:15 PM", DateTimeFormatter.ofPattern("hh:mm a").format(PackedLocalTime.fromLocalTime(odt.toLocalTime())));
+    }
+
+    @Test
+    public void shouldAnswerQueries() {
+        PackedLocalDate date = PackedLocalDate.fromLocalDate(LocalDate.of(2020, 1, 19));
+
+        Assertions.assertEquals(IsoChronology.INSTANCE, date.query(TemporalQueries.chronology()));
+        Assertions.assertEquals(ChronoUnit.DAYS, date.query(TemporalQueries.precision()));
+        Assertions.assertEquals(3, date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        Assertions.assertEquals(LocalDate.of(2020, 1, 19), LocalDate.from(date));
+        Assertions.assertEquals(ChronoUnit.MILLIS, PackedOffsetDateTime.fromOffsetDateTime(OffsetDateTime.now()).query(TemporalQueries.precision()));
+        Assertions.assertThrows(UnsupportedTemporalTypeException.class, () -> date.get(ChronoField.EPOCH_DAY));
+    }
+}
@@ -0,0 +1,78 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hourly buckets and field updates on packed values, compared to the round trip through
+ * {@link java.time.OffsetDateTime}.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class TruncateBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        long[] packed;
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.packed = new long[size];
+            for (int i = 0; i < size; i++) {
+                packed[i] = PackedOffsetDateTime.fromOffsetDateTime(Instant.ofEpochMilli(r.nextLong(0, 4_000_000_000_000L))
+                        .atOffset(ZoneOffset.ofHours(r.nextInt(-12, 13)))).getValue();
+            }
+        }
+    }
+
+    @Benchmark
+    public void packedTruncatedToHours(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.truncatedTo(input.packed[i], ChronoUnit.HOURS));
+        }
+    }
+
+    @Benchmark
+    public void javaTimeTruncatedToHours(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.fromOffsetDateTime(PackedOffsetDateTime.toOffsetDateTime(input.packed[i]).truncatedTo(ChronoUnit.HOURS)).getValue());
+        }
+    }
+
+    @Benchmark
+    public void packedWithHour(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.withHour(input.packed[i], 12));
+        }
+    }
+
+    @Benchmark
+    public void javaTimeWithHour(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.fromOffsetDateTime(PackedOffsetDateTime.toOffsetDateTime(input.packed[i]).withHour(12)).getValue());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(TruncateBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
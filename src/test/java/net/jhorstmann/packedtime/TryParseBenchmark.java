@@ -0,0 +1,104 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+@BenchmarkMode(value = Mode.Throughput)
+public class TryParseBenchmark {
+
+    private static final String[] MALFORMED = {
+            "2020-01-19 22:15:30",
+            "2020-13-19T22:15:30.123Z",
+            "2020-01-19T22:15:3O.123Z",
+            "2020-01-19T22:15:30.123+0100",
+            "2020-01-19T22:15",
+            "null",
+    };
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"0.0", "0.02", "0.5"})
+        double invalidRatio;
+
+        final int size = 1000;
+        String[] formatted;
+        byte[][] bytes;
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.formatted = new String[size];
+            this.bytes = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                String str;
+                if (r.nextDouble() < invalidRatio) {
+                    str = MALFORMED[r.nextInt(MALFORMED.length)];
+                } else {
+                    str = OffsetDateTime.of(r.nextInt(3000), r.nextInt(12) + 1, r.nextInt(28) + 1, r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1000 * 1000, ZoneOffset.ofTotalSeconds((r.nextInt(36 * 60) - 18 * 60) * 60)).toString();
+                }
+                this.formatted[i] = str;
+                this.bytes[i] = str.getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseCatchingException(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            try {
+                blackhole.consume(PackedOffsetDateTime.parseToLong(input.formatted[i]));
+            } catch (DateTimeParseException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void tryParse(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedOffsetDateTime.tryParseToLong(input.formatted[i]));
+        }
+    }
+
+    @Benchmark
+    public void tryParseWithError(Input input, Blackhole blackhole) {
+        ParseError error = new ParseError();
+        for (int i = 0; i < input.size; i++) {
+            long value = PackedOffsetDateTime.tryParseToLong(input.formatted[i], error);
+            blackhole.consume(value == ParseError.INVALID ? error.getErrorIndex() : value);
+        }
+    }
+
+    @Benchmark
+    public void tryParseBytesWithError(Input input, Blackhole blackhole) {
+        ParseError error = new ParseError();
+        for (int i = 0; i < input.size; i++) {
+            byte[] bytes = input.bytes[i];
+            long value = PackedOffsetDateTime.tryParseToLong(bytes, 0, bytes.length, error);
+            blackhole.consume(value == ParseError.INVALID ? error.getErrorIndex() : value);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(TryParseBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,120 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.format.DateTimeParseException;
+
+public class TryParseTest {
+
+    @Test
+    public void shouldReturnValueForValidInput() {
+        String str = "2020-01-19T22:15:30.123+01:00";
+        byte[] bytes = str.getBytes(StandardCharsets.US_ASCII);
+        ParseError error = new ParseError();
+
+        Assertions.assertEquals(PackedOffsetDateTime.parseToLong(str), PackedOffsetDateTime.tryParseToLong(str));
+        Assertions.assertEquals(PackedOffsetDateTime.parseToLong(str), PackedOffsetDateTime.tryParseToLong(str, error));
+        Assertions.assertEquals(PackedOffsetDateTime.parseToLong(str), PackedOffsetDateTime.tryParseToLong(bytes, 0, bytes.length, error));
+        Assertions.assertFalse(error.isError());
+    }
+
+    @Test
+    public void shouldReturnNegativeYearsDistinctFromInvalid() {
+        long value = PackedLocalDate.tryParseToLong("-9999-01-01");
+
+        Assertions.assertNotEquals(ParseError.INVALID, value);
+        Assertions.assertEquals(-9999, PackedLocalDate.valueOf(value).getYear());
+    }
+
+    @Test
+    public void shouldReportErrorCodeAndIndex() {
+        ParseError error = new ParseError();
+
+        Assertions.assertEquals(ParseError.INVALID, PackedOffsetDateTime.tryParseToLong("2020-01-19X22:15:30Z", error));
+        Assertions.assertEquals(ParseError.UNEXPECTED_CHARACTER, error.getCode());
+        Assertions.assertEquals(10, error.getErrorIndex());
+
+        Assertions.assertEquals(ParseError.INVALID, PackedLocalDate.tryParseToLong("2020-02-30", error));
+        Assertions.assertEquals(ParseError.DAY_OUT_OF_RANGE, error.getCode());
+        Assertions.assertEquals(9, error.getErrorIndex());
+
+        Assertions.assertEquals(ParseError.INVALID, PackedLocalTime.tryParseToLong("22:1", error));
+        Assertions.assertEquals(ParseError.END_OF_INPUT, error.getCode());
+        Assertions.assertEquals(4, error.getErrorIndex());
+
+        Assertions.assertEquals(ParseError.INVALID, PackedOffsetTime.tryParseToLong("22:15+18:30", error));
+        Assertions.assertEquals(ParseError.OFFSET_OUT_OF_RANGE, error.getCode());
+
+        Assertions.assertEquals(ParseError.INVALID, PackedLocalDateTime.tryParseToLong("2020-01-19T22:15:30Z", error));
+        Assertions.assertEquals(ParseError.TRAILING_CHARACTERS, error.getCode());
+        Assertions.assertEquals(19, error.getErrorIndex());
+    }
+
+    @Test
+    public void shouldReportByteErrorRelativeToOffset() {
+        byte[] bytes = "xyz2020-01-19T22:1x:30Z".getBytes(StandardCharsets.US_ASCII);
+        ParseError error = new ParseError();
+
+        Assertions.assertEquals(ParseError.INVALID, PackedOffsetDateTime.tryParseToLong(bytes, 3, bytes.length - 3, error));
+        Assertions.assertEquals(ParseError.NOT_A_DIGIT, error.getCode());
+        Assertions.assertEquals(15, error.getErrorIndex());
+    }
+
+    @Test
+    public void shouldThrowParseExceptionForOffsetOutOfRange() {
+        DateTimeParseException ex = Assertions.assertThrows(DateTimeParseException.class,
+                () -> PackedOffsetDateTime.parse("2020-01-19T22:15:30-18:01"));
+
+        Assertions.assertEquals("Timezone offset out of range", ex.getMessage().substring(0, 28));
+        Assertions.assertEquals(20, ex.getErrorIndex());
+    }
+
+    @Test
+    public void shouldSetErrorIndexOfParsePosition() {
+        ParsePosition position = new ParsePosition(0);
+
+        Assertions.assertThrows(DateTimeParseException.class,
+                () -> PackedLocalDate.parse("2020-1-19", position));
+        Assertions.assertEquals(0, position.getIndex());
+        Assertions.assertEquals(6, position.getErrorIndex());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "2020",
+            "2020-01-19",
+            "2020-01-19T",
+            "202x-01-19T22:15:30Z",
+            "2020-13-19T22:15:30Z",
+            "2020-01-19T24:15:30Z",
+            "2020-01-19T22:15:61Z",
+            "2020-01-19T22:15:30.Z",
+            "2020-01-19T22:15:30",
+            "2020-01-19T22:15:30*01:00",
+            "2020-01-19T22:15:30+19:00",
+            "2020-01-19T22:15:30+01:60",
+            "2020-01-19T22:15:30+01:0",
+            "2020-01-19T22:15:30Zabc",
+    })
+    public void shouldMatchExceptionErrorIndex(String str) {
+        byte[] bytes = str.getBytes(StandardCharsets.US_ASCII);
+        DateTimeParseException ex = Assertions.assertThrows(DateTimeParseException.class,
+                () -> PackedOffsetDateTime.parse(str));
+
+        ParseError error = new ParseError();
+        Assertions.assertEquals(ParseError.INVALID, PackedOffsetDateTime.tryParseToLong(str, error));
+        Assertions.assertEquals(ex.getErrorIndex(), error.getErrorIndex());
+        Assertions.assertEquals(ex.getMessage(), error.toException(str).getMessage());
+
+        ParseError bytesError = new ParseError();
+        Assertions.assertEquals(ParseError.INVALID, PackedOffsetDateTime.tryParseToLong(bytes, 0, bytes.length, bytesError));
+        Assertions.assertEquals(error.getCode(), bytesError.getCode());
+        Assertions.assertEquals(error.getErrorIndex(), bytesError.getErrorIndex());
+    }
+}
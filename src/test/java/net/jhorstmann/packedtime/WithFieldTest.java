@@ -0,0 +1,100 @@
+package net.jhorstmann.packedtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class WithFieldTest {
+
+    private static final ChronoUnit[] UNITS = {ChronoUnit.NANOS, ChronoUnit.MILLIS, ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.HALF_DAYS, ChronoUnit.DAYS};
+
+    @Test
+    public void shouldReplaceFieldsLikeJavaTime() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate date = LocalDate.of(r.nextInt(-9999, 10000), r.nextInt(1, 13), 1);
+            date = date.withDayOfMonth(r.nextInt(1, date.lengthOfMonth() + 1));
+            LocalTime time = LocalTime.of(r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1_000_000);
+            OffsetDateTime odt = OffsetDateTime.of(date, time, ZoneOffset.ofTotalSeconds(r.nextInt(-35, 36) * 1800));
+            PackedOffsetDateTime packed = PackedOffsetDateTime.fromOffsetDateTime(odt);
+
+            int year = r.nextInt(-9999, 10000);
+            int month = r.nextInt(1, 13);
+            int day = r.nextInt(1, 29);
+            int hour = r.nextInt(24);
+            int minute = r.nextInt(60);
+            int second = r.nextInt(60);
+            int milli = r.nextInt(1000);
+            ZoneOffset offset = ZoneOffset.ofHours(r.nextInt(-18, 19));
+
+            Assertions.assertEquals(odt.withYear(year), packed.withYear(year).toOffsetDateTime(), odt.toString());
+            Assertions.assertEquals(odt.withMonth(month), packed.withMonth(month).toOffsetDateTime(), odt.toString());
+            Assertions.assertEquals(odt.withDayOfMonth(day), packed.withDay(day).toOffsetDateTime(), odt.toString());
+            Assertions.assertEquals(odt.withHour(hour), packed.withHour(hour).toOffsetDateTime());
+            Assertions.assertEquals(odt.withMinute(minute), packed.withMinute(minute).toOffsetDateTime());
+            Assertions.assertEquals(odt.withSecond(second), packed.withSecond(second).toOffsetDateTime());
+            Assertions.assertEquals(odt.withNano(milli * 1_000_000), packed.withMilli(milli).toOffsetDateTime());
+            Assertions.assertEquals(odt.withOffsetSameLocal(offset), packed.withOffset(offset).toOffsetDateTime());
+
+            LocalDateTime ldt = odt.toLocalDateTime();
+            long value = PackedLocalDateTime.fromLocalDateTime(ldt).getValue();
+            Assertions.assertEquals(ldt.withMonth(month), PackedLocalDateTime.toLocalDateTime(PackedLocalDateTime.withMonth(value, month)));
+            Assertions.assertEquals(ldt.withMinute(minute), PackedLocalDateTime.toLocalDateTime(PackedLocalDateTime.withMinute(value, minute)));
+
+            PackedLocalDate packedDate = PackedLocalDate.fromLocalDate(date);
+            Assertions.assertEquals(date.withYear(year), packedDate.withYear(year).toLocalDate());
+            Assertions.assertEquals(date.withDayOfMonth(day), packedDate.withDay(day).toLocalDate());
+
+            PackedLocalTime packedTime = PackedLocalTime.fromLocalTime(time);
+            Assertions.assertEquals(time.withHour(hour), packedTime.withHour(hour).toLocalTime());
+            Assertions.assertEquals(time.withNano(milli * 1_000_000), packedTime.withMilli(milli).toLocalTime());
+
+            OffsetTime offsetTime = odt.toOffsetTime();
+            PackedOffsetTime packedOffsetTime = PackedOffsetTime.fromOffsetTime(offsetTime);
+            Assertions.assertEquals(offsetTime.withSecond(second), packedOffsetTime.withSecond(second).toOffsetTime());
+            Assertions.assertEquals(offsetTime.withOffsetSameLocal(offset), packedOffsetTime.withOffset(offset).toOffsetTime());
+
+            for (ChronoUnit unit : UNITS) {
+                Assertions.assertEquals(odt.truncatedTo(unit), packed.truncatedTo(unit).toOffsetDateTime(), odt + " " + unit);
+                Assertions.assertEquals(ldt.truncatedTo(unit), PackedLocalDateTime.toLocalDateTime(PackedLocalDateTime.truncatedTo(value, unit)));
+                Assertions.assertEquals(time.truncatedTo(unit), packedTime.truncatedTo(unit).toLocalTime());
+                Assertions.assertEquals(offsetTime.truncatedTo(unit), packedOffsetTime.truncatedTo(unit).toOffsetTime());
+            }
+        }
+    }
+
+    @Test
+    public void shouldClampDayOfMonth() {
+        PackedLocalDate date = PackedLocalDate.fromLocalDate(LocalDate.of(2020, 2, 29));
+
+        Assertions.assertEquals(LocalDate.of(2019, 2, 28), date.withYear(2019).toLocalDate());
+        Assertions.assertEquals(LocalDate.of(2020, 2, 29), date.withMonth(1).withDay(31).withMonth(2).toLocalDate());
+        Assertions.assertEquals(LocalDate.of(2020, 4, 30), date.withMonth(3).withDay(31).withMonth(4).toLocalDate());
+    }
+
+    @Test
+    public void shouldValidateFields() {
+        PackedOffsetDateTime packed = PackedOffsetDateTime.fromOffsetDateTime(OffsetDateTime.of(2019, 2, 1, 12, 0, 0, 0, ZoneOffset.UTC));
+
+        Assertions.assertThrows(DateTimeException.class, () -> packed.withYear(10000));
+        Assertions.assertThrows(DateTimeException.class, () -> packed.withMonth(0));
+        Assertions.assertThrows(DateTimeException.class, () -> packed.withDay(29));
+        Assertions.assertThrows(DateTimeException.class, () -> packed.withDay(32));
+        Assertions.assertThrows(DateTimeException.class, () -> packed.withHour(24));
+        Assertions.assertThrows(DateTimeException.class, () -> packed.withMinute(-1));
+        Assertions.assertThrows(DateTimeException.class, () -> packed.withSecond(60));
+        Assertions.assertThrows(DateTimeException.class, () -> packed.withMilli(1000));
+        Assertions.assertThrows(DateTimeException.class, () -> packed.withOffset(ZoneOffset.ofTotalSeconds(30)));
+        Assertions.assertThrows(UnsupportedTemporalTypeException.class, () -> packed.truncatedTo(ChronoUnit.MONTHS));
+    }
+}
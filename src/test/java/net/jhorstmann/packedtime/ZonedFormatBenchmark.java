@@ -0,0 +1,79 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Formatting of zoned date times with region ids, the offset and region suffix of packed values is rendered once
+ * per zone and offset.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class ZonedFormatBenchmark {
+
+    private static final String[] REGIONS = {"Europe/Berlin", "America/New_York", "Asia/Tokyo", "Australia/Sydney", "America/Sao_Paulo", "Asia/Kolkata"};
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        ZonedDateTime[] zonedDateTimes;
+        PackedZonedDateTime[] packed;
+        final byte[] bytes = new byte[64];
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.zonedDateTimes = new ZonedDateTime[size];
+            this.packed = new PackedZonedDateTime[size];
+            for (int i = 0; i < size; i++) {
+                ZonedDateTime zdt = Instant.ofEpochSecond(r.nextLong(0, 4_000_000_000L), r.nextInt(1000) * 1_000_000)
+                        .atZone(ZoneId.of(REGIONS[r.nextInt(REGIONS.length)]));
+                this.zonedDateTimes[i] = zdt;
+                this.packed[i] = PackedZonedDateTime.fromZonedDateTime(zdt);
+            }
+        }
+    }
+
+    @Benchmark
+    public void toStringZonedDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.zonedDateTimes[i].toString());
+        }
+    }
+
+    @Benchmark
+    public void toStringPacked(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.packed[i].toString());
+        }
+    }
+
+    @Benchmark
+    public void formatBytesPacked(Input input, Blackhole blackhole) {
+        byte[] bytes = input.bytes;
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(input.packed[i].formatTo(bytes, 0));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(ZonedFormatBenchmark.class.getName())
+                .forks(1)
+                .threads(1)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,79 @@
+package net.jhorstmann.packedtime;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parsing of zoned date times with region ids, run with several threads to show the region lookup does not
+ * contend on a lock.
+ */
+@BenchmarkMode(value = Mode.Throughput)
+public class ZonedParseBenchmark {
+
+    private static final String[] REGIONS = {"Europe/Berlin", "America/New_York", "Asia/Tokyo", "Australia/Sydney", "America/Sao_Paulo", "Asia/Kolkata"};
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        final int size = 1000;
+        String[] strings;
+        byte[][] bytes;
+
+        @Setup
+        public void setup() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            this.strings = new String[size];
+            this.bytes = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                ZonedDateTime zdt = Instant.ofEpochSecond(r.nextLong(0, 4_000_000_000L), r.nextInt(1000) * 1_000_000)
+                        .atZone(ZoneId.of(REGIONS[r.nextInt(REGIONS.length)]));
+                this.strings[i] = zdt.toString();
+                this.bytes[i] = strings[i].getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseToLong(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedZonedDateTime.parseToLong(input.strings[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseBytesToLong(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            byte[] buf = input.bytes[i];
+            blackhole.consume(PackedZonedDateTime.parseToLong(buf, 0, buf.length));
+        }
+    }
+
+    @Benchmark
+    public void parseZonedDateTime(Input input, Blackhole blackhole) {
+        for (int i = 0; i < input.size; i++) {
+            blackhole.consume(PackedZonedDateTime.fromZonedDateTime(ZonedDateTime.parse(input.strings[i])).getValue());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options options = new OptionsBuilder()
+                .include(ZonedParseBenchmark.class.getName())
+                .forks(1)
+                .threads(4)
+                .warmupIterations(6)
+                .measurementIterations(6)
+                .build();
+
+        new Runner(options).run();
+    }
+}